@@ -0,0 +1,201 @@
+package iteration2test;
+
+import io.restassured.http.ContentType;
+import io.restassured.path.json.config.JsonPathConfig;
+import io.restassured.response.Response;
+import iteration2test.support.ApiTargets;
+import iteration2test.support.CallBudget;
+import iteration2test.support.CallBudgetExtension;
+import iteration2test.support.CircuitBreakerExtension;
+import iteration2test.support.RestAssuredSetup;
+import iteration2test.support.TeardownExtension;
+import iteration2test.support.TestConfig;
+import iteration2test.support.TracingExtension;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// граничные суммы депозита на одном общем юзере и счёте: юзер, логин и счёт создаются один раз,
+// каждый случай — один запрос депозита, а баланс счёта отслеживается между случаями.
+// с -Dnbank.boundary.sharedFixture=false каждый случай получает свой свежий счёт, как раньше
+@ExtendWith({CircuitBreakerExtension.class, TracingExtension.class, CallBudgetExtension.class, TeardownExtension.class})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@CallBudget(total = 4, perEndpoint = "POST /accounts/deposit=1")
+public class DepositBoundaryTest {
+
+    private static final boolean SHARED = TestConfig.getBoolean("nbank.boundary.sharedFixture", true);
+    private static final JsonPathConfig EXACT_NUMBERS = new JsonPathConfig(JsonPathConfig.NumberReturnType.BIG_DECIMAL);
+
+    private static Fixture shared;
+
+    @BeforeAll
+    public static void setupRestAssured() {
+        RestAssuredSetup.configure();
+    }
+
+    @AfterAll
+    public static void forgetFixture() {
+        shared = null;
+    }
+
+    @Order(1)
+    @ParameterizedTest(name = "{2}: balance = {0} -> {1}")
+    @CsvSource(delimiter = '|', quoteCharacter = '\'', textBlock = """
+            -1      | 400 | минус единица
+            0       | 400 | ноль
+            1       | 200 | минимальная сумма
+            4999    | 200 | на единицу меньше лимита
+            5000    | 200 | лимит
+            5001    | 400 | на единицу больше лимита
+            ""      | 500 | пустая строка
+            "hello" | 500 | текст вместо суммы
+            """)
+    public void depositBoundary(String amount, int expectedStatus, String description) {
+        Fixture fixture = fixture();
+
+        // 1 кладём сумму (amount — JSON-литерал как есть)
+        Response response = given()
+                .header("Authorization", fixture.authHeader)
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body("""
+                        {
+                          "id": %d,
+                          "balance": %s
+                        }
+                        """.formatted(fixture.accountId, amount))
+                .when()
+                .post(ApiTargets.url(fixture.username, "/accounts/deposit"));
+
+        response.then()
+                .assertThat()
+                .statusCode(expectedStatus);
+
+        // 2 успешный депозит возвращает счёт: баланс = всё, что прошло раньше, плюс эта сумма.
+        // так заодно видно, что отклонённые суммы до этого баланс не тронули
+        if (expectedStatus == HttpStatus.SC_OK) {
+            fixture.balance = fixture.balance.add(new BigDecimal(amount.replace("\"", "")));
+            assertEquals(0, fixture.balance.compareTo(
+                            response.jsonPath(EXACT_NUMBERS).getObject("balance", BigDecimal.class)),
+                    "баланс после депозита " + amount);
+        }
+    }
+
+    // отклонённые суммы в конце списка проверяем отдельным чтением счёта
+    @Order(2)
+    @Test
+    @CallBudget(total = 1)
+    public void rejectedDepositsDoNotChangeBalance() {
+        assumeTrue(SHARED && shared != null, "только для общего счёта");
+
+        BigDecimal balance = given()
+                .header("Authorization", shared.authHeader)
+                .accept(ContentType.JSON)
+                .when()
+                .get(ApiTargets.url(shared.username, "/customer/accounts"))
+                .then()
+                .assertThat()
+                .statusCode(HttpStatus.SC_OK)
+                .extract()
+                .jsonPath(EXACT_NUMBERS)
+                .getObject("find { it.id == %d }.balance".formatted(shared.accountId), BigDecimal.class);
+
+        assertEquals(0, shared.balance.compareTo(balance), "баланс " + balance + ", ожидали " + shared.balance);
+    }
+
+    private static Fixture fixture() {
+        if (!SHARED) {
+            return createFixture();
+        }
+        if (shared == null) {
+            shared = createFixture();
+        }
+        return shared;
+    }
+
+    private static Fixture createFixture() {
+        UserCredentials creds = TestDataFactory.generateUser();
+        String username = creds.getUsername();
+        String password = creds.getPassword();
+
+        // 1 создаём юзера под админом
+        given()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .header("Authorization", "Basic YWRtaW46YWRtaW4=") // admin:admin
+                .body("""
+                        {
+                          "username": "%s",
+                          "password": "%s",
+                          "role": "USER"
+                        }
+                        """.formatted(username, password))
+                .when()
+                .post(ApiTargets.url(username, "/admin/users"))
+                .then()
+                .assertThat()
+                .statusCode(HttpStatus.SC_CREATED);
+
+        // 2 логинимся юзером, забираем токен
+        String userAuthHeader =
+                given()
+                        .contentType(ContentType.JSON)
+                        .accept(ContentType.JSON)
+                        .body("""
+                                {
+                                  "username": "%s",
+                                  "password": "%s"
+                                }
+                                """.formatted(username, password))
+                        .when()
+                        .post(ApiTargets.url(username, "/auth/login"))
+                        .then()
+                        .assertThat()
+                        .statusCode(HttpStatus.SC_OK)
+                        .extract()
+                        .header("Authorization");
+
+        // 3 создаём счёт и достаём его id
+        Integer accountId =
+                given()
+                        .header("Authorization", userAuthHeader)
+                        .contentType(ContentType.JSON)
+                        .accept(ContentType.JSON)
+                        .when()
+                        .post(ApiTargets.url(username, "/accounts"))
+                        .then()
+                        .assertThat()
+                        .statusCode(HttpStatus.SC_CREATED)
+                        .extract()
+                        .jsonPath()
+                        .getInt("id");
+
+        return new Fixture(username, userAuthHeader, accountId);
+    }
+
+    private static class Fixture {
+        private final String username;
+        private final String authHeader;
+        private final int accountId;
+        private BigDecimal balance = BigDecimal.ZERO;
+
+        private Fixture(String username, String authHeader, int accountId) {
+            this.username = username;
+            this.authHeader = authHeader;
+            this.accountId = accountId;
+        }
+    }
+}
@@ -1,490 +1,31 @@
 package iteration2test;
 
-import io.restassured.RestAssured;
-import io.restassured.filter.log.RequestLoggingFilter;
-import io.restassured.filter.log.ResponseLoggingFilter;
 import io.restassured.http.ContentType;
+import iteration2test.support.ApiTargets;
+import iteration2test.support.CallBudget;
+import iteration2test.support.CallBudgetExtension;
+import iteration2test.support.CircuitBreakerExtension;
+import iteration2test.support.RestAssuredSetup;
+import iteration2test.support.TeardownExtension;
+import iteration2test.support.TracingExtension;
 import org.apache.http.HttpStatus;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 
-import java.util.List;
-
-import static io.restassured.RestAssured.given;
-
-public class DepositTest {
-    @BeforeAll
-    public static void setupRestAssured() {
-        RestAssured.filters(
-                List.of(new RequestLoggingFilter(),
-                        new ResponseLoggingFilter())
-        );
-    }
-
-
-    @Test
-    public void depositMinus1ShouldFail() {
-
-        UserCredentials creds = TestDataFactory.generateUser();
-        String username = creds.getUsername();
-        String password = creds.getPassword();
-
-        // 1 создаём юзера под админом
-        given()
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .header("Authorization", "Basic YWRtaW46YWRtaW4=") // admin:admin
-                .body("""
-                        {
-                          "username": "%s",
-                          "password": "%s",
-                          "role": "USER"
-                        }
-                        """.formatted(username, password))
-                .when()
-                .post("http://localhost:4111/api/v1/admin/users")
-                .then()
-                .assertThat()
-                .statusCode(HttpStatus.SC_CREATED);
-
-        // 2 логинимся юзером, забираем токен
-        String userAuthHeader =
-                given()
-                        .contentType(ContentType.JSON)
-                        .accept(ContentType.JSON)
-                        .body("""
-                                {
-                                  "username": "%s",
-                                  "password": "%s"
-                                }
-                                """.formatted(username, password))
-                        .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
-                        .then()
-                        .assertThat()
-                        .statusCode(HttpStatus.SC_OK)
-                        .extract()
-                        .header("Authorization");
-
-        // 3 создаём счёт и достаём его id
-        Integer accountId =
-                given()
-                        .header("Authorization", userAuthHeader)
-                        .contentType(ContentType.JSON)
-                        .accept(ContentType.JSON)
-                        .when()
-                        .post("http://localhost:4111/api/v1/accounts")
-                        .then()
-                        .assertThat()
-                        .statusCode(HttpStatus.SC_CREATED)
-                        .extract()
-                        .jsonPath()
-                        .getInt("id");
-
-        // 4 пробуем положить -1 (ожидаем 400)
-        given()
-                .header("Authorization", userAuthHeader)
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .body("""
-                        {
-                          "id": %d,
-                          "balance": -1
-                        }
-                        """.formatted(accountId))
-                .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
-                .then()
-                .assertThat()
-                .statusCode(HttpStatus.SC_BAD_REQUEST);
-    }
-
-    @Test
-    public void deposit0ShouldFail() {
-
-        UserCredentials creds = TestDataFactory.generateUser();
-        String username = creds.getUsername();
-        String password = creds.getPassword();
-
-        // 1 создаём юзера под админом
-        given()
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .header("Authorization", "Basic YWRtaW46YWRtaW4=")
-                .body("""
-                        {
-                          "username": "%s",
-                          "password": "%s",
-                          "role": "USER"
-                        }
-                        """.formatted(username, password))
-                .when()
-                .post("http://localhost:4111/api/v1/admin/users")
-                .then()
-                .assertThat()
-                .statusCode(HttpStatus.SC_CREATED);
-
-        // 2 логин
-        String userAuthHeader =
-                given()
-                        .contentType(ContentType.JSON)
-                        .accept(ContentType.JSON)
-                        .body("""
-                                {
-                                  "username": "%s",
-                                  "password": "%s"
-                                }
-                                """.formatted(username, password))
-                        .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
-                        .then()
-                        .assertThat()
-                        .statusCode(HttpStatus.SC_OK)
-                        .extract()
-                        .header("Authorization");
-
-        // 3 создаём счёт
-        Integer accountId =
-                given()
-                        .header("Authorization", userAuthHeader)
-                        .contentType(ContentType.JSON)
-                        .accept(ContentType.JSON)
-                        .when()
-                        .post("http://localhost:4111/api/v1/accounts")
-                        .then()
-                        .assertThat()
-                        .statusCode(HttpStatus.SC_CREATED)
-                        .extract()
-                        .jsonPath()
-                        .getInt("id");
-
-        // 4 депозит 0
-        given()
-                .header("Authorization", userAuthHeader)
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .body("""
-                        {
-                          "id": %d,
-                          "balance": 0
-                        }
-                        """.formatted(accountId))
-                .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
-                .then()
-                .assertThat()
-                .statusCode(HttpStatus.SC_BAD_REQUEST);
-    }
-
-    @Test
-    public void deposit1ShouldPass() {
-
-        UserCredentials creds = TestDataFactory.generateUser();
-        String username = creds.getUsername();
-        String password = creds.getPassword();
-
-        // 1 создаём юзера
-        given()
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .header("Authorization", "Basic YWRtaW46YWRtaW4=")
-                .body("""
-                        {
-                          "username": "%s",
-                          "password": "%s",
-                          "role": "USER"
-                        }
-                        """.formatted(username, password))
-                .when()
-                .post("http://localhost:4111/api/v1/admin/users")
-                .then()
-                .assertThat()
-                .statusCode(HttpStatus.SC_CREATED);
-
-        // 2 логин
-        String userAuthHeader =
-                given()
-                        .contentType(ContentType.JSON)
-                        .accept(ContentType.JSON)
-                        .body("""
-                                {
-                                  "username": "%s",
-                                  "password": "%s"
-                                }
-                                """.formatted(username, password))
-                        .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
-                        .then()
-                        .assertThat()
-                        .statusCode(HttpStatus.SC_OK)
-                        .extract()
-                        .header("Authorization");
-
-        // 3 создаём счёт
-        Integer accountId =
-                given()
-                        .header("Authorization", userAuthHeader)
-                        .contentType(ContentType.JSON)
-                        .accept(ContentType.JSON)
-                        .when()
-                        .post("http://localhost:4111/api/v1/accounts")
-                        .then()
-                        .assertThat()
-                        .statusCode(HttpStatus.SC_CREATED)
-                        .extract()
-                        .jsonPath()
-                        .getInt("id");
-
-        // 4 депозит 1
-        given()
-                .header("Authorization", userAuthHeader)
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .body("""
-                        {
-                          "id": %d,
-                          "balance": 1
-                        }
-                        """.formatted(accountId))
-                .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
-                .then()
-                .assertThat()
-                .statusCode(HttpStatus.SC_OK);
-    }
-
-    @Test
-    public void deposit4999ShouldPass() {
-
-        UserCredentials creds = TestDataFactory.generateUser();
-        String username = creds.getUsername();
-        String password = creds.getPassword();
-
-        // 1 юзер
-        given()
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .header("Authorization", "Basic YWRtaW46YWRtaW4=")
-                .body("""
-                        {
-                          "username": "%s",
-                          "password": "%s",
-                          "role": "USER"
-                        }
-                        """.formatted(username, password))
-                .when()
-                .post("http://localhost:4111/api/v1/admin/users")
-                .then()
-                .assertThat()
-                .statusCode(HttpStatus.SC_CREATED);
-
-        // 2 логин
-        String userAuthHeader =
-                given()
-                        .contentType(ContentType.JSON)
-                        .accept(ContentType.JSON)
-                        .body("""
-                                {
-                                  "username": "%s",
-                                  "password": "%s"
-                                }
-                                """.formatted(username, password))
-                        .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
-                        .then()
-                        .assertThat()
-                        .statusCode(HttpStatus.SC_OK)
-                        .extract()
-                        .header("Authorization");
-
-        // 3 счёт
-        Integer accountId =
-                given()
-                        .header("Authorization", userAuthHeader)
-                        .contentType(ContentType.JSON)
-                        .accept(ContentType.JSON)
-                        .when()
-                        .post("http://localhost:4111/api/v1/accounts")
-                        .then()
-                        .assertThat()
-                        .statusCode(HttpStatus.SC_CREATED)
-                        .extract()
-                        .jsonPath()
-                        .getInt("id");
-
-        // 4 депозит 4999
-        given()
-                .header("Authorization", userAuthHeader)
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .body("""
-                        {
-                          "id": %d,
-                          "balance": 4999
-                        }
-                        """.formatted(accountId))
-                .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
-                .then()
-                .assertThat()
-                .statusCode(HttpStatus.SC_OK);
-    }
-
-    @Test
-    public void deposit5000ShouldPass() {
-
-        UserCredentials creds = TestDataFactory.generateUser();
-        String username = creds.getUsername();
-        String password = creds.getPassword();
-
-        // 1 юзер
-        given()
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .header("Authorization", "Basic YWRtaW46YWRtaW4=")
-                .body("""
-                        {
-                          "username": "%s",
-                          "password": "%s",
-                          "role": "USER"
-                        }
-                        """.formatted(username, password))
-                .when()
-                .post("http://localhost:4111/api/v1/admin/users")
-                .then()
-                .assertThat()
-                .statusCode(HttpStatus.SC_CREATED);
-
-        // 2 логин
-        String userAuthHeader =
-                given()
-                        .contentType(ContentType.JSON)
-                        .accept(ContentType.JSON)
-                        .body("""
-                                {
-                                  "username": "%s",
-                                  "password": "%s"
-                                }
-                                """.formatted(username, password))
-                        .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
-                        .then()
-                        .assertThat()
-                        .statusCode(HttpStatus.SC_OK)
-                        .extract()
-                        .header("Authorization");
-
-        // 3 счёт
-        Integer accountId =
-                given()
-                        .header("Authorization", userAuthHeader)
-                        .contentType(ContentType.JSON)
-                        .accept(ContentType.JSON)
-                        .when()
-                        .post("http://localhost:4111/api/v1/accounts")
-                        .then()
-                        .assertThat()
-                        .statusCode(HttpStatus.SC_CREATED)
-                        .extract()
-                        .jsonPath()
-                        .getInt("id");
-
-        // 4 депозит 5000
-        given()
-                .header("Authorization", userAuthHeader)
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .body("""
-                        {
-                          "id": %d,
-                          "balance": 5000
-                        }
-                        """.formatted(accountId))
-                .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
-                .then()
-                .assertThat()
-                .statusCode(HttpStatus.SC_OK);
-    }
-
-    @Test
-    public void deposit5001ShouldFail() {
-
-        UserCredentials creds = TestDataFactory.generateUser();
-        String username = creds.getUsername();
-        String password = creds.getPassword();
-
-        // 1 юзер
-        given()
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .header("Authorization", "Basic YWRtaW46YWRtaW4=")
-                .body("""
-                        {
-                          "username": "%s",
-                          "password": "%s",
-                          "role": "USER"
-                        }
-                        """.formatted(username, password))
-                .when()
-                .post("http://localhost:4111/api/v1/admin/users")
-                .then()
-                .assertThat()
-                .statusCode(HttpStatus.SC_CREATED);
-
-        // 2 логин
-        String userAuthHeader =
-                given()
-                        .contentType(ContentType.JSON)
-                        .accept(ContentType.JSON)
-                        .body("""
-                                {
-                                  "username": "%s",
-                                  "password": "%s"
-                                }
-                                """.formatted(username, password))
-                        .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
-                        .then()
-                        .assertThat()
-                        .statusCode(HttpStatus.SC_OK)
-                        .extract()
-                        .header("Authorization");
-
-        // 3 счёт
-        Integer accountId =
-                given()
-                        .header("Authorization", userAuthHeader)
-                        .contentType(ContentType.JSON)
-                        .accept(ContentType.JSON)
-                        .when()
-                        .post("http://localhost:4111/api/v1/accounts")
-                        .then()
-                        .assertThat()
-                        .statusCode(HttpStatus.SC_CREATED)
-                        .extract()
-                        .jsonPath()
-                        .getInt("id");
+import static io.restassured.RestAssured.given;
 
-        // 4 депозит 5001
-        given()
-                .header("Authorization", userAuthHeader)
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .body("""
-                        {
-                          "id": %d,
-                          "balance": 5001
-                        }
-                        """.formatted(accountId))
-                .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
-                .then()
-                .assertThat()
-                .statusCode(HttpStatus.SC_BAD_REQUEST);
+@ExtendWith({CircuitBreakerExtension.class, TracingExtension.class, CallBudgetExtension.class, TeardownExtension.class})
+@CallBudget(total = 4, perEndpoint = {"POST /admin/users=1", "POST /accounts/deposit=1"})
+public class DepositTest {
+    @BeforeAll
+    public static void setupRestAssured() {
+        RestAssuredSetup.configure();
     }
 
+
     @Test
+    @CallBudget(total = 6, perEndpoint = {"POST /admin/users=2", "POST /accounts/deposit=1"})
     public void userCannotDepositToForeignAccount() {
 
         // создаём владельца счёта
@@ -504,7 +45,7 @@ public class DepositTest {
                         }
                         """.formatted(ownerUsername, ownerPassword))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(ownerUsername, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -520,7 +61,7 @@ public class DepositTest {
                                 }
                                 """.formatted(ownerUsername, ownerPassword))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(ownerUsername, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -533,7 +74,7 @@ public class DepositTest {
                         .contentType(ContentType.JSON)
                         .accept(ContentType.JSON)
                         .when()
-                        .post("http://localhost:4111/api/v1/accounts")
+                        .post(ApiTargets.url(ownerUsername, "/accounts"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_CREATED)
@@ -542,6 +83,7 @@ public class DepositTest {
                         .getInt("id");
 
         // создаём второго юзера, который будет пытаться класть деньги не в свой счёт
+        // (на узле владельца: его счёт там точно уже есть)
         UserCredentials attackerCreds = TestDataFactory.generateUser();
         String attackerUsername = attackerCreds.getUsername();
         String attackerPassword = attackerCreds.getPassword();
@@ -558,7 +100,7 @@ public class DepositTest {
                         }
                         """.formatted(attackerUsername, attackerPassword))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(ownerUsername, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -574,7 +116,7 @@ public class DepositTest {
                                 }
                                 """.formatted(attackerUsername, attackerPassword))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(ownerUsername, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -593,7 +135,7 @@ public class DepositTest {
                         }
                         """.formatted(ownerAccountId))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
+                .post(ApiTargets.url(ownerUsername, "/accounts/deposit"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_FORBIDDEN);
@@ -619,7 +161,7 @@ public class DepositTest {
                         }
                         """.formatted(username, password))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(username, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -636,7 +178,7 @@ public class DepositTest {
                                 }
                                 """.formatted(username, password))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(username, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -649,7 +191,7 @@ public class DepositTest {
                 .contentType(ContentType.JSON)
                 .accept(ContentType.JSON)
                 .when()
-                .post("http://localhost:4111/api/v1/accounts")
+                .post(ApiTargets.url(username, "/accounts"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -668,243 +210,11 @@ public class DepositTest {
                         }
                         """.formatted(fakeAccountId))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
+                .post(ApiTargets.url(username, "/accounts/deposit"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_FORBIDDEN);
     }
-
-
-    @Test
-    public void depositWithEmptyStringBalanceShouldFail() {
-
-        UserCredentials creds = TestDataFactory.generateUser();
-        String username = creds.getUsername();
-        String password = creds.getPassword();
-
-        // 1 создаём юзера через админа
-        given()
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .header("Authorization", "Basic YWRtaW46YWRtaW4=")
-                .body("""
-                        {
-                          "username": "%s",
-                          "password": "%s",
-                          "role": "USER"
-                        }
-                        """.formatted(username, password))
-                .when()
-                .post("http://localhost:4111/api/v1/admin/users")
-                .then()
-                .assertThat()
-                .statusCode(HttpStatus.SC_CREATED);
-
-        // 2 логинимся, забираем токен
-        String userAuthHeader =
-                given()
-                        .contentType(ContentType.JSON)
-                        .accept(ContentType.JSON)
-                        .body("""
-                                {
-                                  "username": "%s",
-                                  "password": "%s"
-                                }
-                                """.formatted(username, password))
-                        .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
-                        .then()
-                        .assertThat()
-                        .statusCode(HttpStatus.SC_OK)
-                        .extract()
-                        .header("Authorization");
-
-        // 3 создаём счёт и берём его id
-        Integer accountId =
-                given()
-                        .header("Authorization", userAuthHeader)
-                        .contentType(ContentType.JSON)
-                        .accept(ContentType.JSON)
-                        .when()
-                        .post("http://localhost:4111/api/v1/accounts")
-                        .then()
-                        .assertThat()
-                        .statusCode(HttpStatus.SC_CREATED)
-                        .extract()
-                        .jsonPath()
-                        .getInt("id");
-
-        // 4 депозит с balance = "" (пустая строка)
-        given()
-                .header("Authorization", userAuthHeader)
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .body("""
-                        {
-                          "id": %d,
-                          "balance": ""
-                        }
-                        """.formatted(accountId))
-                .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
-                .then()
-                .assertThat()
-                .statusCode(HttpStatus.SC_INTERNAL_SERVER_ERROR);
-    }
-
-    @Test
-    public void depositWithStringZeroBalanceShouldFail() {
-
-        UserCredentials creds = TestDataFactory.generateUser();
-        String username = creds.getUsername();
-        String password = creds.getPassword();
-
-        // 1 создаём юзера через админа
-        given()
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .header("Authorization", "Basic YWRtaW46YWRtaW4=")
-                .body("""
-                        {
-                          "username": "%s",
-                          "password": "%s",
-                          "role": "USER"
-                        }
-                        """.formatted(username, password))
-                .when()
-                .post("http://localhost:4111/api/v1/admin/users")
-                .then()
-                .assertThat()
-                .statusCode(HttpStatus.SC_CREATED);
-
-        // 2 логинимся, берём токен
-        String userAuthHeader =
-                given()
-                        .contentType(ContentType.JSON)
-                        .accept(ContentType.JSON)
-                        .body("""
-                                {
-                                  "username": "%s",
-                                  "password": "%s"
-                                }
-                                """.formatted(username, password))
-                        .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
-                        .then()
-                        .assertThat()
-                        .statusCode(HttpStatus.SC_OK)
-                        .extract()
-                        .header("Authorization");
-
-        // 3 создаём счёт и достаём id
-        Integer accountId =
-                given()
-                        .header("Authorization", userAuthHeader)
-                        .contentType(ContentType.JSON)
-                        .accept(ContentType.JSON)
-                        .when()
-                        .post("http://localhost:4111/api/v1/accounts")
-                        .then()
-                        .assertThat()
-                        .statusCode(HttpStatus.SC_CREATED)
-                        .extract()
-                        .jsonPath()
-                        .getInt("id");
-
-        // 4 депозит с balance = 0
-        given()
-                .header("Authorization", userAuthHeader)
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .body("""
-                        {
-                          "id": %d,
-                          "balance": 0
-                        }
-                        """.formatted(accountId))
-                .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
-                .then()
-                .assertThat()
-                .statusCode(HttpStatus.SC_BAD_REQUEST);
-    }
-
-    @Test
-    public void depositWithTextBalanceShouldFail() {
-
-        UserCredentials creds = TestDataFactory.generateUser();
-        String username = creds.getUsername();
-        String password = creds.getPassword();
-
-        // 1 создаём юзера через админа
-        given()
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .header("Authorization", "Basic YWRtaW46YWRtaW4=")
-                .body("""
-                        {
-                          "username": "%s",
-                          "password": "%s",
-                          "role": "USER"
-                        }
-                        """.formatted(username, password))
-                .when()
-                .post("http://localhost:4111/api/v1/admin/users")
-                .then()
-                .assertThat()
-                .statusCode(HttpStatus.SC_CREATED);
-
-        // 2 логинимся, забираем токен
-        String userAuthHeader =
-                given()
-                        .contentType(ContentType.JSON)
-                        .accept(ContentType.JSON)
-                        .body("""
-                                {
-                                  "username": "%s",
-                                  "password": "%s"
-                                }
-                                """.formatted(username, password))
-                        .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
-                        .then()
-                        .assertThat()
-                        .statusCode(HttpStatus.SC_OK)
-                        .extract()
-                        .header("Authorization");
-
-        // 3 создаём счёт, берём id
-        Integer accountId =
-                given()
-                        .header("Authorization", userAuthHeader)
-                        .contentType(ContentType.JSON)
-                        .accept(ContentType.JSON)
-                        .when()
-                        .post("http://localhost:4111/api/v1/accounts")
-                        .then()
-                        .assertThat()
-                        .statusCode(HttpStatus.SC_CREATED)
-                        .extract()
-                        .jsonPath()
-                        .getInt("id");
-
-        // 4 депозит с balance = "hello" (текст вместо суммы)
-        given()
-                .header("Authorization", userAuthHeader)
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .body("""
-                        {
-                          "id": %d,
-                          "balance": "hello"
-                        }
-                        """.formatted(accountId))
-                .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
-                .then()
-                .assertThat()
-                .statusCode(HttpStatus.SC_INTERNAL_SERVER_ERROR);
-    }
 }
 
 
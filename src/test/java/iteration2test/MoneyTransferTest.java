@@ -1,25 +1,27 @@
 package iteration2test;
 
-import io.restassured.RestAssured;
-import io.restassured.filter.log.RequestLoggingFilter;
-import io.restassured.filter.log.ResponseLoggingFilter;
 import io.restassured.http.ContentType;
+import iteration2test.support.ApiTargets;
+import iteration2test.support.CallBudget;
+import iteration2test.support.CallBudgetExtension;
+import iteration2test.support.CircuitBreakerExtension;
+import iteration2test.support.RestAssuredSetup;
+import iteration2test.support.TeardownExtension;
+import iteration2test.support.TracingExtension;
 import org.apache.http.HttpStatus;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
-
-import java.util.List;
+import org.junit.jupiter.api.extension.ExtendWith;
 
 import static io.restassured.RestAssured.given;
 
+@ExtendWith({CircuitBreakerExtension.class, TracingExtension.class, CallBudgetExtension.class, TeardownExtension.class})
+@CallBudget(total = 8)
 public class MoneyTransferTest {
 
     @BeforeAll
     public static void setupRestAssured() {
-        RestAssured.filters(
-                List.of(new RequestLoggingFilter(),
-                        new ResponseLoggingFilter())
-        );
+        RestAssuredSetup.configure();
     }
 
     @Test
@@ -42,7 +44,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(username, password))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(username, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -59,7 +61,7 @@ public class MoneyTransferTest {
                                 }
                                 """.formatted(username, password))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(username, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -73,7 +75,7 @@ public class MoneyTransferTest {
                         .contentType(ContentType.JSON)
                         .accept(ContentType.JSON)
                         .when()
-                        .post("http://localhost:4111/api/v1/accounts")
+                        .post(ApiTargets.url(username, "/accounts"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_CREATED)
@@ -93,7 +95,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(accountId))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
+                .post(ApiTargets.url(username, "/accounts/deposit"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_OK);
@@ -105,7 +107,7 @@ public class MoneyTransferTest {
                         .contentType(ContentType.JSON)
                         .accept(ContentType.JSON)
                         .when()
-                        .post("http://localhost:4111/api/v1/accounts")
+                        .post(ApiTargets.url(username, "/accounts"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_CREATED)
@@ -125,7 +127,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(accountId, accountId2))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/transfer")
+                .post(ApiTargets.url(username, "/accounts/transfer"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_OK);
@@ -151,7 +153,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(username, password))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(username, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -168,7 +170,7 @@ public class MoneyTransferTest {
                                 }
                                 """.formatted(username, password))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(username, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -182,7 +184,7 @@ public class MoneyTransferTest {
                         .contentType(ContentType.JSON)
                         .accept(ContentType.JSON)
                         .when()
-                        .post("http://localhost:4111/api/v1/accounts")
+                        .post(ApiTargets.url(username, "/accounts"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_CREATED)
@@ -202,7 +204,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(accountId))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
+                .post(ApiTargets.url(username, "/accounts/deposit"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_OK);
@@ -218,7 +220,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(accountId))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
+                .post(ApiTargets.url(username, "/accounts/deposit"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_OK);
@@ -234,7 +236,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(accountId))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
+                .post(ApiTargets.url(username, "/accounts/deposit"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_OK);
@@ -246,7 +248,7 @@ public class MoneyTransferTest {
                         .contentType(ContentType.JSON)
                         .accept(ContentType.JSON)
                         .when()
-                        .post("http://localhost:4111/api/v1/accounts")
+                        .post(ApiTargets.url(username, "/accounts"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_CREATED)
@@ -267,7 +269,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(accountId, accountId2))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/transfer")
+                .post(ApiTargets.url(username, "/accounts/transfer"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_OK);
@@ -293,7 +295,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(username, password))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(username, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -310,7 +312,7 @@ public class MoneyTransferTest {
                                 }
                                 """.formatted(username, password))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(username, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -324,7 +326,7 @@ public class MoneyTransferTest {
                         .contentType(ContentType.JSON)
                         .accept(ContentType.JSON)
                         .when()
-                        .post("http://localhost:4111/api/v1/accounts")
+                        .post(ApiTargets.url(username, "/accounts"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_CREATED)
@@ -344,7 +346,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(accountId))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
+                .post(ApiTargets.url(username, "/accounts/deposit"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_OK);
@@ -360,7 +362,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(accountId))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
+                .post(ApiTargets.url(username, "/accounts/deposit"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_OK);
@@ -376,7 +378,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(accountId))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
+                .post(ApiTargets.url(username, "/accounts/deposit"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_OK);
@@ -388,7 +390,7 @@ public class MoneyTransferTest {
                         .contentType(ContentType.JSON)
                         .accept(ContentType.JSON)
                         .when()
-                        .post("http://localhost:4111/api/v1/accounts")
+                        .post(ApiTargets.url(username, "/accounts"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_CREATED)
@@ -408,7 +410,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(accountId, accountId2))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/transfer")
+                .post(ApiTargets.url(username, "/accounts/transfer"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_BAD_REQUEST);
@@ -434,7 +436,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(username, password))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(username, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -451,7 +453,7 @@ public class MoneyTransferTest {
                                 }
                                 """.formatted(username, password))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(username, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -465,7 +467,7 @@ public class MoneyTransferTest {
                         .contentType(ContentType.JSON)
                         .accept(ContentType.JSON)
                         .when()
-                        .post("http://localhost:4111/api/v1/accounts")
+                        .post(ApiTargets.url(username, "/accounts"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_CREATED)
@@ -485,7 +487,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(accountId))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
+                .post(ApiTargets.url(username, "/accounts/deposit"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_OK);
@@ -496,7 +498,7 @@ public class MoneyTransferTest {
                         .contentType(ContentType.JSON)
                         .accept(ContentType.JSON)
                         .when()
-                        .post("http://localhost:4111/api/v1/accounts")
+                        .post(ApiTargets.url(username, "/accounts"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_CREATED)
@@ -516,7 +518,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(accountId, accountId2))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/transfer")
+                .post(ApiTargets.url(username, "/accounts/transfer"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_BAD_REQUEST);
@@ -542,7 +544,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(username, password))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(username, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -559,7 +561,7 @@ public class MoneyTransferTest {
                                 }
                                 """.formatted(username, password))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(username, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -573,7 +575,7 @@ public class MoneyTransferTest {
                         .contentType(ContentType.JSON)
                         .accept(ContentType.JSON)
                         .when()
-                        .post("http://localhost:4111/api/v1/accounts")
+                        .post(ApiTargets.url(username, "/accounts"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_CREATED)
@@ -593,7 +595,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(accountId))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
+                .post(ApiTargets.url(username, "/accounts/deposit"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_OK);
@@ -604,7 +606,7 @@ public class MoneyTransferTest {
                         .contentType(ContentType.JSON)
                         .accept(ContentType.JSON)
                         .when()
-                        .post("http://localhost:4111/api/v1/accounts")
+                        .post(ApiTargets.url(username, "/accounts"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_CREATED)
@@ -624,7 +626,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(accountId, accountId2))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/transfer")
+                .post(ApiTargets.url(username, "/accounts/transfer"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_INTERNAL_SERVER_ERROR);
@@ -650,7 +652,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(username, password))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(username, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -667,7 +669,7 @@ public class MoneyTransferTest {
                                 }
                                 """.formatted(username, password))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(username, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -681,7 +683,7 @@ public class MoneyTransferTest {
                         .contentType(ContentType.JSON)
                         .accept(ContentType.JSON)
                         .when()
-                        .post("http://localhost:4111/api/v1/accounts")
+                        .post(ApiTargets.url(username, "/accounts"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_CREATED)
@@ -701,7 +703,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(accountId))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
+                .post(ApiTargets.url(username, "/accounts/deposit"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_OK);
@@ -712,7 +714,7 @@ public class MoneyTransferTest {
                         .contentType(ContentType.JSON)
                         .accept(ContentType.JSON)
                         .when()
-                        .post("http://localhost:4111/api/v1/accounts")
+                        .post(ApiTargets.url(username, "/accounts"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_CREATED)
@@ -732,7 +734,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(accountId, accountId2))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/transfer")
+                .post(ApiTargets.url(username, "/accounts/transfer"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_BAD_REQUEST);
@@ -758,7 +760,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(username, password))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(username, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -775,7 +777,7 @@ public class MoneyTransferTest {
                                 }
                                 """.formatted(username, password))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(username, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -789,7 +791,7 @@ public class MoneyTransferTest {
                         .contentType(ContentType.JSON)
                         .accept(ContentType.JSON)
                         .when()
-                        .post("http://localhost:4111/api/v1/accounts")
+                        .post(ApiTargets.url(username, "/accounts"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_CREATED)
@@ -809,7 +811,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(accountId))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
+                .post(ApiTargets.url(username, "/accounts/deposit"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_OK);
@@ -820,7 +822,7 @@ public class MoneyTransferTest {
                         .contentType(ContentType.JSON)
                         .accept(ContentType.JSON)
                         .when()
-                        .post("http://localhost:4111/api/v1/accounts")
+                        .post(ApiTargets.url(username, "/accounts"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_CREATED)
@@ -840,7 +842,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(accountId, accountId2))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/transfer")
+                .post(ApiTargets.url(username, "/accounts/transfer"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_BAD_REQUEST);
@@ -865,7 +867,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(senderUsername, senderPassword))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(senderUsername, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -882,7 +884,7 @@ public class MoneyTransferTest {
                                 }
                                 """.formatted(senderUsername, senderPassword))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(senderUsername, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -896,7 +898,7 @@ public class MoneyTransferTest {
                         .contentType(ContentType.JSON)
                         .accept(ContentType.JSON)
                         .when()
-                        .post("http://localhost:4111/api/v1/accounts")
+                        .post(ApiTargets.url(senderUsername, "/accounts"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_CREATED)
@@ -916,7 +918,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(senderAccountId))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/deposit")
+                .post(ApiTargets.url(senderUsername, "/accounts/deposit"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_OK);
@@ -927,7 +929,7 @@ public class MoneyTransferTest {
         String receiverUsername = receiverCreds.getUsername();
         String receiverPassword = receiverCreds.getPassword();
 
-        // создаём получателя под админом
+        // создаём получателя под админом (на узле отправителя: перевод идёт туда же, лаг репликации не мешает)
         given()
                 .contentType(ContentType.JSON)
                 .accept(ContentType.JSON)
@@ -940,7 +942,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(receiverUsername, receiverPassword))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(senderUsername, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -957,7 +959,7 @@ public class MoneyTransferTest {
                                 }
                                 """.formatted(receiverUsername, receiverPassword))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(senderUsername, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -971,7 +973,7 @@ public class MoneyTransferTest {
                         .contentType(ContentType.JSON)
                         .accept(ContentType.JSON)
                         .when()
-                        .post("http://localhost:4111/api/v1/accounts")
+                        .post(ApiTargets.url(senderUsername, "/accounts"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_CREATED)
@@ -992,7 +994,7 @@ public class MoneyTransferTest {
                         }
                         """.formatted(senderAccountId, receiverAccountId))
                 .when()
-                .post("http://localhost:4111/api/v1/accounts/transfer")
+                .post(ApiTargets.url(senderUsername, "/accounts/transfer"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_OK);
@@ -17,4 +17,20 @@ public class TestDataFactory {
 
         return new UserCredentials(username, password);
     }
+
+    // юзер из пула poolIndex из poolCount: суффикс username по модулю poolCount равен poolIndex,
+    // поэтому разные пулы (например, разные JVM нагрузки) никогда не пересекаются
+    public static UserCredentials generateUser(int poolIndex, int poolCount) {
+        UserCredentials creds = generateUser();
+        long suffix = Long.parseLong(creds.getUsername().substring("user_".length()), 16);
+        suffix = suffix - suffix % poolCount + poolIndex;
+        if (suffix > 0xFFFFFFFFL) {
+            suffix -= poolCount;
+        }
+        return new UserCredentials("user_%08x".formatted(suffix), creds.getPassword());
+    }
+
+    public static int poolOf(String username, int poolCount) {
+        return (int) (Long.parseLong(username.substring("user_".length()), 16) % poolCount);
+    }
 }
@@ -1,24 +1,26 @@
 package iteration2test;
 
-import io.restassured.RestAssured;
-import io.restassured.filter.log.RequestLoggingFilter;
-import io.restassured.filter.log.ResponseLoggingFilter;
 import io.restassured.http.ContentType;
+import iteration2test.support.ApiTargets;
+import iteration2test.support.CallBudget;
+import iteration2test.support.CallBudgetExtension;
+import iteration2test.support.CircuitBreakerExtension;
+import iteration2test.support.RestAssuredSetup;
+import iteration2test.support.TeardownExtension;
+import iteration2test.support.TracingExtension;
 import org.apache.http.HttpStatus;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
-
-import java.util.List;
+import org.junit.jupiter.api.extension.ExtendWith;
 
 import static io.restassured.RestAssured.given;
 
+@ExtendWith({CircuitBreakerExtension.class, TracingExtension.class, CallBudgetExtension.class, TeardownExtension.class})
+@CallBudget(total = 3, perEndpoint = "PUT /customer/profile=1")
 public class UserRenameTest {
     @BeforeAll
     public static void setupRestAssured() {
-        RestAssured.filters(
-                List.of(new RequestLoggingFilter(),
-                        new ResponseLoggingFilter())
-        );
+        RestAssuredSetup.configure();
     }
 
     @Test
@@ -41,7 +43,7 @@ public class UserRenameTest {
                         }
                         """.formatted(username, password))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(username, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -58,7 +60,7 @@ public class UserRenameTest {
                                 }
                                 """.formatted(username, password))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(username, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -77,7 +79,7 @@ public class UserRenameTest {
                         }
                         """)
                 .when()
-                .put("http://localhost:4111/api/v1/customer/profile")
+                .put(ApiTargets.url(username, "/customer/profile"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_OK);
@@ -104,7 +106,7 @@ public class UserRenameTest {
                         }
                         """.formatted(username, password))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(username, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -121,7 +123,7 @@ public class UserRenameTest {
                                 }
                                 """.formatted(username, password))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(username, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -140,7 +142,7 @@ public class UserRenameTest {
                         }
                         """)
                 .when()
-                .put("http://localhost:4111/api/v1/customer/profile")
+                .put(ApiTargets.url(username, "/customer/profile"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_BAD_REQUEST);
@@ -167,7 +169,7 @@ public class UserRenameTest {
                         }
                         """.formatted(username, password))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(username, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -184,7 +186,7 @@ public class UserRenameTest {
                                 }
                                 """.formatted(username, password))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(username, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -203,7 +205,7 @@ public class UserRenameTest {
                         }
                         """)
                 .when()
-                .put("http://localhost:4111/api/v1/customer/profile")
+                .put(ApiTargets.url(username, "/customer/profile"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_OK);
@@ -230,7 +232,7 @@ public class UserRenameTest {
                         }
                         """.formatted(username, password))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(username, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -247,7 +249,7 @@ public class UserRenameTest {
                                 }
                                 """.formatted(username, password))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(username, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -266,7 +268,7 @@ public class UserRenameTest {
                         }
                         """)
                 .when()
-                .put("http://localhost:4111/api/v1/customer/profile")
+                .put(ApiTargets.url(username, "/customer/profile"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_BAD_REQUEST);
@@ -293,7 +295,7 @@ public class UserRenameTest {
                         }
                         """.formatted(username, password))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(username, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -310,7 +312,7 @@ public class UserRenameTest {
                                 }
                                 """.formatted(username, password))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(username, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -329,7 +331,7 @@ public class UserRenameTest {
                         }
                         """)
                 .when()
-                .put("http://localhost:4111/api/v1/customer/profile")
+                .put(ApiTargets.url(username, "/customer/profile"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_OK);
@@ -356,7 +358,7 @@ public class UserRenameTest {
                         }
                         """.formatted(username, password))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(username, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -373,7 +375,7 @@ public class UserRenameTest {
                                 }
                                 """.formatted(username, password))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(username, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -392,7 +394,7 @@ public class UserRenameTest {
                         }
                         """)
                 .when()
-                .put("http://localhost:4111/api/v1/customer/profile")
+                .put(ApiTargets.url(username, "/customer/profile"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_OK);
@@ -419,7 +421,7 @@ public class UserRenameTest {
                         }
                         """.formatted(username, password))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(username, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -436,7 +438,7 @@ public class UserRenameTest {
                                 }
                                 """.formatted(username, password))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(username, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -455,7 +457,7 @@ public class UserRenameTest {
                         }
                         """)
                 .when()
-                .put("http://localhost:4111/api/v1/customer/profile")
+                .put(ApiTargets.url(username, "/customer/profile"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_BAD_REQUEST);
@@ -482,7 +484,7 @@ public class UserRenameTest {
                         }
                         """.formatted(username, password))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(username, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -499,7 +501,7 @@ public class UserRenameTest {
                                 }
                                 """.formatted(username, password))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(username, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -518,7 +520,7 @@ public class UserRenameTest {
                         }
                         """)
                 .when()
-                .put("http://localhost:4111/api/v1/customer/profile")
+                .put(ApiTargets.url(username, "/customer/profile"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_BAD_REQUEST);
@@ -545,7 +547,7 @@ public class UserRenameTest {
                         }
                         """.formatted(username, password))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(username, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -562,7 +564,7 @@ public class UserRenameTest {
                                 }
                                 """.formatted(username, password))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(username, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -581,7 +583,7 @@ public class UserRenameTest {
                         }
                         """)
                 .when()
-                .put("http://localhost:4111/api/v1/customer/profile")
+                .put(ApiTargets.url(username, "/customer/profile"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_BAD_REQUEST);
@@ -608,7 +610,7 @@ public class UserRenameTest {
                         }
                         """.formatted(username, password))
                 .when()
-                .post("http://localhost:4111/api/v1/admin/users")
+                .post(ApiTargets.url(username, "/admin/users"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_CREATED);
@@ -625,7 +627,7 @@ public class UserRenameTest {
                                 }
                                 """.formatted(username, password))
                         .when()
-                        .post("http://localhost:4111/api/v1/auth/login")
+                        .post(ApiTargets.url(username, "/auth/login"))
                         .then()
                         .assertThat()
                         .statusCode(HttpStatus.SC_OK)
@@ -644,7 +646,7 @@ public class UserRenameTest {
                         }
                         """)
                 .when()
-                .put("http://localhost:4111/api/v1/customer/profile")
+                .put(ApiTargets.url(username, "/customer/profile"))
                 .then()
                 .assertThat()
                 .statusCode(HttpStatus.SC_BAD_REQUEST);
@@ -0,0 +1,38 @@
+package iteration2test.load;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// A/B сравнение двух прогонов по всем эндпоинтам
+public final class AbComparison {
+
+    private AbComparison() {
+    }
+
+    public static List<EndpointComparison> compare(RunRecorder baseline, RunRecorder candidate,
+                                                   double confidence, double minEffect) {
+        List<EndpointComparison> result = new ArrayList<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            result.add(new EndpointComparison(endpoint, baseline.get(endpoint), candidate.get(endpoint),
+                    confidence, minEffect));
+        }
+        return result;
+    }
+
+    public static List<EndpointComparison> regressions(List<EndpointComparison> comparisons) {
+        return comparisons.stream()
+                .filter(c -> c.getVerdict() == EndpointComparison.Verdict.REGRESSION)
+                .toList();
+    }
+
+    public static String report(RunRecorder baseline, RunRecorder candidate, List<EndpointComparison> comparisons) {
+        StringBuilder sb = new StringBuilder()
+                .append("A/B: ").append(baseline.getLabel())
+                .append(" -> ").append(candidate.getLabel())
+                .append(System.lineSeparator());
+        for (EndpointComparison comparison : comparisons) {
+            sb.append(comparison.describe()).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,63 @@
+package iteration2test.load;
+
+import iteration2test.support.ApiTargets;
+import iteration2test.support.ConsistentHashRing;
+import iteration2test.support.TeardownExtension;
+import iteration2test.support.TestConfig;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// запуск: mvn test -Pperf -Dtest=AbComparisonTest
+//   -Dnbank.ab.baselineUrls=http://old:4111 -Dnbank.ab.candidateUrls=http://new:4111
+// (можно несколько узлов через запятую) или сравнение уже записанных прогонов:
+//   -Dnbank.ab.baselineFile=target/perf/ab-baseline.properties -Dnbank.ab.candidateFile=...
+@Tag("perf")
+@ExtendWith(TeardownExtension.class)
+public class AbComparisonTest {
+
+    @Test
+    public void candidateBuildHasNoSignificantRegression() {
+        RunRecorder baseline;
+        RunRecorder candidate;
+
+        String baselineFile = TestConfig.getString("nbank.ab.baselineFile", null);
+        String candidateFile = TestConfig.getString("nbank.ab.candidateFile", null);
+        List<String> baselineUrls = TestConfig.getList("nbank.ab.baselineUrls", null);
+        List<String> candidateUrls = TestConfig.getList("nbank.ab.candidateUrls", null);
+
+        if (baselineFile != null && candidateFile != null) {
+            baseline = RunRecorder.load(Path.of(baselineFile));
+            candidate = RunRecorder.load(Path.of(candidateFile));
+        } else {
+            Assumptions.assumeTrue(!baselineUrls.isEmpty() && !candidateUrls.isEmpty(),
+                    "Не заданы nbank.ab.baselineUrls/candidateUrls или nbank.ab.baselineFile/candidateFile");
+
+            // 1 гоняем одинаковую нагрузку сначала на старый билд, потом на новый
+            baseline = LoadRunner.fromConfig(ring(baselineUrls)).run("baseline " + baselineUrls);
+            baseline.save(Path.of("target", "perf", "ab-baseline.properties"));
+
+            candidate = LoadRunner.fromConfig(ring(candidateUrls)).run("candidate " + candidateUrls);
+            candidate.save(Path.of("target", "perf", "ab-candidate.properties"));
+        }
+
+        // 2 сравниваем по каждому эндпоинту
+        List<EndpointComparison> comparisons = AbComparison.compare(baseline, candidate,
+                TestConfig.getDouble("nbank.ab.confidence", 0.95),
+                TestConfig.getDouble("nbank.ab.minEffect", 0.05));
+        String report = AbComparison.report(baseline, candidate, comparisons);
+        System.out.println(report);
+
+        assertTrue(AbComparison.regressions(comparisons).isEmpty(), "Значимая регрессия:\n" + report);
+    }
+
+    private static ConsistentHashRing ring(List<String> baseUrls) {
+        return new ConsistentHashRing(baseUrls.stream().map(ApiTargets::apiUrlOf).toList());
+    }
+}
@@ -0,0 +1,181 @@
+package iteration2test.load;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// статистика для сравнения двух прогонов.
+// задержки сравниваются прямо по гистограммам: значения внутри корзины считаются равными (ties)
+public final class AbStatistics {
+
+    private static final long DIFF_OFFSET = 1L << 36;
+    private static final int PAIR_INDEX_BITS = 22;
+
+    private AbStatistics() {
+    }
+
+    // двусторонний p-value критерия Манна-Уитни с поправкой на ties
+    public static double mannWhitneyPValue(LatencyHistogram a, LatencyHistogram b) {
+        double m = a.getTotalCount();
+        double n = b.getTotalCount();
+        if (m == 0 || n == 0) {
+            return 1.0;
+        }
+        double total = m + n;
+        double u = 0;
+        double tieSum = 0;
+        long aBelow = 0;
+        for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+            long aCount = a.getCountAt(i);
+            long bCount = b.getCountAt(i);
+            if (aCount == 0 && bCount == 0) {
+                continue;
+            }
+            // сколько пар (a, b) с a < b, равные идут с весом 0.5
+            u += bCount * (aBelow + 0.5 * aCount);
+            double ties = aCount + bCount;
+            tieSum += ties * ties * ties - ties;
+            aBelow += aCount;
+        }
+        double variance = m * n / 12.0 * ((total + 1) - tieSum / (total * (total - 1)));
+        if (variance <= 0) {
+            return 1.0;
+        }
+        double z = (Math.abs(u - m * n / 2.0) - 0.5) / Math.sqrt(variance);
+        return Math.min(1.0, 2 * (1 - normalCdf(Math.max(z, 0))));
+    }
+
+    // оценка Ходжеса-Лемана сдвига b - a (мкс) и её доверительный интервал через ранги Манна-Уитни
+    public static ConfidenceInterval hodgesLehmannShift(LatencyHistogram a, LatencyHistogram b, double confidence) {
+        long[][] aBuckets = nonEmptyBuckets(a);
+        long[][] bBuckets = nonEmptyBuckets(b);
+        int aSize = aBuckets[0].length;
+        int bSize = bBuckets[0].length;
+        if (aSize == 0 || bSize == 0) {
+            return new ConfidenceInterval(0, 0, 0);
+        }
+
+        // все попарные разности корзин; в ключе — разность и индекс пары, чтобы сортировать примитивы
+        long[] keys = new long[aSize * bSize];
+        long[] weights = new long[aSize * bSize];
+        int pair = 0;
+        for (int i = 0; i < aSize; i++) {
+            for (int j = 0; j < bSize; j++) {
+                long diff = bBuckets[0][j] - aBuckets[0][i];
+                keys[pair] = ((diff + DIFF_OFFSET) << PAIR_INDEX_BITS) | pair;
+                weights[pair] = aBuckets[1][i] * bBuckets[1][j];
+                pair++;
+            }
+        }
+        Arrays.sort(keys);
+
+        double m = a.getTotalCount();
+        double n = b.getTotalCount();
+        long pairsTotal = a.getTotalCount() * b.getTotalCount();
+        double z = normalQuantile(1 - (1 - confidence) / 2);
+        long k = (long) Math.floor(pairsTotal / 2.0 - z * Math.sqrt(m * n * (m + n + 1) / 12.0));
+        k = Math.max(1, k);
+
+        long lowerRank = k;
+        long medianRank = (pairsTotal + 1) / 2;
+        long upperRank = Math.max(medianRank, pairsTotal - k + 1);
+        double lower = Double.NaN;
+        double median = Double.NaN;
+        double upper = Double.NaN;
+        long seen = 0;
+        for (long key : keys) {
+            seen += weights[(int) (key & ((1 << PAIR_INDEX_BITS) - 1))];
+            double diff = (key >>> PAIR_INDEX_BITS) - DIFF_OFFSET;
+            if (Double.isNaN(lower) && seen >= lowerRank) {
+                lower = diff;
+            }
+            if (Double.isNaN(median) && seen >= medianRank) {
+                median = diff;
+            }
+            if (seen >= upperRank) {
+                upper = diff;
+                break;
+            }
+        }
+        return new ConfidenceInterval(median, lower, upper);
+    }
+
+    // bootstrap-интервал для разности средних b - a (например, ответов в секунду)
+    public static ConfidenceInterval bootstrapMeanDifference(long[] a, long[] b, double confidence,
+                                                             int resamples, long seed) {
+        if (a.length == 0 || b.length == 0) {
+            return new ConfidenceInterval(0, 0, 0);
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] diffs = new double[resamples];
+        for (int r = 0; r < resamples; r++) {
+            diffs[r] = resampledMean(b, random) - resampledMean(a, random);
+        }
+        Arrays.sort(diffs);
+        double alpha = (1 - confidence) / 2;
+        int lowerIndex = (int) Math.floor(alpha * (resamples - 1));
+        int upperIndex = (int) Math.ceil((1 - alpha) * (resamples - 1));
+        return new ConfidenceInterval(mean(b) - mean(a), diffs[lowerIndex], diffs[upperIndex]);
+    }
+
+    public static double mean(long[] values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    private static double resampledMean(long[] values, SplittableRandom random) {
+        double sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            sum += values[random.nextInt(values.length)];
+        }
+        return sum / values.length;
+    }
+
+    // [0] — представитель корзины (мкс), [1] — количество
+    private static long[][] nonEmptyBuckets(LatencyHistogram histogram) {
+        int size = 0;
+        for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+            if (histogram.getCountAt(i) != 0) {
+                size++;
+            }
+        }
+        long[][] buckets = new long[2][size];
+        int next = 0;
+        for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+            long count = histogram.getCountAt(i);
+            if (count != 0) {
+                buckets[0][next] = LatencyHistogram.medianValueAt(i);
+                buckets[1][next] = count;
+                next++;
+            }
+        }
+        return buckets;
+    }
+
+    // функция Лапласа через аппроксимацию erf (Abramowitz-Stegun 7.1.26)
+    static double normalCdf(double x) {
+        double t = 1 / (1 + 0.3275911 * Math.abs(x) / Math.sqrt(2));
+        double poly = t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 + t * 1.061405429))));
+        double erf = 1 - poly * Math.exp(-x * x / 2);
+        return x >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+
+    static double normalQuantile(double p) {
+        double low = -10;
+        double high = 10;
+        for (int i = 0; i < 100; i++) {
+            double mid = (low + high) / 2;
+            if (normalCdf(mid) < p) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return (low + high) / 2;
+    }
+}
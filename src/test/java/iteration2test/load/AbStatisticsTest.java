@@ -0,0 +1,60 @@
+package iteration2test.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AbStatisticsTest {
+
+    @Test
+    public void sameDistributionIsNotSignificant() {
+        LatencyHistogram a = lognormal(5_000, 10_000, 1);
+        LatencyHistogram b = lognormal(5_000, 10_000, 2);
+
+        assertTrue(AbStatistics.mannWhitneyPValue(a, b) > 0.01);
+        ConfidenceInterval shift = AbStatistics.hodgesLehmannShift(a, b, 0.95);
+        assertTrue(shift.getLower() <= 0 && shift.getUpper() >= 0, "интервал должен накрывать 0: " + shift);
+    }
+
+    @Test
+    public void shiftedDistributionIsDetectedAndEstimated() {
+        LatencyHistogram a = lognormal(5_000, 10_000, 3);
+        LatencyHistogram b = lognormal(5_000, 11_000, 4);
+
+        assertTrue(AbStatistics.mannWhitneyPValue(a, b) < 0.001);
+        ConfidenceInterval shift = AbStatistics.hodgesLehmannShift(a, b, 0.95);
+        assertTrue(shift.isAboveZero(), "сдвиг должен быть положительным: " + shift);
+        assertEquals(1_000, shift.getEstimate(), 300);
+    }
+
+    @Test
+    public void bootstrapIntervalCoversMeanDifference() {
+        long[] a = {100, 104, 98, 101, 99, 103, 97, 100, 102, 96};
+        long[] b = {80, 84, 78, 81, 79, 83, 77, 80, 82, 76};
+
+        ConfidenceInterval delta = AbStatistics.bootstrapMeanDifference(a, b, 0.95, 2000, 42);
+
+        assertEquals(-20, delta.getEstimate(), 1e-9);
+        assertTrue(delta.isBelowZero());
+        assertTrue(delta.getLower() < -20 && delta.getUpper() > -20);
+    }
+
+    @Test
+    public void normalQuantileMatchesTable() {
+        assertEquals(1.96, AbStatistics.normalQuantile(0.975), 0.001);
+        assertEquals(0.5, AbStatistics.normalCdf(0), 1e-7);
+    }
+
+    private static LatencyHistogram lognormal(int samples, double medianMicros, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < samples; i++) {
+            double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+            histogram.record((long) (medianMicros * Math.exp(0.3 * gaussian)));
+        }
+        return histogram;
+    }
+}
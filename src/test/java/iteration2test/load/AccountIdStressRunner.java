@@ -0,0 +1,140 @@
+package iteration2test.load;
+
+import iteration2test.TestDataFactory;
+import iteration2test.UserCredentials;
+import iteration2test.support.ConsistentHashRing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// создаёт count счетов из threads потоков и проверяет id из ответов POST /accounts:
+// каждый id выдан один раз (ConcurrentIntSet — проверка сама не становится узким местом)
+// и в пределах одного потока id только растут — запросы потока идут строго друг за другом
+public class AccountIdStressRunner {
+
+    private static final int EXAMPLES = 5;
+
+    private final ConsistentHashRing targets;
+    private final int threads;
+
+    public AccountIdStressRunner(ConsistentHashRing targets, int threads) {
+        this.targets = targets;
+        this.threads = threads;
+    }
+
+    public Result run(int count) throws InterruptedException {
+        // 1 свой юзер на поток: счета одного юзера не упираются в одну строку на сервере
+        LoadClient setup = new LoadClient(targets, new RunRecorder("ids-setup", System.nanoTime(), 1_000));
+        List<LoadSession> sessions = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            UserCredentials creds = TestDataFactory.generateUser();
+            LoadSession session = setup.createUser(creds) ? setup.login(creds) : null;
+            if (session == null) {
+                throw new IllegalStateException("Не удалось подготовить юзера для проверки id счетов");
+            }
+            sessions.add(session);
+        }
+
+        // 2 все потоки создают счета, пока не наберётся count
+        long start = System.nanoTime();
+        RunRecorder recorder = new RunRecorder("account-ids", start, 1_000);
+        LoadClient client = new LoadClient(targets, recorder);
+        Result result = new Result(count, recorder);
+        AtomicLong next = new AtomicLong();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (LoadSession session : sessions) {
+                executor.submit(() -> {
+                    int previous = -1;
+                    for (long i = next.getAndIncrement(); i < count; i = next.getAndIncrement()) {
+                        Integer id = client.createAccount(session);
+                        if (id != null) {
+                            result.check(id, previous);
+                            previous = Math.max(previous, id);
+                        }
+                    }
+                });
+            }
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    public static class Result {
+        private final ConcurrentIntSet ids;
+        private final RunRecorder recorder;
+        private final LongAdder duplicates = new LongAdder();
+        private final LongAdder nonMonotonic = new LongAdder();
+        private final AtomicLong minId = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong maxId = new AtomicLong(Long.MIN_VALUE);
+        private final List<String> examples = new ArrayList<>();
+        private long elapsedNanos;
+
+        Result(int expected, RunRecorder recorder) {
+            this.ids = new ConcurrentIntSet(expected);
+            this.recorder = recorder;
+        }
+
+        private void check(int id, int previousInThread) {
+            minId.accumulateAndGet(id, Math::min);
+            maxId.accumulateAndGet(id, Math::max);
+            if (!ids.add(id)) {
+                duplicates.increment();
+                example("id " + id + " выдан повторно");
+            }
+            if (id <= previousInThread) {
+                nonMonotonic.increment();
+                example("id " + id + " после " + previousInThread + " в том же потоке");
+            }
+        }
+
+        private void example(String text) {
+            synchronized (examples) {
+                if (examples.size() < EXAMPLES) {
+                    examples.add(text);
+                }
+            }
+        }
+
+        public long getCreated() {
+            return recorder.get(Endpoint.CREATE_ACCOUNT).getHistogram().getTotalCount();
+        }
+
+        public long getUnique() {
+            return ids.size();
+        }
+
+        public long getDuplicates() {
+            return duplicates.sum();
+        }
+
+        public long getNonMonotonic() {
+            return nonMonotonic.sum();
+        }
+
+        public long getErrors() {
+            return recorder.get(Endpoint.CREATE_ACCOUNT).getErrors();
+        }
+
+        public String describe() {
+            LatencyHistogram latency = recorder.get(Endpoint.CREATE_ACCOUNT).getHistogram();
+            long unique = getUnique();
+            // пропуски в диапазоне — это счета других клиентов сервера или откатившиеся вставки, не ошибка
+            long gaps = unique == 0 ? 0 : maxId.get() - minId.get() + 1 - unique;
+            StringBuilder sb = new StringBuilder(String.format(
+                    "счетов создано %d за %.1f с (%.0f в секунду), ошибок %d%n"
+                            + "уникальных id %d, повторов %d, нарушений роста внутри потока %d, id %d..%d, пропусков %d%n"
+                            + "задержка POST /accounts: p50 %d мкс, p99 %d мкс, max %d мкс%n",
+                    getCreated(), elapsedNanos / 1e9, getCreated() * 1e9 / Math.max(1, elapsedNanos), getErrors(),
+                    unique, getDuplicates(), getNonMonotonic(), unique == 0 ? 0 : minId.get(), unique == 0 ? 0 : maxId.get(), gaps,
+                    latency.getValueAtPercentile(50), latency.getValueAtPercentile(99), latency.getMax()));
+            synchronized (examples) {
+                examples.forEach(example -> sb.append("  ").append(example).append(System.lineSeparator()));
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package iteration2test.load;
+
+import iteration2test.support.ApiTargets;
+import iteration2test.support.TeardownExtension;
+import iteration2test.support.TestConfig;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// запуск: mvn test -Pperf -Dtest=AccountIdUniquenessTest [-Dnbank.accountIds.count=500000 -Dnbank.accountIds.threads=128]
+// сотни тысяч POST /accounts из многих потоков: ни один id не должен повториться,
+// а в пределах потока id должны только расти
+@Tag("perf")
+@ExtendWith(TeardownExtension.class)
+public class AccountIdUniquenessTest {
+
+    @Test
+    public void accountIdsStayUniqueUnderConcurrency() throws InterruptedException, IOException {
+        AccountIdStressRunner runner = new AccountIdStressRunner(ApiTargets.ring(),
+                TestConfig.getInt("nbank.accountIds.threads", 64));
+
+        AccountIdStressRunner.Result result = runner.run(TestConfig.getInt("nbank.accountIds.count", 200_000));
+
+        String report = result.describe();
+        System.out.println(report);
+        Path file = Path.of("target", "perf", "account-ids.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report, StandardCharsets.UTF_8);
+        assertEquals(0, result.getDuplicates(), "сервер выдал один id нескольким счетам:\n" + report);
+        assertEquals(0, result.getNonMonotonic(), "id счетов убывали внутри потока:\n" + report);
+    }
+}
@@ -0,0 +1,135 @@
+package iteration2test.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import iteration2test.UserCredentials;
+import iteration2test.support.ConsistentHashRing;
+import iteration2test.support.EndpointTimeouts;
+import iteration2test.support.RequestIds;
+import iteration2test.support.Teardown;
+import org.apache.http.HttpStatus;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+
+// те же вызовы, что и в LoadClient, но на java.net.http.HttpClient без блокировок:
+// метод сразу возвращает CompletableFuture, ответ разбирается в потоке клиента.
+// зависимые шаги (логин -> счёт -> депозит) сцепляются через thenCompose, поток ни на одном шаге не ждёт.
+// замер и ошибки — в тот же RunRecorder и по тем же правилам: неожиданный статус или исключение дают null/false
+public class AsyncLoadClient {
+
+    private static final String ADMIN_AUTH = "Basic YWRtaW46YWRtaW4="; // admin:admin
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final ConsistentHashRing targets;
+    private final RunRecorder recorder;
+    private final HttpClient http;
+
+    public AsyncLoadClient(ConsistentHashRing targets, RunRecorder recorder, HttpClient http) {
+        this.targets = targets;
+        this.recorder = recorder;
+        this.http = http;
+    }
+
+    public CompletableFuture<Boolean> createUser(UserCredentials creds) {
+        String apiUrl = targets.nodeFor(creds.getUsername());
+        return call(Endpoint.ADMIN_CREATE_USER, HttpStatus.SC_CREATED, apiUrl, ADMIN_AUTH,
+                BodyEncoder.acquire().createUser(creds.getUsername(), creds.getPassword()).take())
+                .thenApply(response -> {
+                    if (response == null) {
+                        return false;
+                    }
+                    JsonNode id = parse(response.body()).get("id");
+                    if (id != null && id.isNumber()) {
+                        Teardown.trackCreated(apiUrl, id.asLong());
+                    }
+                    return true;
+                });
+    }
+
+    public CompletableFuture<LoadSession> login(UserCredentials creds) {
+        String apiUrl = targets.nodeFor(creds.getUsername());
+        return call(Endpoint.LOGIN, HttpStatus.SC_OK, apiUrl, null,
+                BodyEncoder.acquire().login(creds.getUsername(), creds.getPassword()).take())
+                .thenApply(response -> response == null ? null : new LoadSession(creds.getUsername(), apiUrl,
+                        response.headers().firstValue("Authorization").orElse(null)));
+    }
+
+    public CompletableFuture<Integer> createAccount(LoadSession session) {
+        return call(Endpoint.CREATE_ACCOUNT, HttpStatus.SC_CREATED, session.getApiUrl(), session.getAuthHeader(), null)
+                .thenApply(response -> {
+                    JsonNode id = response == null ? null : parse(response.body()).get("id");
+                    return id == null ? null : id.asInt();
+                });
+    }
+
+    // amount — JSON-литерал суммы, например "4000" или "2500.50"
+    public CompletableFuture<Boolean> deposit(LoadSession session, int accountId, String amount) {
+        return call(Endpoint.DEPOSIT, HttpStatus.SC_OK, session.getApiUrl(), session.getAuthHeader(),
+                BodyEncoder.acquire().deposit(accountId, amount).take())
+                .thenApply(response -> response != null);
+    }
+
+    public CompletableFuture<Boolean> transfer(LoadSession session, int senderAccountId, int receiverAccountId, String amount) {
+        return call(Endpoint.TRANSFER, HttpStatus.SC_OK, session.getApiUrl(), session.getAuthHeader(),
+                BodyEncoder.acquire().transfer(senderAccountId, receiverAccountId, amount).take())
+                .thenApply(response -> response != null);
+    }
+
+    public CompletableFuture<Boolean> updateName(LoadSession session, String name) {
+        return call(Endpoint.UPDATE_PROFILE, HttpStatus.SC_OK, session.getApiUrl(), session.getAuthHeader(),
+                BodyEncoder.acquire().profile(name).take())
+                .thenApply(response -> response != null);
+    }
+
+    // body == null — запрос без тела (POST /accounts, GET)
+    private CompletableFuture<HttpResponse<String>> call(Endpoint endpoint, int expectedStatus, String apiUrl,
+                                                         String authHeader, byte[] body) {
+        EndpointTimeouts timeouts = EndpointTimeouts.forPath(endpoint.getPath());
+        String requestId = RequestIds.next();
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(apiUrl + endpoint.getPath()))
+                .timeout(timeouts.getTotal())
+                .header("Accept", "application/json")
+                .header(RequestIds.HEADER, requestId)
+                .method(endpoint.getMethod(), body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        if (authHeader != null) {
+            request.header("Authorization", authHeader);
+        }
+
+        EndpointRecorder endpointRecorder = recorder.get(endpoint);
+        endpointRecorder.requestStarted();
+        long start = System.nanoTime();
+        return http.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    endpointRecorder.requestFinished();
+                    if (error != null) {
+                        // отказ в соединении, таймаут, обрыв — приходят сюда же, а не исключением из sendAsync
+                        endpointRecorder.recordError();
+                        return null;
+                    }
+                    endpointRecorder.recordResponse(start, System.nanoTime() - start, requestId);
+                    if (response.statusCode() != expectedStatus) {
+                        endpointRecorder.recordError();
+                        return null;
+                    }
+                    return response;
+                });
+    }
+
+    private static JsonNode parse(String body) {
+        try {
+            return JSON.readTree(body);
+        } catch (IOException e) {
+            return JSON.missingNode();
+        }
+    }
+}
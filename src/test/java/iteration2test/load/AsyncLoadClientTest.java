@@ -0,0 +1,82 @@
+package iteration2test.load;
+
+import iteration2test.TestDataFactory;
+import iteration2test.UserCredentials;
+import iteration2test.standin.StandInCluster;
+import iteration2test.support.ApiTargets;
+import iteration2test.support.ConsistentHashRing;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncLoadClientTest {
+
+    @Test
+    @Tag("standin")
+    public void chainedStepsAgainstStandIn() {
+        try (StandInCluster cluster = StandInCluster.start(1, Duration.ZERO);
+             HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            ConsistentHashRing ring = new ConsistentHashRing(List.of(ApiTargets.apiUrlOf(cluster.baseUrls().get(0))));
+            RunRecorder recorder = new RunRecorder("async", System.nanoTime(), 1_000);
+            AsyncLoadClient client = new AsyncLoadClient(ring, recorder, http);
+            UserCredentials creds = TestDataFactory.generateUser();
+
+            // 1. юзер -> логин -> счёт -> депозит одной цепочкой
+            LoadSession session = client.createUser(creds).thenCompose(created -> client.login(creds)).join();
+            assertNotNull(session);
+            Integer accountId = client.createAccount(session).join();
+            assertNotNull(accountId);
+            assertTrue(client.deposit(session, accountId, "2500.50").join());
+
+            // 2. депозит виден обычному клиенту
+            LoadClient blocking = new LoadClient(ring, new RunRecorder("check", System.nanoTime(), 1_000));
+            assertEquals(0, new BigDecimal("2500.50").compareTo(blocking.accountBalance(session, accountId)));
+            assertEquals(1, recorder.get(Endpoint.DEPOSIT).getHistogram().getTotalCount());
+            assertEquals(0, recorder.get(Endpoint.DEPOSIT).getErrors());
+
+            // 3. неверная сумма — false и ошибка эндпоинта, а не исключение
+            assertFalse(client.deposit(session, accountId, "0").join());
+            assertEquals(1, recorder.get(Endpoint.DEPOSIT).getErrors());
+        }
+    }
+
+    @Test
+    public void unreachableNodeIsAnError() {
+        try (HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            ConsistentHashRing ring = new ConsistentHashRing(List.of("http://127.0.0.1:1/api/v1"));
+            RunRecorder recorder = new RunRecorder("async", System.nanoTime(), 1_000);
+
+            assertFalse(new AsyncLoadClient(ring, recorder, http).createUser(TestDataFactory.generateUser()).join());
+            assertEquals(1, recorder.get(Endpoint.ADMIN_CREATE_USER).getErrors());
+            assertEquals(0, recorder.get(Endpoint.ADMIN_CREATE_USER).getInFlight());
+        }
+    }
+
+    @Test
+    @Tag("standin")
+    public void asyncEngineRunsAllScenarios() {
+        try (StandInCluster cluster = StandInCluster.start(1, Duration.ZERO)) {
+            ConsistentHashRing ring = new ConsistentHashRing(List.of(ApiTargets.apiUrlOf(cluster.baseUrls().get(0))));
+
+            // 1. 30 виртуальных юзеров на двух потоках
+            RunRecorder run = new LoadRunner(ring, 30, Duration.ZERO, Duration.ofSeconds(2), List.of(Scenario.values()))
+                    .withEngine(LoadRunner.Engine.ASYNC, 2)
+                    .run("async");
+
+            // 2. все шаги всех сценариев дошли до сервера без ошибок
+            for (Endpoint endpoint : List.of(Endpoint.LOGIN, Endpoint.DEPOSIT, Endpoint.TRANSFER, Endpoint.UPDATE_PROFILE)) {
+                assertTrue(run.get(endpoint).getHistogram().getTotalCount() > 0, endpoint + "\n" + run.describe());
+                assertEquals(0, run.get(endpoint).getErrors(), endpoint + "\n" + run.describe());
+            }
+        }
+    }
+}
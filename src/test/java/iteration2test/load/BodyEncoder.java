@@ -0,0 +1,200 @@
+package iteration2test.load;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// тела запросов нагрузки без форматирования строк: неизменные куски JSON закодированы заранее,
+// в буфер кодировщика дописываются только числа и строки запроса. на запрос остаётся одна копия тела
+// точной длины (take) — отдать клиенту сам буфер нельзя, асинхронный клиент читает тело позже.
+// кодировщики лежат в общем пуле, а не в ThreadLocal: нагрузка идёт виртуальными потоками, по одному
+// на запрос, и ThreadLocal дал бы каждому свой новый буфер. кодирование не блокируется, так что
+// одновременно кодировщик держит не больше потоков, чем несущих, и пула на два кодировщика на ядро хватает
+public class BodyEncoder {
+
+    static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+    private static final AtomicReferenceArray<BodyEncoder> POOL = new AtomicReferenceArray<>(POOL_SIZE);
+
+    private static final byte[] USER_START = ascii("{\"username\":\"");
+    private static final byte[] USER_PASSWORD = ascii("\",\"password\":\"");
+    private static final byte[] USER_ROLE_END = ascii("\",\"role\":\"USER\"}");
+    private static final byte[] STRING_END = ascii("\"}");
+    private static final byte[] DEPOSIT_START = ascii("{\"id\":");
+    private static final byte[] DEPOSIT_BALANCE = ascii(",\"balance\":");
+    private static final byte[] TRANSFER_START = ascii("{\"senderAccountId\":");
+    private static final byte[] TRANSFER_RECEIVER = ascii(",\"receiverAccountId\":");
+    private static final byte[] TRANSFER_AMOUNT = ascii(",\"amount\":");
+    private static final byte[] PROFILE_START = ascii("{\"name\":\"");
+    private static final byte[] OBJECT_END = ascii("}");
+    private static final byte[] HEX = ascii("0123456789abcdef");
+
+    private byte[] buffer = new byte[128];
+    private int length;
+
+    // кодировщик из пула (пуст — новый); вернуть его в пул — take()
+    public static BodyEncoder acquire() {
+        int start = (int) (Thread.currentThread().threadId() % POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            BodyEncoder encoder = POOL.getAndSet((start + i) % POOL_SIZE, null);
+            if (encoder != null) {
+                return encoder;
+            }
+        }
+        return new BodyEncoder();
+    }
+
+    public BodyEncoder createUser(String username, String password) {
+        length = 0;
+        write(USER_START);
+        writeString(username);
+        write(USER_PASSWORD);
+        writeString(password);
+        write(USER_ROLE_END);
+        return this;
+    }
+
+    public BodyEncoder login(String username, String password) {
+        length = 0;
+        write(USER_START);
+        writeString(username);
+        write(USER_PASSWORD);
+        writeString(password);
+        write(STRING_END);
+        return this;
+    }
+
+    // amount — JSON-литерал суммы, как в LoadClient: пишется как есть
+    public BodyEncoder deposit(int accountId, String amount) {
+        length = 0;
+        write(DEPOSIT_START);
+        writeInt(accountId);
+        write(DEPOSIT_BALANCE);
+        writeLiteral(amount);
+        write(OBJECT_END);
+        return this;
+    }
+
+    public BodyEncoder transfer(int senderAccountId, int receiverAccountId, String amount) {
+        length = 0;
+        write(TRANSFER_START);
+        writeInt(senderAccountId);
+        write(TRANSFER_RECEIVER);
+        writeInt(receiverAccountId);
+        write(TRANSFER_AMOUNT);
+        writeLiteral(amount);
+        write(OBJECT_END);
+        return this;
+    }
+
+    public BodyEncoder profile(String name) {
+        length = 0;
+        write(PROFILE_START);
+        writeString(name);
+        write(STRING_END);
+        return this;
+    }
+
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, length);
+    }
+
+    // копия тела; сам кодировщик возвращается в пул, и пользоваться им после этого нельзя
+    public byte[] take() {
+        byte[] body = toByteArray();
+        int start = (int) (Thread.currentThread().threadId() % POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            if (POOL.compareAndSet((start + i) % POOL_SIZE, null, this)) {
+                break;
+            }
+        }
+        return body;
+    }
+
+    private void write(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void writeLiteral(String ascii) {
+        ensure(ascii.length());
+        for (int i = 0; i < ascii.length(); i++) {
+            buffer[length++] = (byte) ascii.charAt(i);
+        }
+    }
+
+    // цифры пишутся с конца прямо в буфер, без Integer.toString
+    private void writeInt(int value) {
+        ensure(11);
+        long rest = value;
+        if (rest < 0) {
+            buffer[length++] = '-';
+            rest = -rest;
+        }
+        int digits = 1;
+        for (long bound = 10; bound <= rest; bound *= 10) {
+            digits++;
+        }
+        for (int i = length + digits - 1; i >= length; i--) {
+            buffer[i] = (byte) ('0' + rest % 10);
+            rest /= 10;
+        }
+        length += digits;
+    }
+
+    // строка JSON в UTF-8: кавычка, обратный слэш и управляющие символы экранируются
+    private void writeString(String value) {
+        // худший случай — \\u00XX на каждый char или 3 байта UTF-8
+        ensure(value.length() * 6);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer[length++] = '\\';
+                buffer[length++] = (byte) c;
+            } else if (c < 0x20) {
+                buffer[length++] = '\\';
+                buffer[length++] = 'u';
+                buffer[length++] = '0';
+                buffer[length++] = '0';
+                buffer[length++] = HEX[c >> 4];
+                buffer[length++] = HEX[c & 0xf];
+            } else if (c < 0x80) {
+                buffer[length++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[length++] = (byte) (0xc0 | c >> 6);
+                buffer[length++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[length++] = (byte) (0xf0 | codePoint >> 18);
+                buffer[length++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                buffer[length++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                buffer[length++] = (byte) (0x80 | codePoint & 0x3f);
+            } else if (Character.isSurrogate(c)) {
+                // одинокая половинка суррогатной пары — как String.getBytes: '?'
+                buffer[length++] = '?';
+            } else {
+                buffer[length++] = (byte) (0xe0 | c >> 12);
+                buffer[length++] = (byte) (0x80 | c >> 6 & 0x3f);
+                buffer[length++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,128 @@
+package iteration2test.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class BodyEncoderTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Test
+    public void bodiesAreTheSameJsonAsTheTestsSend() throws IOException {
+        BodyEncoder encoder = new BodyEncoder();
+
+        // 1. числа, включая отрицательные и крайние, и литерал суммы как есть
+        JsonNode deposit = parse(encoder.deposit(Integer.MIN_VALUE, "2500.50"));
+        assertEquals(Integer.MIN_VALUE, deposit.get("id").asInt());
+        assertEquals(0, new BigDecimal("2500.50").compareTo(deposit.get("balance").decimalValue()));
+        JsonNode transfer = parse(encoder.transfer(0, Integer.MAX_VALUE, "1"));
+        assertEquals(0, transfer.get("senderAccountId").asInt());
+        assertEquals(Integer.MAX_VALUE, transfer.get("receiverAccountId").asInt());
+        assertEquals(1, transfer.get("amount").asInt());
+
+        // 2. строки с кавычками, управляющими символами и не-ASCII
+        String name = "Jo\"hn \\ Смит\t😀";
+        assertEquals(name, parse(encoder.profile(name)).get("name").asText());
+        JsonNode user = parse(encoder.createUser("user1", "Pass!word1"));
+        assertEquals("user1", user.get("username").asText());
+        assertEquals("USER", user.get("role").asText());
+        JsonNode login = parse(encoder.login("user1", "Pass!word1"));
+        assertEquals("Pass!word1", login.get("password").asText());
+        assertEquals(2, login.size());
+    }
+
+    @Test
+    public void bufferGrowsAndIsReused() throws IOException {
+        BodyEncoder encoder = new BodyEncoder();
+        String longName = "a".repeat(10_000) + " b";
+
+        assertEquals(longName, parse(encoder.profile(longName)).get("name").asText());
+        byte[] grown = encoder.getBuffer();
+        encoder.deposit(1, "1");
+
+        assertSame(grown, encoder.getBuffer());
+        assertEquals("{\"id\":1,\"balance\":1}", new String(encoder.toByteArray()));
+    }
+
+    @Test
+    public void virtualThreadsShareEncodersFromPool() throws InterruptedException {
+        // 1. как в LoginStormRunner: по виртуальному потоку на запрос
+        Set<BodyEncoder> used = ConcurrentHashMap.newKeySet();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10_000; i++) {
+                int id = i;
+                executor.submit(() -> {
+                    BodyEncoder encoder = BodyEncoder.acquire();
+                    used.add(encoder);
+                    assertEquals("{\"id\":" + id + ",\"balance\":1}", new String(encoder.deposit(id, "1").take()));
+                });
+            }
+        }
+
+        // 2. кодировщиков не больше пула, а не по одному на поток
+        assertTrue(used.size() <= BodyEncoder.POOL_SIZE, "кодировщиков " + used.size() + " на 10 000 потоков");
+    }
+
+    @Test
+    public void sendPathAllocatesOnlyTheBody() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported(), "JVM не считает аллокации потока");
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        // прогрев: пул заполняется, методы компилируются
+        for (int i = 0; i < 100_000; i++) {
+            encode(i);
+            format(i);
+        }
+
+        // 1. путь, которым тело уходит в LoadClient: кодировщик из пула и копия точной длины
+        long before = bean.getThreadAllocatedBytes(thread);
+        long bodies = 0;
+        for (int i = 0; i < 100_000; i++) {
+            bodies += encode(i);
+        }
+        long encoded = bean.getThreadAllocatedBytes(thread) - before;
+
+        // 2. те же тела через String.formatted
+        before = bean.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 100_000; i++) {
+            format(i);
+        }
+        long formatted = bean.getThreadAllocatedBytes(thread) - before;
+
+        // 3. на тело — только сам массив: байты, заголовок и выравнивание, без буферов и строк
+        assertTrue(encoded < bodies + 200_000L * 24 + 64 * 1024,
+                "на 200 000 тел в " + bodies + " байт выделено " + encoded);
+        assertTrue(encoded * 4 < formatted, "кодировщик " + encoded + " байт, String.formatted " + formatted);
+    }
+
+    private static long encode(int i) {
+        return BodyEncoder.acquire().transfer(i, -i, "2500.50").take().length
+                + BodyEncoder.acquire().profile("Johnswd Smith").take().length;
+    }
+
+    private static long format(int i) {
+        return "{\"senderAccountId\":%d,\"receiverAccountId\":%d,\"amount\":%s}".formatted(i, -i, "2500.50")
+                .getBytes(StandardCharsets.UTF_8).length
+                + "{\"name\":\"%s\"}".formatted("Johnswd Smith").getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static JsonNode parse(BodyEncoder encoder) throws IOException {
+        return JSON.readTree(encoder.getBuffer(), 0, encoder.getLength());
+    }
+}
@@ -0,0 +1,135 @@
+package iteration2test.load;
+
+import java.util.function.DoubleUnaryOperator;
+
+// подбирает, как задержка растёт с размером данных: y = a + b·f(n) для f = 1, log n, n, n².
+// каждая модель — наименьшие квадраты с b >= 0, лучшая — по BIC (штраф за лишний параметр),
+// чтобы на шумных точках константа не проигрывала линейной модели просто из-за подгонки
+public final class ComplexityFit {
+
+    public enum Model {
+        CONSTANT(n -> 0, 1),
+        LOG(n -> Math.log(n), 2),
+        LINEAR(n -> n, 2),
+        QUADRATIC(n -> n * n, 2);
+
+        private final DoubleUnaryOperator f;
+        private final int parameters;
+
+        Model(DoubleUnaryOperator f, int parameters) {
+            this.f = f;
+            this.parameters = parameters;
+        }
+
+        public boolean isSuperlinear() {
+            return this == QUADRATIC;
+        }
+    }
+
+    private ComplexityFit() {
+    }
+
+    // sizes > 0; latencies — например p50 в мкс на каждом размере
+    public static Fit best(double[] sizes, double[] latencies) {
+        Fit best = null;
+        for (Model model : Model.values()) {
+            Fit fit = fit(model, sizes, latencies);
+            if (best == null || fit.bic < best.bic) {
+                best = fit;
+            }
+        }
+        return best;
+    }
+
+    public static Fit fit(Model model, double[] sizes, double[] latencies) {
+        int n = sizes.length;
+        double[] x = new double[n];
+        double xMean = 0;
+        double yMean = 0;
+        for (int i = 0; i < n; i++) {
+            x[i] = model.f.applyAsDouble(sizes[i]);
+            xMean += x[i] / n;
+            yMean += latencies[i] / n;
+        }
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < n; i++) {
+            covariance += (x[i] - xMean) * (latencies[i] - yMean);
+            variance += (x[i] - xMean) * (x[i] - xMean);
+        }
+        // убывающая задержка — это не сложность, а шум или прогрев: такая модель вырождается в константу
+        double b = variance == 0 ? 0 : Math.max(0, covariance / variance);
+        double a = yMean - b * xMean;
+        double rss = 0;
+        for (int i = 0; i < n; i++) {
+            double residual = latencies[i] - (a + b * x[i]);
+            rss += residual * residual;
+        }
+        // точное совпадение дало бы log(0): ограничиваем остаток снизу долей от масштаба задержек
+        double floor = 1e-9 * n * Math.max(1, yMean * yMean);
+        double bic = n * Math.log(Math.max(rss, floor) / n) + model.parameters * Math.log(n);
+        return new Fit(model, a, b, rss, bic, min(sizes), max(sizes));
+    }
+
+    private static double min(double[] values) {
+        double min = Double.MAX_VALUE;
+        for (double value : values) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    private static double max(double[] values) {
+        double max = -Double.MAX_VALUE;
+        for (double value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    public static class Fit {
+        private final Model model;
+        private final double intercept;
+        private final double slope;
+        private final double rss;
+        private final double bic;
+        private final double minSize;
+        private final double maxSize;
+
+        Fit(Model model, double intercept, double slope, double rss, double bic, double minSize, double maxSize) {
+            this.model = model;
+            this.intercept = intercept;
+            this.slope = slope;
+            this.rss = rss;
+            this.bic = bic;
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+        }
+
+        public Model getModel() {
+            return model;
+        }
+
+        public double predict(double size) {
+            return intercept + slope * model.f.applyAsDouble(size);
+        }
+
+        // во сколько раз модель выросла от меньшего размера к большему
+        public double getGrowth() {
+            return predict(maxSize) / Math.max(1e-9, predict(minSize));
+        }
+
+        public double getRss() {
+            return rss;
+        }
+
+        public String describe() {
+            return switch (model) {
+                case CONSTANT -> "O(1): %.0f мкс".formatted(intercept);
+                case LOG -> "O(log n): %.0f + %.2f·ln n мкс".formatted(intercept, slope);
+                case LINEAR -> "O(n): %.0f + %.4f·n мкс".formatted(intercept, slope);
+                case QUADRATIC -> "O(n²): %.0f + %.6f·n² мкс".formatted(intercept, slope);
+            } + ", рост на диапазоне x%.2f".formatted(getGrowth());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package iteration2test.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ComplexityFitTest {
+
+    private static final double[] SIZES = {1, 10, 100, 1_000, 5_000};
+
+    @Test
+    public void recognisesEachModelUnderNoise() {
+        // 1. задержка с шумом ±5% вокруг каждой из моделей
+        assertEquals(ComplexityFit.Model.CONSTANT, best(n -> 20_000));
+        assertEquals(ComplexityFit.Model.LOG, best(n -> 20_000 + 3_000 * Math.log(n)));
+        assertEquals(ComplexityFit.Model.LINEAR, best(n -> 20_000 + 40 * n));
+        assertEquals(ComplexityFit.Model.QUADRATIC, best(n -> 20_000 + 0.01 * n * n));
+
+        // 2. только квадратичная считается сверхлинейной
+        assertTrue(ComplexityFit.Model.QUADRATIC.isSuperlinear());
+        assertFalse(ComplexityFit.Model.LINEAR.isSuperlinear());
+    }
+
+    @Test
+    public void fallingLatencyIsConstant() {
+        // прогрев: первая точка медленнее остальных — это не отрицательная сложность
+        ComplexityFit.Fit fit = ComplexityFit.best(SIZES, new double[]{60_000, 21_000, 20_000, 20_500, 19_800});
+
+        assertFalse(fit.getModel().isSuperlinear(), fit.describe());
+        assertTrue(fit.getGrowth() <= 1.0 + 1e-9, fit.describe());
+    }
+
+    @Test
+    public void growthIsMeasuredOverSampledRange() {
+        ComplexityFit.Fit fit = ComplexityFit.fit(ComplexityFit.Model.LINEAR, SIZES,
+                new double[]{1_010, 1_100, 2_000, 11_000, 51_000});
+
+        assertEquals(51_000 / 1_010.0, fit.getGrowth(), 0.5);
+    }
+
+    private static ComplexityFit.Model best(DoubleUnaryOperator latency) {
+        SplittableRandom random = new SplittableRandom(7);
+        double[] latencies = new double[SIZES.length];
+        for (int i = 0; i < SIZES.length; i++) {
+            latencies[i] = latency.applyAsDouble(SIZES[i]) * (0.95 + 0.1 * random.nextDouble());
+        }
+        return ComplexityFit.best(SIZES, latencies).getModel();
+    }
+}
@@ -0,0 +1,73 @@
+package iteration2test.load;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// множество неотрицательных int без блокировок и без Integer: открытая адресация в AtomicIntegerArray,
+// вставка — CAS пустой ячейки. 0 в ячейке значит «пусто», поэтому хранится value + 1.
+// ёмкость фиксированная (степень двойки, вдвое больше ожидаемого), удалений нет
+public class ConcurrentIntSet {
+
+    private static final int EMPTY = 0;
+
+    private final AtomicIntegerArray slots;
+    private final int mask;
+    private final int maxSize;
+    private final LongAdder size = new LongAdder();
+
+    public ConcurrentIntSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(2, expectedSize) * 2 - 1) << 1;
+        this.slots = new AtomicIntegerArray(capacity);
+        this.mask = capacity - 1;
+        this.maxSize = capacity - capacity / 4;
+    }
+
+    // true — значение новое, false — уже было
+    public boolean add(int value) {
+        if (value < 0 || value == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Поддерживаются только 0.." + (Integer.MAX_VALUE - 1) + ": " + value);
+        }
+        int stored = value + 1;
+        for (int index = mix(value) & mask, probes = 0; probes <= mask; index = (index + 1) & mask, probes++) {
+            int current = slots.get(index);
+            if (current == EMPTY) {
+                if (slots.compareAndSet(index, EMPTY, stored)) {
+                    size.increment();
+                    if (size.sum() > maxSize) {
+                        throw new IllegalStateException("Множество переполнено: больше " + maxSize + " значений");
+                    }
+                    return true;
+                }
+                current = slots.get(index);
+            }
+            if (current == stored) {
+                return false;
+            }
+        }
+        throw new IllegalStateException("Множество заполнено целиком");
+    }
+
+    public boolean contains(int value) {
+        int stored = value + 1;
+        for (int index = mix(value) & mask, probes = 0; probes <= mask; index = (index + 1) & mask, probes++) {
+            int current = slots.get(index);
+            if (current == EMPTY) {
+                return false;
+            }
+            if (current == stored) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long size() {
+        return size.sum();
+    }
+
+    // id идут подряд: без перемешивания соседние значения выстраиваются в длинные цепочки проб
+    private static int mix(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,75 @@
+package iteration2test.load;
+
+import iteration2test.standin.StandInCluster;
+import iteration2test.support.ApiTargets;
+import iteration2test.support.ConsistentHashRing;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentIntSetTest {
+
+    @Test
+    public void everyValueIsNewExactlyOnceAcrossThreads() throws InterruptedException {
+        ConcurrentIntSet set = new ConcurrentIntSet(200_000);
+        LongAdder added = new LongAdder();
+
+        // 1. восемь потоков вставляют пересекающиеся диапазоны: каждое значение «новое» ровно один раз
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                int offset = t * 10_000;
+                executor.submit(() -> {
+                    for (int v = offset; v < offset + 100_000; v++) {
+                        if (set.add(v)) {
+                            added.increment();
+                        }
+                    }
+                });
+            }
+        }
+        assertEquals(170_000, added.sum());
+        assertEquals(170_000, set.size());
+
+        // 2. повтор и отсутствующее значение
+        assertFalse(set.add(0));
+        assertTrue(set.contains(169_999));
+        assertFalse(set.contains(170_000));
+    }
+
+    @Test
+    public void rejectsWhatItCannotHold() {
+        ConcurrentIntSet set = new ConcurrentIntSet(4);
+
+        assertThrows(IllegalArgumentException.class, () -> set.add(-1));
+        assertThrows(IllegalStateException.class, () -> {
+            for (int v = 0; v < 100; v++) {
+                set.add(v);
+            }
+        });
+    }
+
+    @Test
+    @Tag("standin")
+    public void accountIdsAreUniqueAgainstStandIn() throws InterruptedException {
+        try (StandInCluster cluster = StandInCluster.start(2, Duration.ZERO)) {
+            ConsistentHashRing ring = new ConsistentHashRing(cluster.baseUrls().stream().map(ApiTargets::apiUrlOf).toList());
+
+            AccountIdStressRunner.Result result = new AccountIdStressRunner(ring, 8).run(400);
+
+            assertEquals(400, result.getCreated(), result.describe());
+            assertEquals(400, result.getUnique(), result.describe());
+            assertEquals(0, result.getDuplicates(), result.describe());
+            assertEquals(0, result.getNonMonotonic(), result.describe());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package iteration2test.load;
+
+public class ConfidenceInterval {
+
+    private final double estimate;
+    private final double lower;
+    private final double upper;
+
+    public ConfidenceInterval(double estimate, double lower, double upper) {
+        this.estimate = estimate;
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    public double getEstimate() {
+        return estimate;
+    }
+
+    public double getLower() {
+        return lower;
+    }
+
+    public double getUpper() {
+        return upper;
+    }
+
+    public boolean isAboveZero() {
+        return lower > 0;
+    }
+
+    public boolean isBelowZero() {
+        return upper < 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.1f [%.1f; %.1f]", estimate, lower, upper);
+    }
+}
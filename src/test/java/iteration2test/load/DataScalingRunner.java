@@ -0,0 +1,253 @@
+package iteration2test.load;
+
+import iteration2test.TestDataFactory;
+import iteration2test.UserCredentials;
+import iteration2test.support.ConsistentHashRing;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// растит данные по шагам и на каждом размере меряет чтение и запись:
+// ACCOUNTS_PER_USER — число счетов у юзера, TRANSACTIONS_PER_ACCOUNT — длина истории одного счёта,
+// TOTAL_USERS — число юзеров, созданных прогоном (на общем сервере к ним добавляются чужие).
+// рост идёт через тот же API, но в отдельный RunRecorder, так что в замеры попадают только samples запросов на точку
+public class DataScalingRunner {
+
+    // счёт-источник переводов пополняется заранее, чтобы переводы по копейке с него проходили на любом размере
+    private static final String TOP_UP = "5000";
+    private static final String CENT = "0.01";
+
+    public enum Dimension {
+        ACCOUNTS_PER_USER(List.of(Endpoint.GET_ACCOUNTS, Endpoint.DEPOSIT, Endpoint.TRANSFER)),
+        TRANSACTIONS_PER_ACCOUNT(List.of(Endpoint.GET_ACCOUNTS, Endpoint.DEPOSIT, Endpoint.TRANSFER)),
+        TOTAL_USERS(List.of(Endpoint.LOGIN, Endpoint.ADMIN_CREATE_USER, Endpoint.GET_ACCOUNTS));
+
+        private final List<Endpoint> measured;
+
+        Dimension(List<Endpoint> measured) {
+            this.measured = measured;
+        }
+
+        public List<Endpoint> getMeasured() {
+            return measured;
+        }
+    }
+
+    private final ConsistentHashRing targets;
+    private final int samples;
+
+    public DataScalingRunner(ConsistentHashRing targets, int samples) {
+        this.targets = targets;
+        this.samples = samples;
+    }
+
+    // sizes — по возрастанию, данные только добавляются
+    public Result run(Dimension dimension, List<Integer> sizes) {
+        return dimension == Dimension.TOTAL_USERS ? runUsers(sizes) : runOneUser(dimension, sizes);
+    }
+
+    private Result runOneUser(Dimension dimension, List<Integer> sizes) {
+        LoadClient growth = new LoadClient(targets, new RunRecorder("scaling-growth", System.nanoTime(), 1_000));
+        boolean byAccounts = dimension == Dimension.ACCOUNTS_PER_USER;
+
+        // 1 по счетам — юзер с двумя счетами, деньги на первом, запись замера идёт в его же счета.
+        // по истории — юзер с одним растущим счётом, а запись замера делает отдельный юзер: иначе
+        // его депозиты и переводы попали бы в ответ GET /customer/accounts и размер точки поплыл бы
+        Owner owner = prepare(growth, byAccounts ? 2 : 1);
+        Owner writer = byAccounts ? owner : prepare(growth, 2);
+        List<Integer> accounts = owner.accounts;
+        long transactions = 0;
+
+        Result result = new Result(dimension);
+        SplittableRandom random = new SplittableRandom(sizes.hashCode());
+        for (int size : sizes) {
+            // 2 доращиваем данные до размера точки
+            if (byAccounts) {
+                while (accounts.size() < size) {
+                    Integer accountId = growth.createAccount(owner.session);
+                    if (accountId == null) {
+                        throw new IllegalStateException("Не удалось создать счёт " + (accounts.size() + 1) + " из " + size);
+                    }
+                    accounts.add(accountId);
+                }
+            } else {
+                for (; transactions < size; transactions++) {
+                    if (!growth.deposit(owner.session, accounts.get(0), CENT)) {
+                        throw new IllegalStateException("Не удалось положить транзакцию " + (transactions + 1) + " из " + size);
+                    }
+                }
+            }
+
+            // на точке 1 счетов уже два — под перевод нужен второй, поэтому в отчёт идёт фактический размер
+            int actualSize = byAccounts ? accounts.size() : (int) transactions;
+
+            // 3 замер: чтение списка счетов, депозит и перевод. по счетам запись идёт на случайный счёт,
+            // который сервер ищет среди всех счетов юзера; по истории — на счёт второго юзера
+            RunRecorder recorder = new RunRecorder(dimension + "-" + size, System.nanoTime(), 1_000);
+            LoadClient measured = new LoadClient(targets, recorder);
+            for (int i = 0; i < samples; i++) {
+                int target = byAccounts
+                        ? accounts.get(1 + random.nextInt(accounts.size() - 1))
+                        : writer.accounts.get(1);
+                measured.accountBalance(owner.session, byAccounts ? target : accounts.get(0));
+                measured.deposit(writer.session, target, CENT);
+                measured.transfer(writer.session, writer.accounts.get(0), target, CENT);
+            }
+            result.points.add(new Point(actualSize, recorder, dimension.getMeasured()));
+        }
+        return result;
+    }
+
+    // юзер с accountCount счетами; первый пополняется под переводы замера
+    private Owner prepare(LoadClient growth, int accountCount) {
+        UserCredentials creds = TestDataFactory.generateUser();
+        LoadSession session = growth.createUser(creds) ? growth.login(creds) : null;
+        List<Integer> accounts = new ArrayList<>();
+        for (int i = 0; i < accountCount && session != null; i++) {
+            Integer accountId = growth.createAccount(session);
+            if (accountId != null) {
+                accounts.add(accountId);
+            }
+        }
+        if (accounts.size() < accountCount || (accountCount > 1 && !growth.deposit(session, accounts.get(0), TOP_UP))) {
+            throw new IllegalStateException("Не удалось подготовить юзера для замера роста данных");
+        }
+        return new Owner(session, accounts);
+    }
+
+    private Result runUsers(List<Integer> sizes) {
+        LoadClient growth = new LoadClient(targets, new RunRecorder("scaling-growth", System.nanoTime(), 1_000));
+        List<UserCredentials> users = new ArrayList<>();
+        Result result = new Result(Dimension.TOTAL_USERS);
+        SplittableRandom random = new SplittableRandom(sizes.hashCode());
+        for (int size : sizes) {
+            // 1 доращиваем число юзеров
+            while (users.size() < size) {
+                UserCredentials creds = TestDataFactory.generateUser();
+                if (!growth.createUser(creds)) {
+                    throw new IllegalStateException("Не удалось создать юзера " + (users.size() + 1) + " из " + size);
+                }
+                users.add(creds);
+            }
+            int before = users.size();
+
+            // 2 замер: логин случайным юзером, чтение его счетов и создание ещё одного юзера
+            RunRecorder recorder = new RunRecorder(Dimension.TOTAL_USERS + "-" + size, System.nanoTime(), 1_000);
+            LoadClient measured = new LoadClient(targets, recorder);
+            for (int i = 0; i < samples; i++) {
+                LoadSession session = measured.login(users.get(random.nextInt(users.size())));
+                if (session != null) {
+                    measured.accountBalance(session, 0);
+                }
+                UserCredentials creds = TestDataFactory.generateUser();
+                if (measured.createUser(creds)) {
+                    users.add(creds);
+                }
+            }
+            // каждый замер сам добавляет юзера, поэтому в отчёт идёт размер в середине точки
+            result.points.add(new Point((before + users.size()) / 2, recorder, Dimension.TOTAL_USERS.getMeasured()));
+        }
+        return result;
+    }
+
+    private static class Owner {
+        private final LoadSession session;
+        private final List<Integer> accounts;
+
+        Owner(LoadSession session, List<Integer> accounts) {
+            this.session = session;
+            this.accounts = accounts;
+        }
+    }
+
+    public static class Point {
+        private final int size;
+        private final Map<Endpoint, LatencyHistogram> latency = new EnumMap<>(Endpoint.class);
+        private final long errors;
+
+        Point(int size, RunRecorder recorder, List<Endpoint> measured) {
+            this.size = size;
+            long errorCount = 0;
+            for (Endpoint endpoint : measured) {
+                latency.put(endpoint, recorder.get(endpoint).getHistogram());
+                errorCount += recorder.get(endpoint).getErrors();
+            }
+            this.errors = errorCount;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public LatencyHistogram getLatency(Endpoint endpoint) {
+            return latency.get(endpoint);
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+    }
+
+    public static class Result {
+        private final Dimension dimension;
+        private final List<Point> points = new ArrayList<>();
+
+        Result(Dimension dimension) {
+            this.dimension = dimension;
+        }
+
+        public Dimension getDimension() {
+            return dimension;
+        }
+
+        public List<Point> getPoints() {
+            return points;
+        }
+
+        // лучшая модель роста p50 по размеру для каждого эндпоинта; нужно хотя бы три точки
+        public Map<Endpoint, ComplexityFit.Fit> fits() {
+            Map<Endpoint, ComplexityFit.Fit> fits = new EnumMap<>(Endpoint.class);
+            if (points.size() < 3) {
+                return fits;
+            }
+            double[] sizes = points.stream().mapToDouble(Point::getSize).toArray();
+            for (Endpoint endpoint : dimension.getMeasured()) {
+                double[] latencies = points.stream()
+                        .mapToDouble(point -> point.getLatency(endpoint).getValueAtPercentile(50))
+                        .toArray();
+                fits.put(endpoint, ComplexityFit.best(sizes, latencies));
+            }
+            return fits;
+        }
+
+        public long getErrors() {
+            return points.stream().mapToLong(Point::getErrors).sum();
+        }
+
+        // рост p50 к предыдущей точке рядом с ростом размера: при линейной деградации они близки
+        public String describe() {
+            StringBuilder sb = new StringBuilder(dimension + System.lineSeparator());
+            sb.append(String.format("%-15s %8s %9s %9s %9s %10s %7s%n",
+                    "эндпоинт", "размер", "p50 мкс", "p99 мкс", "max мкс", "x размер", "x p50"));
+            for (Endpoint endpoint : dimension.getMeasured()) {
+                Point previous = null;
+                for (Point point : points) {
+                    LatencyHistogram latency = point.getLatency(endpoint);
+                    String sizeGrowth = previous == null ? "-" : String.format("%.1f", (double) point.size / previous.size);
+                    String latencyGrowth = previous == null ? "-" : String.format("%.2f",
+                            (double) latency.getValueAtPercentile(50)
+                                    / Math.max(1, previous.getLatency(endpoint).getValueAtPercentile(50)));
+                    sb.append(String.format("%-15s %8d %9d %9d %9d %10s %7s%n", endpoint, point.size,
+                            latency.getValueAtPercentile(50), latency.getValueAtPercentile(99), latency.getMax(),
+                            sizeGrowth, latencyGrowth));
+                    previous = point;
+                }
+            }
+            fits().forEach((endpoint, fit) -> sb.append(String.format("%-17s %s%n", endpoint, fit.describe())));
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package iteration2test.load;
+
+import iteration2test.standin.StandInCluster;
+import iteration2test.support.ApiTargets;
+import iteration2test.support.ConsistentHashRing;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("standin")
+public class DataScalingRunnerTest {
+
+    @Test
+    public void everySizeGetsItsOwnSamples() {
+        try (StandInCluster cluster = StandInCluster.start(1, Duration.ZERO)) {
+            DataScalingRunner runner = new DataScalingRunner(
+                    new ConsistentHashRing(List.of(ApiTargets.apiUrlOf(cluster.baseUrls().get(0)))), 3);
+
+            for (DataScalingRunner.Dimension dimension : DataScalingRunner.Dimension.values()) {
+                DataScalingRunner.Result result = runner.run(dimension, List.of(1, 5, 20));
+
+                assertEquals(0, result.getErrors(), result.describe());
+                // 1. рост идёт мимо замера: в каждой точке ровно samples запросов каждого вида
+                assertEquals(3, result.getPoints().size());
+                for (DataScalingRunner.Point point : result.getPoints()) {
+                    for (Endpoint endpoint : dimension.getMeasured()) {
+                        assertEquals(3, point.getLatency(endpoint).getTotalCount(), dimension + " " + point.getSize());
+                    }
+                }
+                // 2. на точке 1 у юзера уже два счёта; запись замера историю не удлиняет,
+                // а юзеров добавляет — их размер берётся в середине точки: 1..4, 5..8, 20..23
+                List<Integer> sizes = result.getPoints().stream().map(DataScalingRunner.Point::getSize).toList();
+                List<Integer> expected = switch (dimension) {
+                    case ACCOUNTS_PER_USER -> List.of(2, 5, 20);
+                    case TRANSACTIONS_PER_ACCOUNT -> List.of(1, 5, 20);
+                    case TOTAL_USERS -> List.of(2, 6, 21);
+                };
+                assertEquals(expected, sizes, result.describe());
+                // 3. по трём точкам для каждого эндпоинта подобрана модель
+                assertEquals(dimension.getMeasured().size(), result.fits().size());
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package iteration2test.load;
+
+import iteration2test.support.ApiTargets;
+import iteration2test.support.TeardownExtension;
+import iteration2test.support.TestConfig;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// запуск: mvn test -Pperf -Dtest=DataScalingTest [-Dnbank.scaling.accountSizes=1,10,100,1000,3000]
+// один юзер дорастает до сотен счетов, один счёт — до длинной истории, сервер — до тысяч юзеров;
+// на каждом размере чтение и запись. по p50 подбирается модель роста (O(1), O(log n), O(n), O(n²)),
+// и тест падает, если эндпоинт растёт как O(n²) и заметно: больше чем в nbank.complexity.maxSuperlinearGrowth раз
+@Tag("perf")
+@ExtendWith(TeardownExtension.class)
+public class DataScalingTest {
+
+    @ParameterizedTest
+    @EnumSource(DataScalingRunner.Dimension.class)
+    public void latencyAgainstDataVolume(DataScalingRunner.Dimension dimension) throws IOException {
+        DataScalingRunner runner = new DataScalingRunner(ApiTargets.ring(), TestConfig.getInt("nbank.scaling.samples", 50));
+
+        DataScalingRunner.Result result = runner.run(dimension, sizes(dimension));
+
+        String report = result.describe();
+        System.out.println(report);
+        Path file = Path.of("target", "perf", "data-scaling.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        assertEquals(0, result.getErrors(), "запросы замера падали:\n" + report);
+
+        double maxGrowth = TestConfig.getDouble("nbank.complexity.maxSuperlinearGrowth", 1.5);
+        List<String> superlinear = new ArrayList<>();
+        result.fits().forEach((endpoint, fit) -> {
+            if (fit.getModel().isSuperlinear() && fit.getGrowth() > maxGrowth) {
+                superlinear.add(endpoint + " " + fit.describe());
+            }
+        });
+        assertTrue(superlinear.isEmpty(), "задержка растёт быстрее линейной по " + dimension + ":\n"
+                + String.join("\n", superlinear) + "\n" + report);
+    }
+
+    private static List<Integer> sizes(DataScalingRunner.Dimension dimension) {
+        List<String> sizes = switch (dimension) {
+            case ACCOUNTS_PER_USER -> TestConfig.getList("nbank.scaling.accountSizes", "1,10,100,1000");
+            case TRANSACTIONS_PER_ACCOUNT -> TestConfig.getList("nbank.scaling.historySizes", "1,10,100,1000,5000");
+            case TOTAL_USERS -> TestConfig.getList("nbank.scaling.userSizes", "10,100,1000,3000");
+        };
+        return sizes.stream().map(Integer::parseInt).toList();
+    }
+}
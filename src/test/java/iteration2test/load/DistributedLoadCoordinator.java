@@ -0,0 +1,108 @@
+package iteration2test.load;
+
+import iteration2test.support.TestConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// распределённая нагрузка на одной машине: N JVM-воркеров (LoadWorker) с непересекающимися пулами юзеров,
+// результаты каждого пишутся в файл и сливаются в один прогон без потерь
+public class DistributedLoadCoordinator {
+
+    private final int workers;
+    private final Path workDir;
+    private final Map<String, String> properties = new LinkedHashMap<>();
+    private final List<String> jvmArgs;
+
+    public DistributedLoadCoordinator(int workers, Path workDir) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Нужен хотя бы один воркер");
+        }
+        this.workers = workers;
+        this.workDir = workDir;
+        this.jvmArgs = TestConfig.getList("nbank.load.workerJvmArgs", "");
+        // воркеры видят те же -Dnbank.* настройки, что и координатор
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("nbank."))
+                .forEach(name -> properties.put(name, System.getProperty(name)));
+    }
+
+    public DistributedLoadCoordinator withProperty(String name, String value) {
+        properties.put(name, value);
+        return this;
+    }
+
+    public RunRecorder run(String label) throws IOException, InterruptedException {
+        Files.createDirectories(workDir);
+        Duration startDelay = seconds("nbank.load.workerStartDelaySeconds", 5);
+        long startAt = System.currentTimeMillis() + startDelay.toMillis();
+
+        List<Process> processes = new ArrayList<>();
+        List<Path> outputs = new ArrayList<>();
+        try {
+            for (int i = 0; i < workers; i++) {
+                Path output = workDir.resolve("worker-" + i + ".properties");
+                Files.deleteIfExists(output);
+                outputs.add(output);
+                processes.add(new ProcessBuilder(command(i, output, startAt))
+                        .redirectErrorStream(true)
+                        .redirectOutput(workDir.resolve("worker-" + i + ".log").toFile())
+                        .start());
+            }
+
+            long runMillis = startDelay.toMillis()
+                    + seconds("nbank.load.warmupSeconds", 10).toMillis()
+                    + seconds("nbank.load.durationSeconds", 60).toMillis()
+                    + TimeUnit.SECONDS.toMillis(60);
+            long deadline = System.currentTimeMillis() + runMillis;
+            for (int i = 0; i < workers; i++) {
+                Process process = processes.get(i);
+                long left = Math.max(0, deadline - System.currentTimeMillis());
+                if (!process.waitFor(left, TimeUnit.MILLISECONDS)) {
+                    throw new IllegalStateException("Воркер " + i + " не уложился в " + runMillis + " мс, лог: "
+                            + workDir.resolve("worker-" + i + ".log"));
+                }
+                if (process.exitValue() != 0 || !Files.exists(outputs.get(i))) {
+                    throw new IllegalStateException("Воркер " + i + " завершился с кодом " + process.exitValue()
+                            + ", лог: " + workDir.resolve("worker-" + i + ".log"));
+                }
+            }
+        } finally {
+            processes.forEach(Process::destroyForcibly);
+        }
+
+        List<RunRecorder> runs = new ArrayList<>();
+        for (Path output : outputs) {
+            runs.add(RunRecorder.load(output));
+        }
+        return RunRecorder.merge(label, runs);
+    }
+
+    // с учётом переопределений через withProperty
+    private Duration seconds(String name, long defaultSeconds) {
+        String value = properties.get(name);
+        return value != null ? Duration.ofSeconds(Long.parseLong(value)) : TestConfig.getSeconds(name, defaultSeconds);
+    }
+
+    private List<String> command(int index, Path output, long startAt) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        properties.forEach((name, value) -> command.add("-D" + name + "=" + value));
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(LoadWorker.class.getName());
+        command.add(Integer.toString(index));
+        command.add(Integer.toString(workers));
+        command.add(output.toAbsolutePath().toString());
+        command.add(Long.toString(startAt));
+        return command;
+    }
+}
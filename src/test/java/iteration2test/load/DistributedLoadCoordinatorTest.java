@@ -0,0 +1,41 @@
+package iteration2test.load;
+
+import iteration2test.standin.StandInCluster;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("standin")
+public class DistributedLoadCoordinatorTest {
+
+    @Test
+    public void workerResultsAreMergedIntoOneRun() throws IOException, InterruptedException {
+        try (StandInCluster cluster = StandInCluster.start(1, Duration.ZERO)) {
+            Path workDir = Path.of("target", "perf", "distributed-test");
+
+            RunRecorder merged = new DistributedLoadCoordinator(2, workDir)
+                    .withProperty("nbank.baseUrls", cluster.baseUrls().get(0))
+                    .withProperty("nbank.load.users", "2")
+                    .withProperty("nbank.load.warmupSeconds", "0")
+                    .withProperty("nbank.load.durationSeconds", "2")
+                    .withProperty("nbank.load.workerStartDelaySeconds", "2")
+                    .run("2 JVM");
+
+            RunRecorder first = RunRecorder.load(workDir.resolve("worker-0.properties"));
+            RunRecorder second = RunRecorder.load(workDir.resolve("worker-1.properties"));
+            for (Endpoint endpoint : Endpoint.values()) {
+                assertEquals(first.get(endpoint).getHistogram().getTotalCount() + second.get(endpoint).getHistogram().getTotalCount(),
+                        merged.get(endpoint).getHistogram().getTotalCount());
+            }
+            assertTrue(first.get(Endpoint.LOGIN).getHistogram().getTotalCount() > 0);
+            assertTrue(second.get(Endpoint.LOGIN).getHistogram().getTotalCount() > 0);
+            assertEquals(0, merged.get(Endpoint.ADMIN_CREATE_USER).getErrors(), "пулы юзеров пересеклись");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package iteration2test.load;
+
+import iteration2test.support.TestConfig;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// запуск: mvn test -Pperf -Dtest=DistributedLoadTest -Dnbank.load.workers=4 -Dnbank.load.users=50
+// каждый воркер — отдельная JVM со своими nbank.load.users виртуальными юзерами
+@Tag("perf")
+public class DistributedLoadTest {
+
+    @Test
+    public void distributedLoadAcrossLocalJvms() throws IOException, InterruptedException {
+        int workers = TestConfig.getInt("nbank.load.workers", 4);
+        Path workDir = Path.of("target", "perf", "distributed");
+
+        RunRecorder merged = new DistributedLoadCoordinator(workers, workDir).run(workers + " JVM");
+        merged.save(workDir.resolve("merged.properties"));
+
+        System.out.println(merged.describe());
+    }
+}
@@ -0,0 +1,28 @@
+package iteration2test.load;
+
+public enum Endpoint {
+
+    ADMIN_CREATE_USER("POST", "/admin/users"),
+    LOGIN("POST", "/auth/login"),
+    CREATE_ACCOUNT("POST", "/accounts"),
+    DEPOSIT("POST", "/accounts/deposit"),
+    TRANSFER("POST", "/accounts/transfer"),
+    UPDATE_PROFILE("PUT", "/customer/profile"),
+    GET_ACCOUNTS("GET", "/customer/accounts");
+
+    private final String method;
+    private final String path;
+
+    Endpoint(String method, String path) {
+        this.method = method;
+        this.path = path;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+}
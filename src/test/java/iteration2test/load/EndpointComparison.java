@@ -0,0 +1,94 @@
+package iteration2test.load;
+
+// сравнение одного эндпоинта между базовым прогоном (A) и кандидатом (B)
+public class EndpointComparison {
+
+    public enum Verdict {
+        REGRESSION,
+        IMPROVEMENT,
+        NO_SIGNIFICANT_CHANGE,
+        NOT_ENOUGH_DATA
+    }
+
+    private static final long MIN_SAMPLES = 20;
+
+    private final Endpoint endpoint;
+    private final LatencyHistogram baseline;
+    private final LatencyHistogram candidate;
+    private final ConfidenceInterval latencyShift;
+    private final double pValue;
+    private final double baselineThroughput;
+    private final ConfidenceInterval throughputDelta;
+    private final Verdict verdict;
+
+    EndpointComparison(Endpoint endpoint, EndpointRecorder a, EndpointRecorder b,
+                       double confidence, double minEffect) {
+        this.endpoint = endpoint;
+        this.baseline = a.getHistogram();
+        this.candidate = b.getHistogram();
+        this.latencyShift = AbStatistics.hodgesLehmannShift(baseline, candidate, confidence);
+        this.pValue = AbStatistics.mannWhitneyPValue(baseline, candidate);
+        this.baselineThroughput = AbStatistics.mean(a.getPerSecond());
+        this.throughputDelta = AbStatistics.bootstrapMeanDifference(a.getPerSecond(), b.getPerSecond(),
+                confidence, 2000, endpoint.ordinal());
+        this.verdict = decide(1 - confidence, minEffect);
+    }
+
+    private Verdict decide(double alpha, double minEffect) {
+        if (baseline.getTotalCount() < MIN_SAMPLES || candidate.getTotalCount() < MIN_SAMPLES) {
+            return Verdict.NOT_ENOUGH_DATA;
+        }
+        double relativeShift = getRelativeLatencyShift();
+        double relativeThroughput = getRelativeThroughputDelta();
+        boolean slower = pValue < alpha && latencyShift.isAboveZero() && relativeShift >= minEffect;
+        boolean fewer = throughputDelta.isBelowZero() && -relativeThroughput >= minEffect;
+        if (slower || fewer) {
+            return Verdict.REGRESSION;
+        }
+        boolean faster = pValue < alpha && latencyShift.isBelowZero() && -relativeShift >= minEffect;
+        boolean more = throughputDelta.isAboveZero() && relativeThroughput >= minEffect;
+        if (faster || more) {
+            return Verdict.IMPROVEMENT;
+        }
+        return Verdict.NO_SIGNIFICANT_CHANGE;
+    }
+
+    public Endpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public ConfidenceInterval getLatencyShift() {
+        return latencyShift;
+    }
+
+    public double getRelativeLatencyShift() {
+        long median = baseline.getValueAtPercentile(50);
+        return median == 0 ? 0 : latencyShift.getEstimate() / median;
+    }
+
+    public ConfidenceInterval getThroughputDelta() {
+        return throughputDelta;
+    }
+
+    public double getRelativeThroughputDelta() {
+        return baselineThroughput == 0 ? 0 : throughputDelta.getEstimate() / baselineThroughput;
+    }
+
+    public double getPValue() {
+        return pValue;
+    }
+
+    public Verdict getVerdict() {
+        return verdict;
+    }
+
+    public String describe() {
+        return String.format(
+                "%-18s n=%d/%d p50=%d/%d мкс p99=%d/%d мкс сдвиг=%s мкс (%+.1f%%) p=%.4f rps=%.1f, дельта %s (%+.1f%%) -> %s",
+                endpoint, baseline.getTotalCount(), candidate.getTotalCount(),
+                baseline.getValueAtPercentile(50), candidate.getValueAtPercentile(50),
+                baseline.getValueAtPercentile(99), candidate.getValueAtPercentile(99),
+                latencyShift, getRelativeLatencyShift() * 100, pValue,
+                baselineThroughput, throughputDelta, getRelativeThroughputDelta() * 100, verdict);
+    }
+}
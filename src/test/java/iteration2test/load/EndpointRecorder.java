@@ -0,0 +1,87 @@
+package iteration2test.load;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// статистика одного эндпоинта за прогон: задержки, ошибки и число ответов по секундам
+public class EndpointRecorder {
+
+    private final LatencyHistogram histogram;
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final AtomicLongArray perSecond;
+    private final SlowestRequests slowest;
+    private final Endpoint endpoint;
+    private final long startNanos;
+
+    EndpointRecorder(Endpoint endpoint, long startNanos, int seconds, int slowestCapacity) {
+        this(endpoint, new LatencyHistogram(), new AtomicLongArray(Math.max(1, seconds)),
+                new SlowestRequests(slowestCapacity), startNanos);
+    }
+
+    private EndpointRecorder(Endpoint endpoint, LatencyHistogram histogram, AtomicLongArray perSecond,
+                             SlowestRequests slowest, long startNanos) {
+        this.endpoint = endpoint;
+        this.histogram = histogram;
+        this.perSecond = perSecond;
+        this.slowest = slowest;
+        this.startNanos = startNanos;
+    }
+
+    public void requestStarted() {
+        inFlight.increment();
+    }
+
+    public void requestFinished() {
+        inFlight.decrement();
+    }
+
+    public void recordResponse(long requestStartNanos, long latencyNanos) {
+        recordResponse(requestStartNanos, latencyNanos, null);
+    }
+
+    // requestId — X-Request-Id запроса, попадает в список самых медленных
+    public void recordResponse(long requestStartNanos, long latencyNanos, String requestId) {
+        histogram.recordNanos(latencyNanos);
+        if (requestId != null) {
+            slowest.record(endpoint, latencyNanos / 1_000, requestId);
+        }
+        long second = (requestStartNanos + latencyNanos - startNanos) / 1_000_000_000L;
+        perSecond.incrementAndGet((int) Math.min(Math.max(second, 0), perSecond.length() - 1));
+    }
+
+    public void recordError() {
+        errors.increment();
+    }
+
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    public SlowestRequests getSlowest() {
+        return slowest;
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    public long[] getPerSecond() {
+        long[] result = new long[perSecond.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = perSecond.get(i);
+        }
+        return result;
+    }
+
+    static EndpointRecorder restore(Endpoint endpoint, LatencyHistogram histogram, long errors, long[] perSecond,
+                                    SlowestRequests slowest) {
+        EndpointRecorder recorder = new EndpointRecorder(endpoint, histogram, new AtomicLongArray(perSecond), slowest, 0);
+        recorder.errors.add(errors);
+        return recorder;
+    }
+}
@@ -0,0 +1,47 @@
+package iteration2test.load;
+
+import iteration2test.support.ApiTargets;
+import iteration2test.support.ConsistentHashRing;
+import iteration2test.support.TestConfig;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+// запуск: mvn test -Pperf -Dtest=HorizontalScalingTest -Dnbank.baseUrls=http://node1:4111,http://node2:4111,...
+// гоняем нагрузку на 1, 2, ..., N узлов (число виртуальных юзеров растёт вместе с узлами)
+// и печатаем пропускную способность и эффективность масштабирования
+@Tag("perf")
+public class HorizontalScalingTest {
+
+    @Test
+    public void throughputGrowsWithNodes() {
+        List<String> nodes = ApiTargets.allApiUrls();
+        Assumptions.assumeTrue(nodes.size() > 1, "Для замера масштабирования нужно несколько nbank.baseUrls");
+
+        int usersPerNode = TestConfig.getInt("nbank.load.users", 20);
+        double singleNodeRps = 0;
+        for (int count = 1; count <= nodes.size(); count++) {
+            ConsistentHashRing ring = new ConsistentHashRing(nodes.subList(0, count));
+            LoadRunner runner = new LoadRunner(ring, usersPerNode * count,
+                    TestConfig.getSeconds("nbank.load.warmupSeconds", 10),
+                    TestConfig.getSeconds("nbank.load.durationSeconds", 60),
+                    List.of(Scenario.values()));
+            RunRecorder run = runner.run(count + " узл.");
+
+            long responses = 0;
+            long errors = 0;
+            for (Endpoint endpoint : Endpoint.values()) {
+                responses += run.get(endpoint).getHistogram().getTotalCount();
+                errors += run.get(endpoint).getErrors();
+            }
+            double rps = responses * 1000.0 / run.getDurationMillis();
+            if (count == 1) {
+                singleNodeRps = rps;
+            }
+            System.out.printf("узлов=%d rps=%.1f ошибок=%d эффективность=%.0f%%%n",
+                    count, rps, errors, singleNodeRps == 0 ? 0 : rps / (count * singleNodeRps) * 100);
+        }
+    }
+}
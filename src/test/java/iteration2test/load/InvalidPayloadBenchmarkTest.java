@@ -0,0 +1,54 @@
+package iteration2test.load;
+
+import iteration2test.support.ApiTargets;
+import iteration2test.support.TeardownExtension;
+import iteration2test.support.TestConfig;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// запуск: mvn test -Pperf -Dtest=InvalidPayloadBenchmarkTest [-Dnbank.junk.count=50000 -Dnbank.junk.maxSlowdown=1.5]
+// тысячи мусорных тел в депозит, перевод и профиль одновременно: мусор не должен проходить валидацию,
+// а его отказ — стоить не дороже корректного запроса больше чем в nbank.junk.maxSlowdown раз (OVERSIZED_STRING только в отчёте)
+@Tag("perf")
+@ExtendWith(TeardownExtension.class)
+public class InvalidPayloadBenchmarkTest {
+
+    @Test
+    public void rejectingJunkStaysCheap() throws InterruptedException, IOException {
+        InvalidPayloadRunner runner = new InvalidPayloadRunner(ApiTargets.ring(), TestConfig.getInt("nbank.junk.users", 8));
+
+        InvalidPayloadRunner.Result result = runner.run(new InvalidPayloadCorpus(TestConfig.getLong("nbank.junk.seed", 1)),
+                TestConfig.getLong("nbank.junk.count", 10_500));
+
+        String report = result.describe();
+        System.out.println(report);
+        Path file = Path.of("target", "perf", "invalid-payloads.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report, StandardCharsets.UTF_8);
+
+        assertEquals(0, result.getAcceptedJunk(), "мусор прошёл валидацию:\n" + report);
+        double maxSlowdown = TestConfig.getDouble("nbank.junk.maxSlowdown", 2.0);
+        List<String> expensive = new ArrayList<>();
+        for (Endpoint endpoint : InvalidPayloadCorpus.ENDPOINTS) {
+            for (InvalidPayloadCorpus.PayloadClass payloadClass : InvalidPayloadCorpus.PayloadClass.values()) {
+                double slowdown = result.slowdown(endpoint, payloadClass);
+                if (payloadClass.isComparable() && slowdown > maxSlowdown) {
+                    expensive.add("%s %s: в %.2f раза дороже VALID".formatted(endpoint, payloadClass, slowdown));
+                }
+            }
+        }
+        assertTrue(expensive.isEmpty(), "отказ дороже корректного запроса больше чем в " + maxSlowdown
+                + " раза:\n" + String.join("\n", expensive) + "\n" + report);
+    }
+}
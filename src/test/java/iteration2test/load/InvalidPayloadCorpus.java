@@ -0,0 +1,160 @@
+package iteration2test.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// мусорные тела для депозита, перевода и профиля: n-й случай — эндпоинт и класс по кругу,
+// само тело собирается из seed и n. VALID — обычный корректный запрос, с ним сравниваем цену отказа.
+// все остальные классы сервер должен отклонить, 200 на них — ошибка валидации
+public class InvalidPayloadCorpus {
+
+    public static final List<Endpoint> ENDPOINTS = List.of(Endpoint.DEPOSIT, Endpoint.TRANSFER, Endpoint.UPDATE_PROFILE);
+
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    public enum PayloadClass {
+        VALID(true) {
+            String generate(SplittableRandom random, List<String[]> fields) {
+                return object(fields);
+            }
+        },
+        // текст, логическое, массив или объект там, где ждут число или строку
+        WRONG_TYPE(true) {
+            String generate(SplittableRandom random, List<String[]> fields) {
+                String[] values = {"\"" + word(random, 1, 12) + "\"", "true", "[]", "{}", "[1, 2]"};
+                return object(replace(fields, random.nextInt(fields.size()), values[random.nextInt(values.length)]));
+            }
+        },
+        MISSING_FIELD(true) {
+            String generate(SplittableRandom random, List<String[]> fields) {
+                List<String[]> left = new ArrayList<>(fields);
+                left.remove(random.nextInt(left.size()));
+                return object(left);
+            }
+        },
+        NULL_FIELD(true) {
+            String generate(SplittableRandom random, List<String[]> fields) {
+                return object(replace(fields, random.nextInt(fields.size()), "null"));
+            }
+        },
+        // массивы или объекты в сотни и тысячи уровней вместо значения поля
+        DEEP_NESTING(true) {
+            String generate(SplittableRandom random, List<String[]> fields) {
+                int depth = 100 + random.nextInt(1_900);
+                boolean arrays = random.nextBoolean();
+                String value = (arrays ? "[" : "{\"a\": ").repeat(depth) + "1" + (arrays ? "]" : "}").repeat(depth);
+                return object(replace(fields, random.nextInt(fields.size()), value));
+            }
+        },
+        // строка на 64-512 КБ: тут отказ дороже просто из-за объёма, поэтому с VALID не сравниваем
+        OVERSIZED_STRING(false) {
+            String generate(SplittableRandom random, List<String[]> fields) {
+                String value = "\"" + word(random, 1, 1).repeat((64 << 10) + random.nextInt(448 << 10)) + "\"";
+                return object(replace(fields, random.nextInt(fields.size()), value));
+            }
+        },
+        // обрезанное тело, висячая запятая, одинарные кавычки, пустое тело
+        MALFORMED_JSON(true) {
+            String generate(SplittableRandom random, List<String[]> fields) {
+                String valid = object(fields);
+                return switch (random.nextInt(4)) {
+                    case 0 -> valid.substring(0, 1 + random.nextInt(valid.length() - 1));
+                    case 1 -> valid.substring(0, valid.length() - 1) + ",}";
+                    case 2 -> valid.replace('"', '\'');
+                    default -> "";
+                };
+            }
+        };
+
+        private final boolean comparable;
+
+        PayloadClass(boolean comparable) {
+            this.comparable = comparable;
+        }
+
+        abstract String generate(SplittableRandom random, List<String[]> fields);
+
+        // true — цена отказа сравнивается с VALID того же эндпоинта
+        public boolean isComparable() {
+            return comparable;
+        }
+    }
+
+    private final long seed;
+
+    public InvalidPayloadCorpus(long seed) {
+        this.seed = seed;
+    }
+
+    public PayloadCase get(long index) {
+        PayloadClass[] classes = PayloadClass.values();
+        Endpoint endpoint = ENDPOINTS.get((int) (index % ENDPOINTS.size()));
+        PayloadClass payloadClass = classes[(int) (index / ENDPOINTS.size() % classes.length)];
+        return new PayloadCase(endpoint, payloadClass, seed * 31 + index);
+    }
+
+    // корректные поля эндпоинта: перевод — копейка со своего первого счёта на второй
+    private static List<String[]> validFields(Endpoint endpoint, int firstAccountId, int secondAccountId) {
+        return switch (endpoint) {
+            case DEPOSIT -> List.of(new String[]{"id", String.valueOf(firstAccountId)}, new String[]{"balance", "1"});
+            case TRANSFER -> List.of(new String[]{"senderAccountId", String.valueOf(firstAccountId)},
+                    new String[]{"receiverAccountId", String.valueOf(secondAccountId)},
+                    new String[]{"amount", "0.01"});
+            case UPDATE_PROFILE -> List.<String[]>of(new String[]{"name", "\"Valid Name\""});
+            default -> throw new IllegalArgumentException("Нет корпуса для " + endpoint);
+        };
+    }
+
+    private static List<String[]> replace(List<String[]> fields, int index, String value) {
+        List<String[]> copy = new ArrayList<>(fields);
+        copy.set(index, new String[]{fields.get(index)[0], value});
+        return copy;
+    }
+
+    private static String object(List<String[]> fields) {
+        StringBuilder sb = new StringBuilder("{");
+        for (String[] field : fields) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append('"').append(field[0]).append("\": ").append(field[1]);
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String word(SplittableRandom random, int minLength, int maxLength) {
+        int length = minLength + random.nextInt(maxLength - minLength + 1);
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+        return sb.toString();
+    }
+
+    public static class PayloadCase {
+        private final Endpoint endpoint;
+        private final PayloadClass payloadClass;
+        private final long seed;
+
+        public PayloadCase(Endpoint endpoint, PayloadClass payloadClass, long seed) {
+            this.endpoint = endpoint;
+            this.payloadClass = payloadClass;
+            this.seed = seed;
+        }
+
+        public Endpoint getEndpoint() {
+            return endpoint;
+        }
+
+        public PayloadClass getPayloadClass() {
+            return payloadClass;
+        }
+
+        // счета юзера известны только во время прогона, поэтому тело собирается под них
+        public String body(int firstAccountId, int secondAccountId) {
+            return payloadClass.generate(new SplittableRandom(seed),
+                    validFields(endpoint, firstAccountId, secondAccountId));
+        }
+    }
+}
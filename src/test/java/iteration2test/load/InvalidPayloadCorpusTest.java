@@ -0,0 +1,73 @@
+package iteration2test.load;
+
+import io.restassured.path.json.JsonPath;
+import iteration2test.standin.StandInCluster;
+import iteration2test.support.ApiTargets;
+import iteration2test.support.ConsistentHashRing;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InvalidPayloadCorpusTest {
+
+    @Test
+    public void casesCycleThroughEndpointsAndClasses() {
+        InvalidPayloadCorpus corpus = new InvalidPayloadCorpus(42);
+        int endpoints = InvalidPayloadCorpus.ENDPOINTS.size();
+        int classes = InvalidPayloadCorpus.PayloadClass.values().length;
+
+        // 1. каждая пара эндпоинт × класс встречается ровно раз за круг
+        long distinct = LongStream.range(0, (long) endpoints * classes)
+                .mapToObj(corpus::get)
+                .map(payloadCase -> payloadCase.getEndpoint() + "/" + payloadCase.getPayloadClass())
+                .distinct()
+                .count();
+        assertEquals((long) endpoints * classes, distinct);
+
+        // 2. одинаковый seed — одинаковое тело; VALID — корректный JSON с нашими счетами
+        assertEquals(corpus.get(40).body(1, 2), new InvalidPayloadCorpus(42).get(40).body(1, 2));
+        InvalidPayloadCorpus.PayloadCase transfer = new InvalidPayloadCorpus.PayloadCase(
+                Endpoint.TRANSFER, InvalidPayloadCorpus.PayloadClass.VALID, 1);
+        assertEquals(7, new JsonPath(transfer.body(7, 8)).getInt("senderAccountId"));
+
+        // 3. мусор действительно отличается от корректного тела
+        for (InvalidPayloadCorpus.PayloadClass payloadClass : InvalidPayloadCorpus.PayloadClass.values()) {
+            if (payloadClass != InvalidPayloadCorpus.PayloadClass.VALID) {
+                assertNotEquals(transfer.body(7, 8),
+                        new InvalidPayloadCorpus.PayloadCase(Endpoint.TRANSFER, payloadClass, 1).body(7, 8),
+                        payloadClass.name());
+            }
+        }
+    }
+
+    @Test
+    @Tag("standin")
+    public void runnerRejectsEveryJunkClassAgainstStandIn() throws InterruptedException {
+        try (StandInCluster cluster = StandInCluster.start(1, Duration.ZERO)) {
+            InvalidPayloadRunner runner = new InvalidPayloadRunner(
+                    new ConsistentHashRing(List.of(ApiTargets.apiUrlOf(cluster.baseUrls().get(0)))), 4);
+
+            int perPair = 5;
+            long count = (long) perPair * InvalidPayloadCorpus.ENDPOINTS.size() * InvalidPayloadCorpus.PayloadClass.values().length;
+            InvalidPayloadRunner.Result result = runner.run(new InvalidPayloadCorpus(1), count);
+
+            assertEquals(count, result.getTotalCount());
+            assertEquals(0, result.getAcceptedJunk(), result.describe());
+            for (Endpoint endpoint : InvalidPayloadCorpus.ENDPOINTS) {
+                assertEquals(perPair, result.get(endpoint, InvalidPayloadCorpus.PayloadClass.VALID).getAccepted(),
+                        result.describe());
+                for (InvalidPayloadCorpus.PayloadClass payloadClass : InvalidPayloadCorpus.PayloadClass.values()) {
+                    assertEquals(0, result.get(endpoint, payloadClass).getFailed(), result.describe());
+                }
+            }
+            assertTrue(result.getRequestsPerSecond() > 0);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package iteration2test.load;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import iteration2test.TestDataFactory;
+import iteration2test.UserCredentials;
+import iteration2test.support.ConsistentHashRing;
+import iteration2test.support.EndpointTimeouts;
+import iteration2test.support.RequestIds;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.restassured.RestAssured.given;
+
+// обстреливает депозит, перевод и профиль мусорными телами из InvalidPayloadCorpus параллельно с пула юзеров.
+// у каждого юзера два счёта, на первом 5000 — чтобы корректные переводы из VALID проходили.
+// по каждой паре эндпоинт × класс — задержка, ответы и объём отправленного; отказ должен стоить не дороже приёма
+public class InvalidPayloadRunner {
+
+    private static final long SETUP_DEPOSIT = 5_000;
+
+    private final ConsistentHashRing targets;
+    private final int users;
+
+    public InvalidPayloadRunner(ConsistentHashRing targets, int users) {
+        this.targets = targets;
+        this.users = users;
+    }
+
+    public Result run(InvalidPayloadCorpus corpus, long count) throws InterruptedException {
+        // 1 пул юзеров со счетами
+        LoadClient setupClient = new LoadClient(targets, new RunRecorder("junk-setup", System.nanoTime(), 1_000));
+        List<Fixture> fixtures = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            UserCredentials creds = TestDataFactory.generateUser();
+            LoadSession session = setupClient.createUser(creds) ? setupClient.login(creds) : null;
+            Integer first = session == null ? null : setupClient.createAccount(session);
+            Integer second = first == null ? null : setupClient.createAccount(session);
+            if (second == null || !setupClient.deposit(session, first, String.valueOf(SETUP_DEPOSIT))) {
+                throw new IllegalStateException("Не удалось подготовить юзера для мусорных запросов");
+            }
+            fixtures.add(new Fixture(session, first, second));
+        }
+
+        // 2 случаи по кругу эндпоинтов и классов, параллельно по юзерам
+        Result result = new Result();
+        AtomicLong next = new AtomicLong();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Fixture fixture : fixtures) {
+                executor.submit(() -> {
+                    for (long i = next.getAndIncrement(); i < count; i = next.getAndIncrement()) {
+                        InvalidPayloadCorpus.PayloadCase payloadCase = corpus.get(i);
+                        String body = payloadCase.body(fixture.firstAccountId, fixture.secondAccountId);
+                        result.record(payloadCase, body.getBytes(StandardCharsets.UTF_8).length,
+                                send(fixture.session, payloadCase.getEndpoint(), body));
+                    }
+                });
+            }
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    // статус ответа и время в наносекундах; статус -1 — запрос не прошёл
+    private static long[] send(LoadSession session, Endpoint endpoint, String body) {
+        long start = System.nanoTime();
+        int status;
+        try {
+            status = given()
+                    .noFilters()
+                    .config(EndpointTimeouts.forPath(endpoint.getPath()).applyTo(RestAssured.config()))
+                    .contentType(ContentType.JSON)
+                    .accept(ContentType.JSON)
+                    .header("Authorization", session.getAuthHeader())
+                    .header(RequestIds.HEADER, RequestIds.next())
+                    .body(body)
+                    .request(endpoint.getMethod(), session.getApiUrl() + endpoint.getPath())
+                    .statusCode();
+        } catch (Exception e) {
+            status = -1;
+        }
+        return new long[]{status, System.nanoTime() - start};
+    }
+
+    private static class Fixture {
+        private final LoadSession session;
+        private final int firstAccountId;
+        private final int secondAccountId;
+
+        private Fixture(LoadSession session, int firstAccountId, int secondAccountId) {
+            this.session = session;
+            this.firstAccountId = firstAccountId;
+            this.secondAccountId = secondAccountId;
+        }
+    }
+
+    public static class Result {
+        private final Map<Endpoint, Map<InvalidPayloadCorpus.PayloadClass, PayloadStats>> stats = new EnumMap<>(Endpoint.class);
+        private long elapsedNanos;
+
+        Result() {
+            for (Endpoint endpoint : InvalidPayloadCorpus.ENDPOINTS) {
+                Map<InvalidPayloadCorpus.PayloadClass, PayloadStats> byClass = new EnumMap<>(InvalidPayloadCorpus.PayloadClass.class);
+                for (InvalidPayloadCorpus.PayloadClass payloadClass : InvalidPayloadCorpus.PayloadClass.values()) {
+                    byClass.put(payloadClass, new PayloadStats());
+                }
+                stats.put(endpoint, byClass);
+            }
+        }
+
+        private void record(InvalidPayloadCorpus.PayloadCase payloadCase, int bytes, long[] statusAndNanos) {
+            PayloadStats payloadStats = get(payloadCase.getEndpoint(), payloadCase.getPayloadClass());
+            int status = (int) statusAndNanos[0];
+            payloadStats.latency.recordNanos(statusAndNanos[1]);
+            payloadStats.bytes.add(bytes);
+            if (status == 200) {
+                payloadStats.accepted.increment();
+            } else if (status >= 400 && status < 500) {
+                payloadStats.rejected.increment();
+            } else if (status >= 500) {
+                payloadStats.serverErrors.increment();
+            } else {
+                payloadStats.failed.increment();
+            }
+        }
+
+        public PayloadStats get(Endpoint endpoint, InvalidPayloadCorpus.PayloadClass payloadClass) {
+            return stats.get(endpoint).get(payloadClass);
+        }
+
+        // сколько раз мусор прошёл валидацию (200 на всё, кроме VALID)
+        public long getAcceptedJunk() {
+            long accepted = 0;
+            for (Map<InvalidPayloadCorpus.PayloadClass, PayloadStats> byClass : stats.values()) {
+                for (Map.Entry<InvalidPayloadCorpus.PayloadClass, PayloadStats> entry : byClass.entrySet()) {
+                    if (entry.getKey() != InvalidPayloadCorpus.PayloadClass.VALID) {
+                        accepted += entry.getValue().getAccepted();
+                    }
+                }
+            }
+            return accepted;
+        }
+
+        // во сколько раз медиана отказа дороже медианы корректного запроса на том же эндпоинте
+        public double slowdown(Endpoint endpoint, InvalidPayloadCorpus.PayloadClass payloadClass) {
+            long valid = get(endpoint, InvalidPayloadCorpus.PayloadClass.VALID).latency.getValueAtPercentile(50);
+            return (double) get(endpoint, payloadClass).latency.getValueAtPercentile(50) / Math.max(1, valid);
+        }
+
+        public long getTotalCount() {
+            return stats.values().stream()
+                    .flatMap(byClass -> byClass.values().stream())
+                    .mapToLong(payloadStats -> payloadStats.latency.getTotalCount())
+                    .sum();
+        }
+
+        public double getRequestsPerSecond() {
+            return getTotalCount() * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        public String describe() {
+            StringBuilder sb = new StringBuilder(String.format("%d запросов за %.1f с (%.0f в секунду)%n",
+                    getTotalCount(), elapsedNanos / 1e9, getRequestsPerSecond()));
+            sb.append(String.format("%-15s %-17s %6s %6s %6s %6s %6s %9s %9s %9s %8s %9s%n", "эндпоинт", "класс",
+                    "n", "200", "4xx", "5xx", "сбой", "p50 мкс", "p99 мкс", "max мкс", "x VALID", "КБ в ср."));
+            stats.forEach((endpoint, byClass) -> byClass.forEach((payloadClass, payloadStats) -> {
+                LatencyHistogram latency = payloadStats.latency;
+                sb.append(String.format("%-15s %-17s %6d %6d %6d %6d %6d %9d %9d %9d %8.2f %9.1f%n", endpoint, payloadClass,
+                        latency.getTotalCount(), payloadStats.getAccepted(), payloadStats.getRejected(),
+                        payloadStats.getServerErrors(), payloadStats.getFailed(), latency.getValueAtPercentile(50),
+                        latency.getValueAtPercentile(99), latency.getMax(), slowdown(endpoint, payloadClass),
+                        payloadStats.bytes.sum() / 1024.0 / Math.max(1, latency.getTotalCount())));
+            }));
+            return sb.toString();
+        }
+    }
+
+    public static class PayloadStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder accepted = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getAccepted() {
+            return accepted.sum();
+        }
+
+        public long getRejected() {
+            return rejected.sum();
+        }
+
+        public long getServerErrors() {
+            return serverErrors.sum();
+        }
+
+        public long getFailed() {
+            return failed.sum();
+        }
+    }
+}
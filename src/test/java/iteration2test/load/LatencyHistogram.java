@@ -0,0 +1,164 @@
+package iteration2test.load;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// лог-линейная гистограмма задержек в микросекундах:
+// до 128 мкс — точные значения, дальше по 64 корзины на каждую степень двойки (~1.5% погрешности).
+// запись lock-free, две гистограммы с одинаковой раскладкой складываются без потерь
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final long MAX_VALUE = (1L << 36) - 1; // ~19 часов в мкс
+
+    public static final int BUCKETS = indexFor(MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public static int indexFor(long micros) {
+        long value = Math.min(Math.max(micros, 0), MAX_VALUE);
+        int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return (int) (shift * SUB_BUCKETS + (value >>> shift));
+    }
+
+    public static long lowestValueAt(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index - (long) shift * SUB_BUCKETS;
+        return subBucket << shift;
+    }
+
+    public static long highestValueAt(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return lowestValueAt(index) + (1L << shift) - 1;
+    }
+
+    public static long medianValueAt(int index) {
+        return (lowestValueAt(index) + highestValueAt(index)) / 2;
+    }
+
+    public void recordNanos(long nanos) {
+        record(nanos / 1_000);
+    }
+
+    public void record(long micros) {
+        recordCount(indexFor(micros), 1);
+        max.accumulateAndGet(Math.min(micros, MAX_VALUE), Math::max);
+    }
+
+    private void recordCount(int index, long count) {
+        counts.addAndGet(index, count);
+        totalCount.addAndGet(count);
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                recordCount(i, count);
+            }
+        }
+        max.accumulateAndGet(other.getMax(), Math::max);
+    }
+
+    // что записано после снимка earlier (earlier — более ранняя копия этой же гистограммы)
+    public LatencyHistogram since(LatencyHistogram earlier) {
+        LatencyHistogram delta = new LatencyHistogram();
+        int top = -1;
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = counts.get(i) - earlier.counts.get(i);
+            if (count > 0) {
+                delta.recordCount(i, count);
+                top = i;
+            }
+        }
+        if (top >= 0) {
+            delta.max.set(Math.min(highestValueAt(top), getMax()));
+        }
+        return delta;
+    }
+
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.add(this);
+        return copy;
+    }
+
+    public long getCountAt(int index) {
+        return counts.get(index);
+    }
+
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long total = 0;
+        double sum = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = counts.get(i);
+            if (count != 0) {
+                total += count;
+                sum += (double) count * medianValueAt(i);
+            }
+        }
+        return total == 0 ? 0 : sum / total;
+    }
+
+    // percentile от 0 до 100
+    public long getValueAtPercentile(double percentile) {
+        long total = getTotalCount();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueAt(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    // формат "индекс:количество,..." — только непустые корзины
+    public String encode() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = counts.get(i);
+            if (count != 0) {
+                if (!sb.isEmpty()) {
+                    sb.append(',');
+                }
+                sb.append(i).append(':').append(count);
+            }
+        }
+        return sb.toString();
+    }
+
+    public static LatencyHistogram decode(String encoded, long max) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        if (encoded != null && !encoded.isBlank()) {
+            for (String pair : encoded.split(",")) {
+                int colon = pair.indexOf(':');
+                histogram.recordCount(Integer.parseInt(pair.substring(0, colon).trim()),
+                        Long.parseLong(pair.substring(colon + 1).trim()));
+            }
+        }
+        histogram.max.set(max);
+        return histogram;
+    }
+}
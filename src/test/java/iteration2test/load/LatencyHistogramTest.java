@@ -0,0 +1,52 @@
+package iteration2test.load;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketBoundsContainRecordedValueWithinPrecision() {
+        for (long value = 0; value < 50_000_000L; value = value * 3 / 2 + 1) {
+            int index = LatencyHistogram.indexFor(value);
+            assertTrue(LatencyHistogram.lowestValueAt(index) <= value, "нижняя граница для " + value);
+            assertTrue(LatencyHistogram.highestValueAt(index) >= value, "верхняя граница для " + value);
+            double width = LatencyHistogram.highestValueAt(index) - LatencyHistogram.lowestValueAt(index);
+            assertTrue(width <= Math.max(1, value / 64.0), "ширина корзины для " + value);
+        }
+    }
+
+    @Test
+    public void percentilesFollowRecordedValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 100L);
+        }
+
+        assertEquals(1000, histogram.getTotalCount());
+        assertEquals(50_000, histogram.getValueAtPercentile(50), 50_000 / 64.0);
+        assertEquals(99_000, histogram.getValueAtPercentile(99), 99_000 / 64.0);
+        assertEquals(100_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void encodedHistogramMergesWithoutLoss() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        for (int i = 0; i < 500; i++) {
+            first.record(i * 37L);
+            second.record(i * 1_013L);
+        }
+
+        LatencyHistogram merged = LatencyHistogram.decode(first.encode(), first.getMax());
+        merged.add(LatencyHistogram.decode(second.encode(), second.getMax()));
+
+        assertEquals(1000, merged.getTotalCount());
+        assertEquals(second.getMax(), merged.getMax());
+        for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+            assertEquals(first.getCountAt(i) + second.getCountAt(i), merged.getCountAt(i));
+        }
+    }
+}
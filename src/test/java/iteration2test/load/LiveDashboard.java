@@ -0,0 +1,115 @@
+package iteration2test.load;
+
+import iteration2test.support.TestConfig;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// живая сводка во время прогона: раз в секунду читает те же recorder'ы, что пишет нагрузка,
+// и показывает rps, p50/p99 за последнюю секунду, ошибки и запросы в полёте.
+// на пути запроса ничего не добавляет, кроме счётчика in-flight
+public final class LiveDashboard implements AutoCloseable {
+
+    private static final String CLEAR_SCREEN = "\033[H\033[2J";
+
+    private final RunRecorder recorder;
+    private final PrintStream out;
+    private final Path file;
+    private final boolean ansi;
+    private final long startNanos = System.nanoTime();
+    private final Map<Endpoint, LatencyHistogram> previous = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Long> previousErrors = new EnumMap<>(Endpoint.class);
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "live-dashboard");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long previousTickNanos = startNanos;
+
+    // out — куда печатать; file — если задан, каждую секунду перезаписывается (watch -n1 cat файл)
+    public LiveDashboard(RunRecorder recorder, PrintStream out, Path file, boolean ansi, Duration refresh) {
+        this.recorder = recorder;
+        this.out = out;
+        this.file = file;
+        this.ansi = ansi;
+        for (Endpoint endpoint : Endpoint.values()) {
+            previous.put(endpoint, new LatencyHistogram());
+            previousErrors.put(endpoint, 0L);
+        }
+        timer.scheduleAtFixedRate(this::refresh, refresh.toMillis(), refresh.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // null, если nbank.dashboard выключен
+    public static LiveDashboard fromConfig(RunRecorder recorder) {
+        if (!TestConfig.getBoolean("nbank.dashboard", false)) {
+            return null;
+        }
+        String file = TestConfig.getString("nbank.dashboard.file", null);
+        return new LiveDashboard(recorder,
+                file == null ? System.out : null,
+                file == null ? null : Path.of(file),
+                TestConfig.getBoolean("nbank.dashboard.ansi", true),
+                TestConfig.getMillis("nbank.dashboard.refreshMillis", 1000));
+    }
+
+    private synchronized void refresh() {
+        try {
+            String frame = render();
+            if (file != null) {
+                Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+                if (file.getParent() != null) {
+                    Files.createDirectories(file.getParent());
+                }
+                Files.writeString(tmp, frame, StandardCharsets.UTF_8);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                out.print(ansi ? CLEAR_SCREEN + frame : frame);
+                out.flush();
+            }
+        } catch (IOException | RuntimeException e) {
+            // сводка не должна ронять прогон
+            System.err.println("Не удалось обновить сводку: " + e);
+        }
+    }
+
+    String render() {
+        long now = System.nanoTime();
+        double seconds = Math.max(1e-3, (now - previousTickNanos) / 1e9);
+        previousTickNanos = now;
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%s — %d с%n", recorder.getLabel(), (now - startNanos) / 1_000_000_000L));
+        sb.append(String.format("%-18s %9s %10s %10s %8s %8s %9s%n",
+                "эндпоинт", "rps", "p50 мкс", "p99 мкс", "ошибки", "ош/с", "в полёте"));
+        for (Endpoint endpoint : Endpoint.values()) {
+            EndpointRecorder endpointRecorder = recorder.get(endpoint);
+            LatencyHistogram current = endpointRecorder.getHistogram().copy();
+            LatencyHistogram interval = current.since(previous.get(endpoint));
+            previous.put(endpoint, current);
+            long errors = endpointRecorder.getErrors();
+            long newErrors = errors - previousErrors.put(endpoint, errors);
+
+            sb.append(String.format("%-18s %9.1f %10d %10d %8d %8.1f %9d%n",
+                    endpoint, interval.getTotalCount() / seconds,
+                    interval.getValueAtPercentile(50), interval.getValueAtPercentile(99),
+                    errors, newErrors / seconds, endpointRecorder.getInFlight()));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        refresh();
+    }
+}
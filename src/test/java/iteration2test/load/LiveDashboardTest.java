@@ -0,0 +1,44 @@
+package iteration2test.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LiveDashboardTest {
+
+    @Test
+    public void frameShowsOnlyRequestsSincePreviousFrame() {
+        RunRecorder recorder = new RunRecorder("soak", System.nanoTime(), 60_000);
+        EndpointRecorder deposit = recorder.get(Endpoint.DEPOSIT);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (LiveDashboard dashboard = new LiveDashboard(recorder, new PrintStream(out), null, false, Duration.ofHours(1))) {
+            for (int i = 0; i < 100; i++) {
+                deposit.recordResponse(System.nanoTime(), 80_000_000L);
+            }
+            deposit.requestStarted();
+            deposit.recordError();
+
+            String[] first = columns(dashboard.render(), "DEPOSIT");
+            assertEquals(80_000, Long.parseLong(first[2]), 80_000 / 64.0);
+            assertEquals("1", first[4]);
+            assertEquals("1", first[6]);
+
+            for (int i = 0; i < 10; i++) {
+                deposit.recordResponse(System.nanoTime(), 2_000_000L);
+            }
+            String[] second = columns(dashboard.render(), "DEPOSIT");
+            assertTrue(Long.parseLong(second[3]) <= 2_100, "старые запросы не должны попадать в p99: " + second[3]);
+        }
+    }
+
+    // эндпоинт, rps, p50, p99, ошибки, ошибок/с, в полёте
+    private static String[] columns(String frame, String endpoint) {
+        return frame.lines().filter(l -> l.startsWith(endpoint + " ")).findFirst().orElseThrow().trim().split("\\s+");
+    }
+}
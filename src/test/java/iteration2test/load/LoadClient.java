@@ -0,0 +1,140 @@
+package iteration2test.load;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.config.JsonPathConfig;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import iteration2test.UserCredentials;
+import iteration2test.support.ConsistentHashRing;
+import iteration2test.support.EndpointTimeouts;
+import iteration2test.support.RequestIds;
+import iteration2test.support.Teardown;
+import org.apache.http.HttpStatus;
+
+import java.math.BigDecimal;
+
+import static io.restassured.RestAssured.given;
+
+// те же вызовы, что и в тестах, но без логирования и с замером каждого запроса.
+// юзер закрепляется за узлом по username, дальше все его запросы идут туда же.
+// неожиданный статус или исключение считаются ошибкой эндпоинта, метод возвращает null/false
+// тела запросов собирает BodyEncoder — без форматирования строк на каждый запрос
+public class LoadClient {
+
+    private static final String ADMIN_AUTH = "Basic YWRtaW46YWRtaW4="; // admin:admin
+    private static final JsonPathConfig EXACT_NUMBERS = new JsonPathConfig(JsonPathConfig.NumberReturnType.BIG_DECIMAL);
+
+    private final ConsistentHashRing targets;
+    private final RunRecorder recorder;
+    private boolean keepUsers;
+
+    public LoadClient(ConsistentHashRing targets, RunRecorder recorder) {
+        this.targets = targets;
+        this.recorder = recorder;
+    }
+
+    // узел, на который закреплён юзер
+    public String nodeFor(String username) {
+        return targets.nodeFor(username);
+    }
+
+    // юзеры этого клиента переиспользуются другими прогонами (засев, каталог) — в Teardown не попадают
+    public LoadClient keepUsers() {
+        this.keepUsers = true;
+        return this;
+    }
+
+    public boolean createUser(UserCredentials creds) {
+        String apiUrl = targets.nodeFor(creds.getUsername());
+        Response response = call(Endpoint.ADMIN_CREATE_USER, HttpStatus.SC_CREATED, apiUrl, request()
+                .header("Authorization", ADMIN_AUTH)
+                .body(BodyEncoder.acquire().createUser(creds.getUsername(), creds.getPassword()).take()));
+        if (response == null) {
+            return false;
+        }
+        if (!keepUsers && response.jsonPath().get("id") instanceof Number id) {
+            Teardown.trackCreated(apiUrl, id.longValue());
+        }
+        return true;
+    }
+
+    public LoadSession login(UserCredentials creds) {
+        String apiUrl = targets.nodeFor(creds.getUsername());
+        Response response = call(Endpoint.LOGIN, HttpStatus.SC_OK, apiUrl, request()
+                .body(BodyEncoder.acquire().login(creds.getUsername(), creds.getPassword()).take()));
+        return response == null ? null : new LoadSession(creds.getUsername(), apiUrl, response.header("Authorization"));
+    }
+
+    public Integer createAccount(LoadSession session) {
+        Response response = call(Endpoint.CREATE_ACCOUNT, HttpStatus.SC_CREATED, session.getApiUrl(),
+                authorized(session));
+        return response == null ? null : response.jsonPath().getInt("id");
+    }
+
+    // amount — JSON-литерал суммы, например "4000" или "2500.50"
+    public boolean deposit(LoadSession session, int accountId, String amount) {
+        Response response = call(Endpoint.DEPOSIT, HttpStatus.SC_OK, session.getApiUrl(), authorized(session)
+                .body(BodyEncoder.acquire().deposit(accountId, amount).take()));
+        return response != null;
+    }
+
+    public boolean transfer(LoadSession session, int senderAccountId, int receiverAccountId, String amount) {
+        Response response = call(Endpoint.TRANSFER, HttpStatus.SC_OK, session.getApiUrl(), authorized(session)
+                .body(BodyEncoder.acquire().transfer(senderAccountId, receiverAccountId, amount).take()));
+        return response != null;
+    }
+
+    public boolean updateName(LoadSession session, String name) {
+        Response response = call(Endpoint.UPDATE_PROFILE, HttpStatus.SC_OK, session.getApiUrl(), authorized(session)
+                .body(BodyEncoder.acquire().profile(name).take()));
+        return response != null;
+    }
+
+    // баланс счёта, как его видит узел сессии; null — счёта там (ещё) нет или запрос не прошёл
+    public BigDecimal accountBalance(LoadSession session, int accountId) {
+        Response response = call(Endpoint.GET_ACCOUNTS, HttpStatus.SC_OK, session.getApiUrl(), authorized(session));
+        if (response == null) {
+            return null;
+        }
+        Object balance = response.jsonPath(EXACT_NUMBERS).get("find { it.id == %d }.balance".formatted(accountId));
+        return balance == null ? null : new BigDecimal(balance.toString());
+    }
+
+    private RequestSpecification request() {
+        return given()
+                .noFilters()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON);
+    }
+
+    private RequestSpecification authorized(LoadSession session) {
+        return request().header("Authorization", session.getAuthHeader());
+    }
+
+    private Response call(Endpoint endpoint, int expectedStatus, String apiUrl, RequestSpecification request) {
+        EndpointRecorder endpointRecorder = recorder.get(endpoint);
+        endpointRecorder.requestStarted();
+        String requestId = RequestIds.next();
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = request
+                    .header(RequestIds.HEADER, requestId)
+                    .config(EndpointTimeouts.forPath(endpoint.getPath()).applyTo(RestAssured.config()))
+                    .request(endpoint.getMethod(), apiUrl + endpoint.getPath());
+        } catch (Exception e) {
+            // RestAssured пробрасывает и checked-исключения: ConnectException, SocketTimeoutException
+            endpointRecorder.recordError();
+            return null;
+        } finally {
+            endpointRecorder.requestFinished();
+        }
+        endpointRecorder.recordResponse(start, System.nanoTime() - start, requestId);
+        if (response.statusCode() != expectedStatus) {
+            endpointRecorder.recordError();
+            return null;
+        }
+        return response;
+    }
+}
@@ -0,0 +1,152 @@
+package iteration2test.load;
+
+import iteration2test.support.ConsistentHashRing;
+import iteration2test.support.EndpointTimeouts;
+import iteration2test.support.TestConfig;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// прогон нагрузки: virtualUsers виртуальных потоков крутят сценарии по кругу,
+// юзеры раскладываются по узлам targets.
+// сначала прогрев (результаты выбрасываются), потом замер в отдельный RunRecorder.
+// с движком ASYNC виртуальный юзер — не поток, а цепочка future на AsyncLoadClient,
+// и все юзеры обслуживаются asyncThreads потоками
+public class LoadRunner {
+
+    public enum Engine {
+        // RestAssured, по виртуальному потоку на юзера
+        BLOCKING,
+        // java.net.http.HttpClient, шаги сценария сцеплены без блокировок
+        ASYNC
+    }
+
+    private final ConsistentHashRing targets;
+    private final int virtualUsers;
+    private final Duration warmup;
+    private final Duration duration;
+    private final List<Scenario> scenarios;
+    private UserPool users = UserPool.ALL;
+    private Engine engine = Engine.BLOCKING;
+    private int asyncThreads = 2;
+
+    public LoadRunner(ConsistentHashRing targets, int virtualUsers, Duration warmup, Duration duration, List<Scenario> scenarios) {
+        if (virtualUsers <= 0 || scenarios.isEmpty()) {
+            throw new IllegalArgumentException("Нужен хотя бы один виртуальный юзер и один сценарий");
+        }
+        this.targets = targets;
+        this.virtualUsers = virtualUsers;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.scenarios = List.copyOf(scenarios);
+    }
+
+    // параметры из nbank.load.* (см. nbank.properties)
+    public static LoadRunner fromConfig(ConsistentHashRing targets) {
+        return new LoadRunner(targets,
+                TestConfig.getInt("nbank.load.users", 20),
+                TestConfig.getSeconds("nbank.load.warmupSeconds", 10),
+                TestConfig.getSeconds("nbank.load.durationSeconds", 60),
+                List.of(Scenario.values()))
+                .withEngine(Engine.valueOf(TestConfig.getString("nbank.load.engine", "blocking").toUpperCase(Locale.ROOT)),
+                        TestConfig.getInt("nbank.load.asyncThreads", 2));
+    }
+
+    // threads — потоки HttpClient для движка ASYNC, на BLOCKING не влияет
+    public LoadRunner withEngine(Engine engine, int threads) {
+        this.engine = engine;
+        this.asyncThreads = threads;
+        return this;
+    }
+
+    public LoadRunner withUsers(UserPool users) {
+        this.users = users;
+        return this;
+    }
+
+    public RunRecorder run(String label) {
+        if (engine == Engine.ASYNC) {
+            return runAsync(label);
+        }
+        long warmupStart = System.nanoTime();
+        long measureStart = warmupStart + warmup.toNanos();
+        long end = measureStart + duration.toNanos();
+
+        LoadClient warmupClient = new LoadClient(targets, new RunRecorder(label + "-warmup", warmupStart, warmup.toMillis()));
+        RunRecorder recorder = new RunRecorder(label, measureStart, duration.toMillis());
+        LoadClient measuredClient = new LoadClient(targets, recorder);
+
+        // панель закрывается после всех юзеров и дорисовывает последний кадр
+        LiveDashboard dashboard = LiveDashboard.fromConfig(recorder);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < virtualUsers; i++) {
+                int userIndex = i;
+                executor.submit(() -> {
+                    long iteration = userIndex;
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        Scenario scenario = scenarios.get((int) (iteration++ % scenarios.size()));
+                        scenario.run(now < measureStart ? warmupClient : measuredClient, users);
+                    }
+                });
+            }
+        } finally {
+            if (dashboard != null) {
+                dashboard.close();
+            }
+        }
+        return recorder;
+    }
+
+    private RunRecorder runAsync(String label) {
+        long warmupStart = System.nanoTime();
+        long measureStart = warmupStart + warmup.toNanos();
+        long end = measureStart + duration.toNanos();
+
+        RunRecorder recorder = new RunRecorder(label, measureStart, duration.toMillis());
+        ExecutorService executor = Executors.newFixedThreadPool(asyncThreads);
+        LiveDashboard dashboard = LiveDashboard.fromConfig(recorder);
+        try (HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(EndpointTimeouts.forPath("/").getConnect())
+                .executor(executor)
+                .build()) {
+            AsyncLoadClient warmupClient = new AsyncLoadClient(targets,
+                    new RunRecorder(label + "-warmup", warmupStart, warmup.toMillis()), http);
+            AsyncLoadClient measuredClient = new AsyncLoadClient(targets, recorder, http);
+            CountDownLatch finished = new CountDownLatch(virtualUsers);
+            for (int i = 0; i < virtualUsers; i++) {
+                nextScenario(i, warmupClient, measuredClient, measureStart, end, finished, executor);
+            }
+            finished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (dashboard != null) {
+                dashboard.close();
+            }
+            executor.shutdownNow();
+        }
+        return recorder;
+    }
+
+    // следующий сценарий юзера стартует из колбэка предыдущего; Async — чтобы не расти стеком,
+    // если future завершился сразу
+    private void nextScenario(long iteration, AsyncLoadClient warmupClient, AsyncLoadClient measuredClient,
+                              long measureStart, long end, CountDownLatch finished, ExecutorService executor) {
+        long now = System.nanoTime();
+        if (now >= end) {
+            finished.countDown();
+            return;
+        }
+        Scenario scenario = scenarios.get((int) (iteration % scenarios.size()));
+        scenario.runAsync(now < measureStart ? warmupClient : measuredClient, users)
+                .whenCompleteAsync((ignored, error) -> nextScenario(iteration + 1, warmupClient,
+                        measuredClient, measureStart, end, finished, executor), executor);
+    }
+}
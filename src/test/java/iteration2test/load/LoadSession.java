@@ -0,0 +1,32 @@
+package iteration2test.load;
+
+// залогиненный юзер в нагрузке: узел, на который он закреплён, и его токен
+public class LoadSession {
+
+    private final String username;
+    private final String apiUrl;
+    private final String authHeader;
+
+    public LoadSession(String username, String apiUrl, String authHeader) {
+        this.username = username;
+        this.apiUrl = apiUrl;
+        this.authHeader = authHeader;
+    }
+
+    // тот же юзер, но запросы идут на другой узел (токен от этого не меняется)
+    public LoadSession onNode(String otherApiUrl) {
+        return new LoadSession(username, otherApiUrl, authHeader);
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getApiUrl() {
+        return apiUrl;
+    }
+
+    public String getAuthHeader() {
+        return authHeader;
+    }
+}
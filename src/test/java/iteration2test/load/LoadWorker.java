@@ -0,0 +1,36 @@
+package iteration2test.load;
+
+import iteration2test.support.ApiTargets;
+import iteration2test.support.Teardown;
+import iteration2test.support.TestConfig;
+
+import java.nio.file.Path;
+
+// воркер распределённой нагрузки, запускается координатором в отдельной JVM:
+// LoadWorker <номер> <всего воркеров> <файл результата> <старт, epoch ms>
+public class LoadWorker {
+
+    public static void main(String[] args) throws InterruptedException {
+        int index = Integer.parseInt(args[0]);
+        int count = Integer.parseInt(args[1]);
+        Path output = Path.of(args[2]);
+        long startAtMillis = Long.parseLong(args[3]);
+
+        // все воркеры стартуют одновременно, чтобы ответы по секундам совпадали при слиянии
+        long wait = startAtMillis - System.currentTimeMillis();
+        if (wait > 0) {
+            Thread.sleep(wait);
+        }
+
+        RunRecorder run = LoadRunner.fromConfig(ApiTargets.ring())
+                .withUsers(new UserPool(index, count))
+                .run("worker-" + index);
+        run.save(output);
+        // юзеров воркера дочищаем до выхода: System.exit не ждёт фонового потока
+        if (Teardown.isEnabled()) {
+            Teardown.suite().close(TestConfig.getSeconds("nbank.teardown.flushSeconds", 30));
+            System.out.println(Teardown.suite().describe());
+        }
+        System.exit(0);
+    }
+}
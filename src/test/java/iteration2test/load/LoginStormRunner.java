@@ -0,0 +1,255 @@
+package iteration2test.load;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import iteration2test.UserCredentials;
+import iteration2test.support.ConsistentHashRing;
+import iteration2test.support.EndpointTimeouts;
+import iteration2test.support.RequestIds;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static io.restassured.RestAssured.given;
+
+// шторм логинов на готовых юзерах: ступени с растущей частотой POST /auth/login.
+// нагрузка открытая — логины уходят по расписанию, не дожидаясь ответов на предыдущие,
+// как после аварии, когда все клиенты перелогиниваются разом. медленный сервер не сбавляет частоту,
+// поэтому задержка честная, а очередь на сервере видна как рост p99 и ошибок.
+// отдельно — цена авторизации на обычном запросе: токен из логина, Basic из логина/пароля и логин перед каждым запросом
+public class LoginStormRunner {
+
+    public enum AuthMode {
+        // заголовок из ответа логина, переиспользуется
+        TOKEN,
+        // Basic user:password, собранный на клиенте без логина (так тесты ходят под админом)
+        BASIC,
+        // логин, затем запрос — так каждый тест начинает работу с юзером
+        LOGIN_EACH_REQUEST
+    }
+
+    private final ConsistentHashRing targets;
+    private final List<UserCredentials> users;
+
+    public LoginStormRunner(ConsistentHashRing targets, List<UserCredentials> users) {
+        if (users.isEmpty()) {
+            throw new IllegalArgumentException("Для шторма логинов нужен хотя бы один юзер");
+        }
+        this.targets = targets;
+        this.users = users;
+    }
+
+    // ступени по очереди; после ступени, где ошибок больше maxErrorRate, частоту больше не поднимаем — сервер уже лёг
+    public StormResult storm(List<Integer> rates, Duration stepDuration, double maxErrorRate) throws InterruptedException {
+        StormResult result = new StormResult(maxErrorRate);
+        AtomicLong next = new AtomicLong();
+        for (int rate : rates) {
+            Step step = step(rate, stepDuration, next);
+            result.steps.add(step);
+            if (step.getErrorRate() > maxErrorRate) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private Step step(int rate, Duration duration, AtomicLong next) throws InterruptedException {
+        long start = System.nanoTime();
+        RunRecorder recorder = new RunRecorder("login-" + rate, start, duration.toMillis());
+        LoadClient client = new LoadClient(targets, recorder);
+        long arrivals = rate * duration.toMillis() / 1_000;
+        long intervalNanos = 1_000_000_000L / rate;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < arrivals; i++) {
+                long wait = start + i * intervalNanos - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                UserCredentials creds = users.get((int) (next.getAndIncrement() % users.size()));
+                executor.submit(() -> client.login(creds));
+            }
+        }
+        // время ступени — до последнего ответа: хвост очереди на сервере тоже её часть
+        return new Step(rate, arrivals, System.nanoTime() - start, recorder.get(Endpoint.LOGIN));
+    }
+
+    // requests запросов GET /customer/accounts в каждом режиме, по очереди, на concurrency потоках
+    public AuthResult authOverhead(int requests, int concurrency) throws InterruptedException {
+        LoadClient setup = new LoadClient(targets, new RunRecorder("auth-setup", System.nanoTime(), 1_000));
+        List<String> tokens = new ArrayList<>();
+        for (UserCredentials creds : users.subList(0, Math.min(users.size(), concurrency))) {
+            LoadSession session = setup.login(creds);
+            if (session == null) {
+                throw new IllegalStateException("Юзер " + creds.getUsername() + " не логинится");
+            }
+            tokens.add(session.getAuthHeader());
+        }
+
+        AuthResult result = new AuthResult();
+        for (AuthMode mode : AuthMode.values()) {
+            LatencyHistogram latency = result.latency.get(mode);
+            AtomicLong next = new AtomicLong();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int t = 0; t < tokens.size(); t++) {
+                    UserCredentials creds = users.get(t);
+                    String token = tokens.get(t);
+                    executor.submit(() -> {
+                        LoadClient client = new LoadClient(targets, new RunRecorder("auth-" + mode, System.nanoTime(), 1_000));
+                        for (long i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                            long start = System.nanoTime();
+                            boolean ok = switch (mode) {
+                                case TOKEN -> accounts(creds, token);
+                                case BASIC -> accounts(creds, basic(creds));
+                                case LOGIN_EACH_REQUEST -> {
+                                    LoadSession session = client.login(creds);
+                                    yield session != null && accounts(creds, session.getAuthHeader());
+                                }
+                            };
+                            if (ok) {
+                                latency.recordNanos(System.nanoTime() - start);
+                            } else {
+                                result.errors.get(mode).incrementAndGet();
+                            }
+                        }
+                    });
+                }
+            }
+        }
+        return result;
+    }
+
+    private boolean accounts(UserCredentials creds, String authHeader) {
+        try {
+            return given()
+                    .noFilters()
+                    .config(EndpointTimeouts.forPath(Endpoint.GET_ACCOUNTS.getPath()).applyTo(RestAssured.config()))
+                    .accept(ContentType.JSON)
+                    .header("Authorization", authHeader)
+                    .header(RequestIds.HEADER, RequestIds.next())
+                    .get(targets.nodeFor(creds.getUsername()) + Endpoint.GET_ACCOUNTS.getPath())
+                    .statusCode() == 200;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static String basic(UserCredentials creds) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((creds.getUsername() + ":" + creds.getPassword()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static class StormResult {
+        private final double maxErrorRate;
+        private final List<Step> steps = new ArrayList<>();
+
+        StormResult(double maxErrorRate) {
+            this.maxErrorRate = maxErrorRate;
+        }
+
+        public List<Step> getSteps() {
+            return steps;
+        }
+
+        // самая высокая частота, которую сервер выдержал: ошибок не больше порога и пропускная не ниже 90% заданной
+        public int getSustainedRate() {
+            int sustained = 0;
+            for (Step step : steps) {
+                if (step.getErrorRate() <= maxErrorRate && step.getThroughput() >= step.getRate() * 0.9) {
+                    sustained = step.getRate();
+                }
+            }
+            return sustained;
+        }
+
+        public String describe() {
+            StringBuilder sb = new StringBuilder(String.format("%8s %8s %10s %8s %9s %9s %9s%n",
+                    "rps", "логинов", "пропускная", "ошибки", "p50 мкс", "p99 мкс", "max мкс"));
+            for (Step step : steps) {
+                LatencyHistogram latency = step.getLatency();
+                sb.append(String.format("%8d %8d %10.1f %7.1f%% %9d %9d %9d%n", step.getRate(), step.getSent(),
+                        step.getThroughput(), step.getErrorRate() * 100, latency.getValueAtPercentile(50),
+                        latency.getValueAtPercentile(99), latency.getMax()));
+            }
+            return sb.append("выдержанная частота логинов: ").append(getSustainedRate()).append(" в секунду")
+                    .append(System.lineSeparator()).toString();
+        }
+    }
+
+    public static class Step {
+        private final int rate;
+        private final long sent;
+        private final long elapsedNanos;
+        private final EndpointRecorder login;
+
+        Step(int rate, long sent, long elapsedNanos, EndpointRecorder login) {
+            this.rate = rate;
+            this.sent = sent;
+            this.elapsedNanos = elapsedNanos;
+            this.login = login;
+        }
+
+        public int getRate() {
+            return rate;
+        }
+
+        public long getSent() {
+            return sent;
+        }
+
+        public LatencyHistogram getLatency() {
+            return login.getHistogram();
+        }
+
+        // удачных логинов в секунду
+        public double getThroughput() {
+            return (sent - login.getErrors()) * 1e9 / elapsedNanos;
+        }
+
+        public double getErrorRate() {
+            return sent == 0 ? 0 : (double) login.getErrors() / sent;
+        }
+    }
+
+    public static class AuthResult {
+        private final Map<AuthMode, LatencyHistogram> latency = new EnumMap<>(AuthMode.class);
+        private final Map<AuthMode, AtomicLong> errors = new EnumMap<>(AuthMode.class);
+
+        AuthResult() {
+            for (AuthMode mode : AuthMode.values()) {
+                latency.put(mode, new LatencyHistogram());
+                errors.put(mode, new AtomicLong());
+            }
+        }
+
+        public LatencyHistogram getLatency(AuthMode mode) {
+            return latency.get(mode);
+        }
+
+        public long getErrors(AuthMode mode) {
+            return errors.get(mode).get();
+        }
+
+        // во сколько раз запрос в режиме дороже запроса с готовым токеном, по среднему
+        public double overhead(AuthMode mode) {
+            return latency.get(mode).getMean() / Math.max(1, latency.get(AuthMode.TOKEN).getMean());
+        }
+
+        public String describe() {
+            StringBuilder sb = new StringBuilder(String.format("%-20s %8s %7s %9s %9s %9s %8s%n",
+                    "авторизация", "n", "ошибки", "mean мкс", "p50 мкс", "p99 мкс", "к токену"));
+            latency.forEach((mode, histogram) -> sb.append(String.format("%-20s %8d %7d %9.0f %9d %9d %7.2fx%n", mode,
+                    histogram.getTotalCount(), errors.get(mode).get(), histogram.getMean(),
+                    histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(99), overhead(mode))));
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package iteration2test.load;
+
+import iteration2test.TestDataFactory;
+import iteration2test.UserCredentials;
+import iteration2test.standin.StandInCluster;
+import iteration2test.support.ApiTargets;
+import iteration2test.support.ConsistentHashRing;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoginStormRunnerTest {
+
+    @Test
+    @Tag("standin")
+    public void stormStepsAndAuthModesAgainstStandIn() throws InterruptedException {
+        try (StandInCluster cluster = StandInCluster.start(1, Duration.ZERO)) {
+            ConsistentHashRing ring = new ConsistentHashRing(List.of(ApiTargets.apiUrlOf(cluster.baseUrls().get(0))));
+
+            // 1. готовые юзеры
+            LoadClient setup = new LoadClient(ring, new RunRecorder("setup", System.nanoTime(), 1_000));
+            List<UserCredentials> users = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                UserCredentials creds = TestDataFactory.generateUser();
+                assertTrue(setup.createUser(creds));
+                users.add(creds);
+            }
+            LoginStormRunner runner = new LoginStormRunner(ring, users);
+
+            // 2. две ступени: все логины отправлены по расписанию и прошли (пропускную не проверяем — на стенде она зависит от машины)
+            LoginStormRunner.StormResult storm = runner.storm(List.of(20, 40), Duration.ofSeconds(1), 0.05);
+            assertEquals(2, storm.getSteps().size(), storm.describe());
+            assertEquals(20, storm.getSteps().get(0).getSent());
+            assertEquals(40, storm.getSteps().get(1).getSent());
+            storm.getSteps().forEach(step -> assertEquals(0, step.getErrorRate(), storm.describe()));
+
+            // 3. все режимы авторизации пускают юзера, логин перед запросом дороже готового токена
+            LoginStormRunner.AuthResult auth = runner.authOverhead(60, 4);
+            for (LoginStormRunner.AuthMode mode : LoginStormRunner.AuthMode.values()) {
+                assertEquals(0, auth.getErrors(mode), auth.describe());
+                assertEquals(60, auth.getLatency(mode).getTotalCount(), auth.describe());
+            }
+            assertNotNull(auth.describe());
+            assertTrue(auth.overhead(LoginStormRunner.AuthMode.LOGIN_EACH_REQUEST) > 1, auth.describe());
+        }
+    }
+
+    @Test
+    public void stormStopsRaisingRateOnceServerFails() throws InterruptedException {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("http://127.0.0.1:1/api/v1"));
+        LoginStormRunner runner = new LoginStormRunner(ring, List.of(TestDataFactory.generateUser()));
+
+        LoginStormRunner.StormResult storm = runner.storm(List.of(10, 20, 40), Duration.ofMillis(500), 0.05);
+
+        assertEquals(1, storm.getSteps().size(), storm.describe());
+        assertEquals(0, storm.getSustainedRate());
+    }
+}
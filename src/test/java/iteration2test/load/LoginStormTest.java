@@ -0,0 +1,60 @@
+package iteration2test.load;
+
+import iteration2test.UserCredentials;
+import iteration2test.seed.BulkSeeder;
+import iteration2test.seed.SeedCheckpoint;
+import iteration2test.seed.SeededUser;
+import iteration2test.support.ApiTargets;
+import iteration2test.support.TestConfig;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// запуск: mvn test -Pperf -Dtest=LoginStormTest [-Dnbank.loginStorm.rates=50,100,200,400,800,1600]
+// юзеры берутся из файла засева (nbank.seed.file, см. BulkSeedTest); если их меньше nbank.loginStorm.users —
+// недостающие досеиваются туда же без счетов, чтобы засев не попадал в замер.
+// падает, если сервер не выдержал даже nbank.loginStorm.minSustainedRate логинов в секунду
+@Tag("perf")
+public class LoginStormTest {
+
+    @Test
+    public void loginStormAndAuthOverhead() throws InterruptedException, IOException {
+        int userCount = TestConfig.getInt("nbank.loginStorm.users", 200);
+
+        // 1. готовые юзеры
+        List<UserCredentials> users;
+        try (SeedCheckpoint checkpoint = new SeedCheckpoint(Path.of(TestConfig.getString("nbank.seed.file", "target/seed/seeded-users.csv")))) {
+            if (checkpoint.read().size() < userCount) {
+                new BulkSeeder(ApiTargets.ring(), TestConfig.getInt("nbank.seed.concurrency", 64), 0,
+                        TestConfig.getInt("nbank.seed.maxAttempts", 5), TestConfig.getMillis("nbank.seed.backoffMillis", 100))
+                        .run(checkpoint, userCount, TestConfig.getLong("nbank.seed.maxFailures", 1_000));
+            }
+            users = checkpoint.read().stream().limit(userCount).map(SeededUser::getCredentials).toList();
+        }
+        LoginStormRunner runner = new LoginStormRunner(ApiTargets.ring(), users);
+
+        // 2. шторм по ступеням и цена авторизации
+        List<Integer> rates = TestConfig.getList("nbank.loginStorm.rates", "50,100,200,400,800").stream()
+                .map(Integer::parseInt).toList();
+        LoginStormRunner.StormResult storm = runner.storm(rates, TestConfig.getSeconds("nbank.loginStorm.stepSeconds", 10),
+                TestConfig.getDouble("nbank.loginStorm.maxErrorRate", 0.05));
+        LoginStormRunner.AuthResult auth = runner.authOverhead(TestConfig.getInt("nbank.loginStorm.authRequests", 2_000),
+                TestConfig.getInt("nbank.loginStorm.authConcurrency", 16));
+
+        String report = storm.describe() + System.lineSeparator() + auth.describe();
+        System.out.println(report);
+        Path file = Path.of("target", "perf", "login-storm.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report, StandardCharsets.UTF_8);
+        int minRate = TestConfig.getInt("nbank.loginStorm.minSustainedRate", 50);
+        assertTrue(storm.getSustainedRate() >= minRate,
+                "сервер не выдержал " + minRate + " логинов в секунду:\n" + report);
+    }
+}
@@ -0,0 +1,149 @@
+package iteration2test.load;
+
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+// генератор имён для PUT /customer/profile по грамматике: каждый класс входа знает,
+// как собрать имя и что сервер должен ответить (null — правило не зафиксировано, только смотрим).
+// правило из UserRenameTest: ровно два слова из латинских букв через один пробел
+public class NameCorpus {
+
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String DIGITS = "0123456789";
+    private static final String PUNCTUATION = "-'.,!?_@#$%&*()[]{}<>/\\\"";
+    private static final String UNICODE_LETTERS = "абвгдеёжзийклмнопрстуфхцчшщыэюяАБВГДЕЖЗИКЛМНОПРСТЭЮЯéèêñüöçßøåÆŁ";
+
+    public enum InputClass {
+        TWO_WORDS(true) {
+            String generate(SplittableRandom random) {
+                return word(random, LETTERS, 1, 12) + " " + word(random, LETTERS, 1, 12);
+            }
+        },
+        LONG_WORDS(null) {
+            String generate(SplittableRandom random) {
+                return word(random, LETTERS, 100, 5_000) + " " + word(random, LETTERS, 100, 5_000);
+            }
+        },
+        ONE_WORD(false) {
+            String generate(SplittableRandom random) {
+                return word(random, LETTERS, 1, 30);
+            }
+        },
+        MANY_WORDS(false) {
+            String generate(SplittableRandom random) {
+                return words(random, LETTERS, 3 + random.nextInt(8), " ");
+            }
+        },
+        DIGITS_ONLY(false) {
+            String generate(SplittableRandom random) {
+                return word(random, DIGITS, 1, 10) + " " + word(random, DIGITS, 1, 10);
+            }
+        },
+        LETTERS_AND_DIGITS(false) {
+            String generate(SplittableRandom random) {
+                return word(random, LETTERS, 1, 8) + word(random, DIGITS, 1, 3) + " " + word(random, LETTERS, 1, 8);
+            }
+        },
+        BLANK(false) {
+            String generate(SplittableRandom random) {
+                return word(random, " \t", 0, 20);
+            }
+        },
+        EXTRA_SPACES(null) {
+            String generate(SplittableRandom random) {
+                return word(random, " ", 0, 3) + word(random, LETTERS, 1, 10) + word(random, " ", 2, 5)
+                        + word(random, LETTERS, 1, 10) + word(random, " ", 0, 3);
+            }
+        },
+        PUNCTUATION_INSIDE(null) {
+            String generate(SplittableRandom random) {
+                String first = word(random, LETTERS, 1, 6) + pick(random, PUNCTUATION) + word(random, LETTERS, 1, 6);
+                return first + " " + word(random, LETTERS, 1, 12);
+            }
+        },
+        NON_LATIN(null) {
+            String generate(SplittableRandom random) {
+                return word(random, UNICODE_LETTERS, 1, 12) + " " + word(random, UNICODE_LETTERS, 1, 12);
+            }
+        },
+        // много коротких слов и мусор в конце: неудачный регэксп на таком уходит в перебор
+        BACKTRACKING(false) {
+            String generate(SplittableRandom random) {
+                return words(random, "a", 500 + random.nextInt(2_000), " ") + "!";
+            }
+        };
+
+        private final Boolean valid;
+
+        InputClass(Boolean valid) {
+            this.valid = valid;
+        }
+
+        abstract String generate(SplittableRandom random);
+
+        // true/false — ожидаемый ответ сервера, null — не проверяем
+        public Boolean getValid() {
+            return valid;
+        }
+    }
+
+    private final long seed;
+
+    public NameCorpus(long seed) {
+        this.seed = seed;
+    }
+
+    // бесконечный поток: классы по кругу, сами имена — из отдельного генератора на каждый элемент,
+    // так что n-й элемент зависит только от seed и n (поток можно резать и раздавать потокам)
+    public Stream<NameCase> stream() {
+        return Stream.iterate(0L, i -> i + 1).map(this::get);
+    }
+
+    public NameCase get(long index) {
+        InputClass[] classes = InputClass.values();
+        InputClass inputClass = classes[(int) (index % classes.length)];
+        return new NameCase(inputClass, inputClass.generate(new SplittableRandom(seed * 31 + index)));
+    }
+
+    private static String word(SplittableRandom random, String alphabet, int minLength, int maxLength) {
+        int length = minLength + random.nextInt(maxLength - minLength + 1);
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(pick(random, alphabet));
+        }
+        return sb.toString();
+    }
+
+    private static String words(SplittableRandom random, String alphabet, int count, String separator) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(separator);
+            }
+            sb.append(word(random, alphabet, 1, 3));
+        }
+        return sb.toString();
+    }
+
+    private static char pick(SplittableRandom random, String alphabet) {
+        return alphabet.charAt(random.nextInt(alphabet.length()));
+    }
+
+    public static class NameCase {
+        private final InputClass inputClass;
+        private final String name;
+
+        public NameCase(InputClass inputClass, String name) {
+            this.inputClass = inputClass;
+            this.name = name;
+        }
+
+        public InputClass getInputClass() {
+            return inputClass;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
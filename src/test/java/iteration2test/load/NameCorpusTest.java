@@ -0,0 +1,55 @@
+package iteration2test.load;
+
+import iteration2test.standin.StandInCluster;
+import iteration2test.support.ApiTargets;
+import iteration2test.support.ConsistentHashRing;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NameCorpusTest {
+
+    private static final Pattern RULE = Pattern.compile("[A-Za-z]+ [A-Za-z]+");
+
+    @Test
+    public void generatedNamesMatchTheirClass() {
+        NameCorpus corpus = new NameCorpus(42);
+
+        // 1. одинаковый seed — одинаковые имена, классы по кругу
+        assertEquals(corpus.get(17).getName(), new NameCorpus(42).get(17).getName());
+        assertEquals(NameCorpus.InputClass.values()[0], corpus.get(NameCorpus.InputClass.values().length).getInputClass());
+
+        // 2. классы с известным ответом действительно по ту или другую сторону правила
+        corpus.stream().limit(5_000)
+                .filter(nameCase -> nameCase.getInputClass().getValid() != null)
+                .forEach(nameCase -> assertEquals(nameCase.getInputClass().getValid(),
+                        RULE.matcher(nameCase.getName()).matches(),
+                        nameCase.getInputClass() + ": \"" + nameCase.getName() + "\""));
+    }
+
+    @Test
+    @Tag("standin")
+    public void runnerReportsEveryClassAgainstStandIn() throws InterruptedException {
+        try (StandInCluster cluster = StandInCluster.start(1, Duration.ZERO)) {
+            NameValidationRunner runner = new NameValidationRunner(
+                    new ConsistentHashRing(List.of(ApiTargets.apiUrlOf(cluster.baseUrls().get(0)))), 4);
+
+            int perClass = 10;
+            NameValidationRunner.Result result = runner.run(new NameCorpus(1),
+                    (long) perClass * NameCorpus.InputClass.values().length);
+
+            assertEquals(0, result.getMismatches(), result.describe());
+            for (NameCorpus.InputClass inputClass : NameCorpus.InputClass.values()) {
+                assertEquals(perClass, result.get(inputClass).getLatency().getTotalCount(), inputClass.name());
+                assertEquals(0, result.get(inputClass).getOther(), result.describe());
+            }
+            assertTrue(result.get(NameCorpus.InputClass.TWO_WORDS).getAccepted() == perClass);
+        }
+    }
+}
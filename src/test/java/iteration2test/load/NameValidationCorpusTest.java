@@ -0,0 +1,39 @@
+package iteration2test.load;
+
+import iteration2test.support.ApiTargets;
+import iteration2test.support.TeardownExtension;
+import iteration2test.support.TestConfig;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// запуск: mvn test -Pperf -Dtest=NameValidationCorpusTest [-Dnbank.names.count=20000 -Dnbank.names.seed=7]
+// тысячи сгенерированных имён через PUT /customer/profile: задержка валидатора по классам входа
+// и расхождения с правилом «два слова из латинских букв»
+@Tag("perf")
+@ExtendWith(TeardownExtension.class)
+public class NameValidationCorpusTest {
+
+    @Test
+    public void validatorLatencyPerInputClass() throws InterruptedException, IOException {
+        NameValidationRunner runner = new NameValidationRunner(ApiTargets.ring(),
+                TestConfig.getInt("nbank.names.users", 8));
+
+        NameValidationRunner.Result result = runner.run(new NameCorpus(TestConfig.getLong("nbank.names.seed", 1)),
+                TestConfig.getLong("nbank.names.count", 5_000));
+
+        String report = result.describe();
+        System.out.println(report);
+        Path file = Path.of("target", "perf", "name-validation.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report, StandardCharsets.UTF_8);
+        assertEquals(0, result.getMismatches(), "сервер разошёлся с правилом валидации имён:\n" + report);
+    }
+}
@@ -0,0 +1,186 @@
+package iteration2test.load;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import iteration2test.TestDataFactory;
+import iteration2test.UserCredentials;
+import iteration2test.support.ConsistentHashRing;
+import iteration2test.support.EndpointTimeouts;
+import iteration2test.support.RequestIds;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.restassured.RestAssured.given;
+
+// прогоняет count имён из NameCorpus через PUT /customer/profile на небольшом пуле юзеров:
+// каждый юзер — свой виртуальный поток, имена раздаются из общего счётчика.
+// по каждому классу входа — задержка валидатора, распределение ответов и расхождения с ожиданием
+public class NameValidationRunner {
+
+    private static final int EXAMPLES = 3;
+
+    private final ConsistentHashRing targets;
+    private final int users;
+
+    public NameValidationRunner(ConsistentHashRing targets, int users) {
+        this.targets = targets;
+        this.users = users;
+    }
+
+    public Result run(NameCorpus corpus, long count) throws InterruptedException {
+        // 1 пул юзеров
+        LoadClient setupClient = new LoadClient(targets, new RunRecorder("names-setup", System.nanoTime(), 1_000));
+        List<LoadSession> sessions = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            UserCredentials creds = TestDataFactory.generateUser();
+            LoadSession session = setupClient.createUser(creds) ? setupClient.login(creds) : null;
+            if (session == null) {
+                throw new IllegalStateException("Не удалось подготовить юзера для прогона имён");
+            }
+            sessions.add(session);
+        }
+
+        // 2 имена по кругу классов, параллельно по юзерам
+        Result result = new Result();
+        AtomicLong next = new AtomicLong();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (LoadSession session : sessions) {
+                executor.submit(() -> {
+                    for (long i = next.getAndIncrement(); i < count; i = next.getAndIncrement()) {
+                        NameCorpus.NameCase nameCase = corpus.get(i);
+                        result.record(nameCase, rename(session, nameCase.getName()));
+                    }
+                });
+            }
+        }
+        return result;
+    }
+
+    // статус ответа и время в наносекундах; статус -1 — запрос не прошёл
+    private static long[] rename(LoadSession session, String name) {
+        long start = System.nanoTime();
+        int status;
+        try {
+            status = given()
+                    .noFilters()
+                    .config(EndpointTimeouts.forPath(Endpoint.UPDATE_PROFILE.getPath()).applyTo(RestAssured.config()))
+                    .contentType(ContentType.JSON)
+                    .accept(ContentType.JSON)
+                    .header("Authorization", session.getAuthHeader())
+                    .header(RequestIds.HEADER, RequestIds.next())
+                    .body("{\"name\": " + jsonString(name) + "}")
+                    .put(session.getApiUrl() + Endpoint.UPDATE_PROFILE.getPath())
+                    .statusCode();
+        } catch (Exception e) {
+            status = -1;
+        }
+        return new long[]{status, System.nanoTime() - start};
+    }
+
+    private static String jsonString(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    public static class Result {
+        private final Map<NameCorpus.InputClass, ClassStats> byClass = new EnumMap<>(NameCorpus.InputClass.class);
+
+        Result() {
+            for (NameCorpus.InputClass inputClass : NameCorpus.InputClass.values()) {
+                byClass.put(inputClass, new ClassStats());
+            }
+        }
+
+        private void record(NameCorpus.NameCase nameCase, long[] statusAndNanos) {
+            ClassStats stats = byClass.get(nameCase.getInputClass());
+            int status = (int) statusAndNanos[0];
+            stats.latency.recordNanos(statusAndNanos[1]);
+            if (status == 200) {
+                stats.accepted.increment();
+            } else if (status == 400) {
+                stats.rejected.increment();
+            } else {
+                stats.other.increment();
+            }
+            Boolean valid = nameCase.getInputClass().getValid();
+            if (valid != null && (status == 200) != valid) {
+                stats.mismatches.increment();
+                synchronized (stats.examples) {
+                    if (stats.examples.size() < EXAMPLES) {
+                        String name = nameCase.getName();
+                        stats.examples.add(status + " на \"" + (name.length() > 60 ? name.substring(0, 60) + "…" : name) + "\"");
+                    }
+                }
+            }
+        }
+
+        public ClassStats get(NameCorpus.InputClass inputClass) {
+            return byClass.get(inputClass);
+        }
+
+        public long getMismatches() {
+            return byClass.values().stream().mapToLong(stats -> stats.mismatches.sum()).sum();
+        }
+
+        public String describe() {
+            StringBuilder sb = new StringBuilder(String.format("%-20s %7s %6s %6s %6s %6s %9s %9s %9s %s%n",
+                    "класс", "n", "200", "400", "другое", "мимо", "p50 мкс", "p99 мкс", "max мкс", "ожидали"));
+            byClass.forEach((inputClass, stats) -> {
+                LatencyHistogram latency = stats.latency;
+                sb.append(String.format("%-20s %7d %6d %6d %6d %6d %9d %9d %9d %s%n", inputClass,
+                        latency.getTotalCount(), stats.accepted.sum(), stats.rejected.sum(), stats.other.sum(),
+                        stats.mismatches.sum(), latency.getValueAtPercentile(50), latency.getValueAtPercentile(99),
+                        latency.getMax(), inputClass.getValid() == null ? "-" : inputClass.getValid() ? "200" : "400"));
+                for (String example : stats.examples) {
+                    sb.append("    ").append(example).append(System.lineSeparator());
+                }
+            });
+            return sb.toString();
+        }
+    }
+
+    public static class ClassStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder accepted = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder other = new LongAdder();
+        private final LongAdder mismatches = new LongAdder();
+        private final List<String> examples = new ArrayList<>();
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getAccepted() {
+            return accepted.sum();
+        }
+
+        public long getRejected() {
+            return rejected.sum();
+        }
+
+        public long getOther() {
+            return other.sum();
+        }
+
+        public long getMismatches() {
+            return mismatches.sum();
+        }
+    }
+}
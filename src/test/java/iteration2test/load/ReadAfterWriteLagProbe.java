@@ -0,0 +1,171 @@
+package iteration2test.load;
+
+import iteration2test.TestDataFactory;
+import iteration2test.UserCredentials;
+import iteration2test.support.ConsistentHashRing;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// задержка видимости записи между узлами: депозит через узел A, затем опрос счёта на узле B,
+// пока баланс не станет ожидаемым. параллельно writers потоков создают фоновую нагрузку на запись
+public class ReadAfterWriteLagProbe {
+
+    private static final BigDecimal PROBE_AMOUNT = BigDecimal.ONE;
+
+    private final String writeNode;
+    private final String readNode;
+    private final Duration pollInterval;
+    private final Duration visibilityTimeout;
+
+    public ReadAfterWriteLagProbe(String writeNode, String readNode, Duration pollInterval, Duration visibilityTimeout) {
+        this.writeNode = writeNode;
+        this.readNode = readNode;
+        this.pollInterval = pollInterval;
+        this.visibilityTimeout = visibilityTimeout;
+    }
+
+    public LagResult measure(int writers, Duration duration) throws InterruptedException {
+        RunRecorder setupRecorder = new RunRecorder("lag-setup", System.nanoTime(), duration.toMillis());
+
+        // 1 юзер и счёт для замеров — на узле A, ждём, пока счёт появится на B
+        LoadClient setupClient = new LoadClient(new ConsistentHashRing(List.of(writeNode)), setupRecorder);
+        UserCredentials creds = TestDataFactory.generateUser();
+        LoadSession writer = setupClient.createUser(creds) ? setupClient.login(creds) : null;
+        Integer accountId = writer == null ? null : setupClient.createAccount(writer);
+        if (accountId == null) {
+            throw new IllegalStateException("Не удалось подготовить юзера для замера на " + writeNode);
+        }
+        LoadSession reader = writer.onNode(readNode);
+        BigDecimal balance = awaitBalance(setupClient, reader, accountId, BigDecimal.ZERO, System.nanoTime());
+        if (balance == null) {
+            throw new IllegalStateException("Счёт " + accountId + " так и не появился на " + readNode);
+        }
+
+        // время замера отсчитываем после подготовки
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        RunRecorder probeRecorder = new RunRecorder("lag-probe", start, duration.toMillis());
+        RunRecorder writeRecorder = new RunRecorder("lag-writers", start, duration.toMillis());
+        LoadClient probeClient = new LoadClient(new ConsistentHashRing(List.of(writeNode)), probeRecorder);
+
+        LatencyHistogram lag = new LatencyHistogram();
+        long timeouts = 0;
+        long probes = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // 2 фоновые писатели: по своему юзеру и счёту, депозиты по 1 до конца замера
+            LoadClient writeClient = new LoadClient(new ConsistentHashRing(List.of(writeNode, readNode)), writeRecorder);
+            for (int i = 0; i < writers; i++) {
+                executor.submit(() -> backgroundWrites(writeClient, end));
+            }
+
+            // 3 замеры: депозит на A -> опрос B
+            boolean resync = false;
+            while (System.nanoTime() < end) {
+                if (resync) {
+                    // упавший депозит мог пройти на сервере, и следующий замер увидел бы свой баланс сразу:
+                    // берём баланс заново с A и ждём его на B, в замер это не идёт
+                    BigDecimal actual = probeClient.accountBalance(writer, accountId);
+                    if (actual == null || awaitBalance(probeClient, reader, accountId, actual, System.nanoTime()) == null) {
+                        continue;
+                    }
+                    balance = actual;
+                    resync = false;
+                }
+                if (!probeClient.deposit(writer, accountId, PROBE_AMOUNT.toPlainString())) {
+                    resync = true;
+                    continue;
+                }
+                long acknowledged = System.nanoTime();
+                BigDecimal expected = balance.add(PROBE_AMOUNT);
+                BigDecimal seen = awaitBalance(probeClient, reader, accountId, expected, acknowledged);
+                if (seen != null && seen.compareTo(expected) > 0) {
+                    // на счёте больше, чем мы положили, — прошла неучтённая запись, и лаг этого замера не настоящий
+                    resync = true;
+                    continue;
+                }
+                probes++;
+                if (seen == null) {
+                    timeouts++;
+                } else {
+                    lag.recordNanos(System.nanoTime() - acknowledged);
+                }
+                balance = expected;
+            }
+        }
+
+        double writeRps = writeRecorder.get(Endpoint.DEPOSIT).getHistogram().getTotalCount() * 1e9
+                / Math.max(1, System.nanoTime() - start);
+        return new LagResult(writers, writeRps, lag, probes, timeouts,
+                writeRecorder.get(Endpoint.DEPOSIT).getErrors() + probeRecorder.get(Endpoint.DEPOSIT).getErrors());
+    }
+
+    // ждём, пока узел сессии покажет баланс не меньше expected; null — не дождались
+    private BigDecimal awaitBalance(LoadClient client, LoadSession session, int accountId,
+                                    BigDecimal expected, long since) throws InterruptedException {
+        long deadline = since + visibilityTimeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            BigDecimal balance = client.accountBalance(session, accountId);
+            if (balance != null && balance.compareTo(expected) >= 0) {
+                return balance;
+            }
+            if (!pollInterval.isZero()) {
+                Thread.sleep(pollInterval);
+            }
+        }
+        return null;
+    }
+
+    private static void backgroundWrites(LoadClient client, long end) {
+        UserCredentials creds = TestDataFactory.generateUser();
+        LoadSession session = client.createUser(creds) ? client.login(creds) : null;
+        Integer accountId = session == null ? null : client.createAccount(session);
+        if (accountId == null) {
+            return;
+        }
+        while (System.nanoTime() < end) {
+            client.deposit(session, accountId, "1");
+        }
+    }
+
+    public static class LagResult {
+
+        private final int writers;
+        private final double writeRps;
+        private final LatencyHistogram lag;
+        private final long probes;
+        private final long timeouts;
+        private final long writeErrors;
+
+        LagResult(int writers, double writeRps, LatencyHistogram lag, long probes, long timeouts, long writeErrors) {
+            this.writers = writers;
+            this.writeRps = writeRps;
+            this.lag = lag;
+            this.probes = probes;
+            this.timeouts = timeouts;
+            this.writeErrors = writeErrors;
+        }
+
+        public LatencyHistogram getLag() {
+            return lag;
+        }
+
+        public long getProbes() {
+            return probes;
+        }
+
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        public String describe() {
+            return String.format("писателей=%d записей/с=%.1f замеров=%d лаг p50=%d p95=%d p99=%d max=%d мкс не дождались=%d ошибок записи=%d",
+                    writers, writeRps, probes,
+                    lag.getValueAtPercentile(50), lag.getValueAtPercentile(95), lag.getValueAtPercentile(99), lag.getMax(),
+                    timeouts, writeErrors);
+        }
+    }
+}
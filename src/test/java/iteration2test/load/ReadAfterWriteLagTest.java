@@ -0,0 +1,44 @@
+package iteration2test.load;
+
+import iteration2test.standin.StandInCluster;
+import iteration2test.support.ApiTargets;
+import iteration2test.support.TeardownExtension;
+import iteration2test.support.TestConfig;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+
+// запуск на кластере: mvn test -Pperf -Dtest=ReadAfterWriteLagTest -Dnbank.baseUrls=http://a:4111,http://b:4111
+// на локальной заглушке из двух узлов: -Dnbank.lag.standIn=true -Dnbank.standin.replicationDelayMillis=50
+@Tag("perf")
+@ExtendWith(TeardownExtension.class)
+public class ReadAfterWriteLagTest {
+
+    @Test
+    public void depositVisibilityLagUnderGrowingWriteLoad() throws InterruptedException {
+        boolean standIn = TestConfig.getBoolean("nbank.lag.standIn", false);
+        try (StandInCluster cluster = standIn
+                ? StandInCluster.start(2, TestConfig.getMillis("nbank.standin.replicationDelayMillis", 50))
+                : null) {
+            List<String> nodes = cluster != null
+                    ? cluster.baseUrls().stream().map(ApiTargets::apiUrlOf).toList()
+                    : ApiTargets.allApiUrls();
+            Assumptions.assumeTrue(nodes.size() > 1,
+                    "Нужно два узла в nbank.baseUrls или -Dnbank.lag.standIn=true");
+
+            ReadAfterWriteLagProbe probe = new ReadAfterWriteLagProbe(nodes.get(0), nodes.get(1),
+                    TestConfig.getMillis("nbank.lag.pollMillis", 2),
+                    TestConfig.getMillis("nbank.lag.timeoutMillis", 10_000));
+
+            System.out.println("запись: " + nodes.get(0) + ", чтение: " + nodes.get(1));
+            for (String writers : TestConfig.getList("nbank.lag.writers", "0,8,32,128")) {
+                ReadAfterWriteLagProbe.LagResult result = probe.measure(Integer.parseInt(writers),
+                        TestConfig.getSeconds("nbank.lag.secondsPerLevel", 20));
+                System.out.println(result.describe());
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package iteration2test.load;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import iteration2test.TestDataFactory;
+import iteration2test.UserCredentials;
+import iteration2test.support.ConsistentHashRing;
+import iteration2test.support.EndpointTimeouts;
+import iteration2test.support.RequestIds;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import static io.restassured.RestAssured.given;
+
+// writers потоков одновременно переименовывают одного и того же юзера, каждый — своим валидным именем.
+// после раунда имя в профиле должно быть одним из принятых сервером (последний писатель выигрывает),
+// а не склейкой нескольких имён и не чем-то, что валидатор бы не пропустил.
+// по каждому уровню конкуренции — задержка PUT /customer/profile, чтобы видеть, как она растёт на одной строке
+public class RenameContentionRunner {
+
+    private static final Pattern VALID_NAME = Pattern.compile("[A-Za-z]+ [A-Za-z]+");
+    private static final int EXAMPLES = 5;
+
+    private final ConsistentHashRing targets;
+
+    public RenameContentionRunner(ConsistentHashRing targets) {
+        this.targets = targets;
+    }
+
+    public Result run(List<Integer> writerCounts, int rounds) throws InterruptedException {
+        // 1 один юзер на весь прогон — конкурируют за одну и ту же строку
+        LoadClient setup = new LoadClient(targets, new RunRecorder("rename-setup", System.nanoTime(), 1_000));
+        UserCredentials creds = TestDataFactory.generateUser();
+        LoadSession session = setup.createUser(creds) ? setup.login(creds) : null;
+        if (session == null) {
+            throw new IllegalStateException("Не удалось подготовить юзера для переименований");
+        }
+
+        // номер раунда сквозной на весь прогон: имя из прошлого уровня не сойдёт за принятое в этом
+        Result result = new Result();
+        int round = 0;
+        for (int writers : writerCounts) {
+            Level level = new Level(writers);
+            result.levels.put(writers, level);
+            for (int i = 0; i < rounds; i++) {
+                round(session, level, round++);
+            }
+        }
+        return result;
+    }
+
+    private void round(LoadSession session, Level level, int round) throws InterruptedException {
+        // 2 все писатели стартуют по одному сигналу
+        Set<String> accepted = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int writer = 0; writer < level.writers; writer++) {
+                String name = "Writer" + letters(writer) + " Round" + letters(round);
+                executor.submit(() -> {
+                    start.await();
+                    rename(session, name, level, accepted);
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        // 3 итог раунда читаем после того, как ответили все
+        String finalName = profileName(session);
+        level.rounds.increment();
+        if (finalName == null) {
+            level.errors.increment();
+        } else if (!accepted.contains(finalName) || !VALID_NAME.matcher(finalName).matches()) {
+            level.lostOrTorn.increment();
+            level.example("в профиле \"" + finalName + "\", принятых имён " + accepted.size());
+        }
+    }
+
+    private void rename(LoadSession session, String name, Level level, Set<String> accepted) {
+        long started = System.nanoTime();
+        Response response;
+        try {
+            response = given()
+                    .noFilters()
+                    .config(EndpointTimeouts.forPath(Endpoint.UPDATE_PROFILE.getPath()).applyTo(RestAssured.config()))
+                    .contentType(ContentType.JSON)
+                    .accept(ContentType.JSON)
+                    .header("Authorization", session.getAuthHeader())
+                    .header(RequestIds.HEADER, RequestIds.next())
+                    .body("{\"name\": \"" + name + "\"}")
+                    .put(session.getApiUrl() + Endpoint.UPDATE_PROFILE.getPath());
+        } catch (Exception e) {
+            level.errors.increment();
+            return;
+        }
+        level.latency.recordNanos(System.nanoTime() - started);
+        if (response.statusCode() != 200) {
+            level.errors.increment();
+            return;
+        }
+        // ответ на PUT должен вернуть именно это имя, а не чужое из соседнего запроса
+        String echoed = response.jsonPath().getString("customer.name");
+        if (!name.equals(echoed)) {
+            level.lostOrTorn.increment();
+            level.example("отправили \"" + name + "\", в ответе \"" + echoed + "\"");
+        }
+        accepted.add(name);
+    }
+
+    private String profileName(LoadSession session) {
+        try {
+            Response response = given()
+                    .noFilters()
+                    .config(EndpointTimeouts.forPath("/customer/profile").applyTo(RestAssured.config()))
+                    .accept(ContentType.JSON)
+                    .header("Authorization", session.getAuthHeader())
+                    .header(RequestIds.HEADER, RequestIds.next())
+                    .get(session.getApiUrl() + "/customer/profile");
+            return response.statusCode() == 200 ? response.jsonPath().getString("name") : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // номер буквами: валидное имя — только латиница
+    private static String letters(int number) {
+        StringBuilder sb = new StringBuilder();
+        do {
+            sb.append((char) ('a' + number % 26));
+            number /= 26;
+        } while (number > 0);
+        return sb.toString();
+    }
+
+    public static class Result {
+        private final Map<Integer, Level> levels = new LinkedHashMap<>();
+
+        public Level get(int writers) {
+            return levels.get(writers);
+        }
+
+        public long getLostOrTorn() {
+            return levels.values().stream().mapToLong(Level::getLostOrTorn).sum();
+        }
+
+        public String describe() {
+            long baseline = levels.values().stream().findFirst().map(level -> level.latency.getValueAtPercentile(50)).orElse(0L);
+            StringBuilder sb = new StringBuilder(String.format("%8s %7s %7s %7s %9s %9s %9s %8s%n",
+                    "писателей", "PUT", "ошибки", "битые", "p50 мкс", "p99 мкс", "max мкс", "p50 к 1-му"));
+            levels.forEach((writers, level) -> {
+                LatencyHistogram latency = level.latency;
+                sb.append(String.format("%8d %7d %7d %7d %9d %9d %9d %7.2fx%n", writers, latency.getTotalCount(),
+                        level.getErrors(), level.getLostOrTorn(), latency.getValueAtPercentile(50),
+                        latency.getValueAtPercentile(99), latency.getMax(),
+                        (double) latency.getValueAtPercentile(50) / Math.max(1, baseline)));
+                level.examples.forEach(example -> sb.append("    ").append(example).append(System.lineSeparator()));
+            });
+            return sb.toString();
+        }
+    }
+
+    public static class Level {
+        private final int writers;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder rounds = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder lostOrTorn = new LongAdder();
+        private final List<String> examples = new ArrayList<>();
+
+        Level(int writers) {
+            this.writers = writers;
+        }
+
+        private void example(String text) {
+            synchronized (examples) {
+                if (examples.size() < EXAMPLES) {
+                    examples.add(text);
+                }
+            }
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getRounds() {
+            return rounds.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        // имя в профиле не из принятых, не проходит валидацию или ответ PUT вернул чужое имя
+        public long getLostOrTorn() {
+            return lostOrTorn.sum();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package iteration2test.load;
+
+import iteration2test.standin.StandInCluster;
+import iteration2test.support.ApiTargets;
+import iteration2test.support.ConsistentHashRing;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("standin")
+public class RenameContentionRunnerTest {
+
+    @Test
+    public void lastWriterWinsAgainstStandIn() throws InterruptedException {
+        try (StandInCluster cluster = StandInCluster.start(1, Duration.ZERO)) {
+            ConsistentHashRing ring = new ConsistentHashRing(List.of(ApiTargets.apiUrlOf(cluster.baseUrls().get(0))));
+
+            RenameContentionRunner.Result result = new RenameContentionRunner(ring).run(List.of(1, 8), 3);
+
+            // 1. каждый раунд закончился одним из принятых имён, все PUT прошли
+            assertEquals(0, result.getLostOrTorn(), result.describe());
+            assertEquals(3, result.get(8).getRounds());
+            assertEquals(0, result.get(8).getErrors(), result.describe());
+            assertEquals(24, result.get(8).getLatency().getTotalCount());
+            assertEquals(3, result.get(1).getLatency().getTotalCount());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package iteration2test.load;
+
+import iteration2test.support.ApiTargets;
+import iteration2test.support.TeardownExtension;
+import iteration2test.support.TestConfig;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// запуск: mvn test -Pperf -Dtest=RenameContentionTest [-Dnbank.rename.writers=1,4,16,64,256 -Dnbank.rename.rounds=50]
+// одновременные переименования одного юзера: в профиле всегда одно из принятых имён целиком,
+// а задержка PUT /customer/profile по уровням показывает цену конкуренции за одну строку
+@Tag("perf")
+@ExtendWith(TeardownExtension.class)
+public class RenameContentionTest {
+
+    @Test
+    public void concurrentRenamesKeepOneSubmittedName() throws InterruptedException, IOException {
+        List<Integer> writers = TestConfig.getList("nbank.rename.writers", "1,2,4,8,16,32,64").stream()
+                .map(Integer::parseInt).toList();
+
+        RenameContentionRunner.Result result = new RenameContentionRunner(ApiTargets.ring())
+                .run(writers, TestConfig.getInt("nbank.rename.rounds", 20));
+
+        String report = result.describe();
+        System.out.println(report);
+        Path file = Path.of("target", "perf", "rename-contention.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report, StandardCharsets.UTF_8);
+        assertEquals(0, result.getLostOrTorn(), "имя в профиле не совпало ни с одним принятым:\n" + report);
+    }
+}
@@ -0,0 +1,166 @@
+package iteration2test.load;
+
+import iteration2test.support.TestConfig;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+// результаты одного прогона нагрузки по всем эндпоинтам; сохраняется в .properties,
+// чтобы потом сравнивать прогоны между собой
+public class RunRecorder {
+
+    private static final int SLOWEST = TestConfig.getInt("nbank.load.slowestRequests", 10);
+
+    private final String label;
+    private final long durationMillis;
+    private final Map<Endpoint, EndpointRecorder> endpoints = new EnumMap<>(Endpoint.class);
+
+    public RunRecorder(String label, long startNanos, long durationMillis) {
+        this.label = label;
+        this.durationMillis = durationMillis;
+        int seconds = (int) Math.ceil(durationMillis / 1000.0);
+        for (Endpoint endpoint : Endpoint.values()) {
+            endpoints.put(endpoint, new EndpointRecorder(endpoint, startNanos, seconds, SLOWEST));
+        }
+    }
+
+    private RunRecorder(String label, long durationMillis) {
+        this.label = label;
+        this.durationMillis = durationMillis;
+    }
+
+    public EndpointRecorder get(Endpoint endpoint) {
+        return endpoints.get(endpoint);
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    // сводка по эндпоинтам, где были запросы
+    public String describe() {
+        StringBuilder sb = new StringBuilder(label).append(System.lineSeparator());
+        endpoints.forEach((endpoint, recorder) -> {
+            LatencyHistogram histogram = recorder.getHistogram();
+            if (histogram.getTotalCount() == 0 && recorder.getErrors() == 0) {
+                return;
+            }
+            sb.append(String.format("%-18s n=%d rps=%.1f p50=%d p99=%d max=%d мкс ошибок=%d%n",
+                    endpoint, histogram.getTotalCount(), histogram.getTotalCount() * 1000.0 / Math.max(1, durationMillis),
+                    histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(99), histogram.getMax(),
+                    recorder.getErrors()));
+        });
+        List<SlowestRequests.Sample> slowest = getSlowest();
+        if (!slowest.isEmpty()) {
+            sb.append("самые медленные запросы:").append(System.lineSeparator());
+            for (SlowestRequests.Sample sample : slowest) {
+                sb.append(String.format("  %-18s %10d мкс  %s  X-Request-Id: %s%n", sample.getEndpoint(),
+                        sample.getLatencyMicros(), Instant.ofEpochMilli(sample.getStartEpochMillis()), sample.getRequestId()));
+            }
+        }
+        return sb.toString();
+    }
+
+    // самые медленные запросы прогона по всем эндпоинтам, от самого медленного
+    public List<SlowestRequests.Sample> getSlowest() {
+        SlowestRequests all = new SlowestRequests(SLOWEST);
+        endpoints.values().forEach(recorder -> recorder.getSlowest().getSamples().forEach(all::add));
+        return all.getSamples();
+    }
+
+    // складывает прогоны, шедшие одновременно (например, из нескольких JVM):
+    // гистограммы суммируются покорзинно, ответы по секундам — поэлементно
+    public static RunRecorder merge(String label, List<RunRecorder> runs) {
+        RunRecorder merged = new RunRecorder(label,
+                runs.stream().mapToLong(RunRecorder::getDurationMillis).max().orElse(0));
+        for (Endpoint endpoint : Endpoint.values()) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            long errors = 0;
+            long[] perSecond = new long[1];
+            SlowestRequests slowest = new SlowestRequests(SLOWEST);
+            for (RunRecorder run : runs) {
+                EndpointRecorder recorder = run.get(endpoint);
+                histogram.add(recorder.getHistogram());
+                recorder.getSlowest().getSamples().forEach(slowest::add);
+                errors += recorder.getErrors();
+                long[] seconds = recorder.getPerSecond();
+                if (seconds.length > perSecond.length) {
+                    perSecond = Arrays.copyOf(perSecond, seconds.length);
+                }
+                for (int i = 0; i < seconds.length; i++) {
+                    perSecond[i] += seconds[i];
+                }
+            }
+            merged.endpoints.put(endpoint, EndpointRecorder.restore(endpoint, histogram, errors, perSecond, slowest));
+        }
+        return merged;
+    }
+
+    public void save(Path file) {
+        Properties props = new Properties();
+        props.setProperty("label", label);
+        props.setProperty("durationMillis", Long.toString(durationMillis));
+        endpoints.forEach((endpoint, recorder) -> {
+            String prefix = "endpoint." + endpoint.name() + ".";
+            LatencyHistogram histogram = recorder.getHistogram();
+            props.setProperty(prefix + "count", Long.toString(histogram.getTotalCount()));
+            props.setProperty(prefix + "maxMicros", Long.toString(histogram.getMax()));
+            props.setProperty(prefix + "errors", Long.toString(recorder.getErrors()));
+            props.setProperty(prefix + "histogram", histogram.encode());
+            props.setProperty(prefix + "perSecond", Arrays.stream(recorder.getPerSecond())
+                    .mapToObj(Long::toString)
+                    .collect(Collectors.joining(",")));
+            props.setProperty(prefix + "slowest", recorder.getSlowest().encode());
+        });
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                props.store(writer, "nbank load run");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось сохранить результаты прогона в " + file, e);
+        }
+    }
+
+    public static RunRecorder load(Path file) {
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать результаты прогона из " + file, e);
+        }
+        RunRecorder run = new RunRecorder(props.getProperty("label", file.getFileName().toString()),
+                Long.parseLong(props.getProperty("durationMillis", "0")));
+        for (Endpoint endpoint : Endpoint.values()) {
+            String prefix = "endpoint." + endpoint.name() + ".";
+            LatencyHistogram histogram = LatencyHistogram.decode(props.getProperty(prefix + "histogram"),
+                    Long.parseLong(props.getProperty(prefix + "maxMicros", "0")));
+            String perSecond = props.getProperty(prefix + "perSecond", "");
+            long[] seconds = perSecond.isBlank()
+                    ? new long[1]
+                    : Arrays.stream(perSecond.split(",")).mapToLong(Long::parseLong).toArray();
+            run.endpoints.put(endpoint, EndpointRecorder.restore(endpoint, histogram,
+                    Long.parseLong(props.getProperty(prefix + "errors", "0")), seconds,
+                    SlowestRequests.decode(endpoint, props.getProperty(prefix + "slowest"), SLOWEST)));
+        }
+        return run;
+    }
+}
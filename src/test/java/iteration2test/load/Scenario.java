@@ -0,0 +1,103 @@
+package iteration2test.load;
+
+import iteration2test.UserCredentials;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+// сценарии нагрузки повторяют позитивные флоу из DepositTest, MoneyTransferTest и UserRenameTest.
+// у каждого две версии одного флоу: блокирующая для LoadClient и цепочка future для AsyncLoadClient
+public enum Scenario {
+
+    // юзер -> логин -> счёт -> депозит от 1 до 5000
+    DEPOSIT {
+        @Override
+        public void run(LoadClient client, UserPool users) {
+            LoadSession session = newLoggedInUser(client, users);
+            if (session == null) {
+                return;
+            }
+            Integer accountId = client.createAccount(session);
+            if (accountId == null) {
+                return;
+            }
+            client.deposit(session, accountId,
+                    Integer.toString(ThreadLocalRandom.current().nextInt(1, 5001)));
+        }
+
+        @Override
+        public CompletableFuture<?> runAsync(AsyncLoadClient client, UserPool users) {
+            return newLoggedInUser(client, users).thenCompose(session -> session == null ? DONE
+                    : client.createAccount(session).thenCompose(accountId -> accountId == null ? DONE
+                    : client.deposit(session, accountId, Integer.toString(ThreadLocalRandom.current().nextInt(1, 5001)))));
+        }
+    },
+
+    // юзер -> логин -> два счёта -> депозит 4000 -> перевод 2500.50 между своими счетами
+    TRANSFER {
+        @Override
+        public void run(LoadClient client, UserPool users) {
+            LoadSession session = newLoggedInUser(client, users);
+            if (session == null) {
+                return;
+            }
+            Integer accountId = client.createAccount(session);
+            if (accountId == null || !client.deposit(session, accountId, "4000")) {
+                return;
+            }
+            Integer accountId2 = client.createAccount(session);
+            if (accountId2 == null) {
+                return;
+            }
+            client.transfer(session, accountId, accountId2, "2500.50");
+        }
+
+        @Override
+        public CompletableFuture<?> runAsync(AsyncLoadClient client, UserPool users) {
+            return newLoggedInUser(client, users).thenCompose(session -> session == null ? DONE
+                    : client.createAccount(session).thenCompose(accountId -> accountId == null ? DONE
+                    : client.deposit(session, accountId, "4000").thenCompose(deposited -> !deposited ? DONE
+                    : client.createAccount(session).thenCompose(accountId2 -> accountId2 == null ? DONE
+                    : client.transfer(session, accountId, accountId2, "2500.50")))));
+        }
+    },
+
+    // юзер -> логин -> смена имени
+    RENAME {
+        @Override
+        public void run(LoadClient client, UserPool users) {
+            LoadSession session = newLoggedInUser(client, users);
+            if (session == null) {
+                return;
+            }
+            client.updateName(session, "Johnswd Smith");
+        }
+
+        @Override
+        public CompletableFuture<?> runAsync(AsyncLoadClient client, UserPool users) {
+            return newLoggedInUser(client, users).thenCompose(session -> session == null ? DONE
+                    : client.updateName(session, "Johnswd Smith"));
+        }
+    };
+
+    private static final CompletableFuture<Boolean> DONE = CompletableFuture.completedFuture(false);
+
+    public abstract void run(LoadClient client, UserPool users);
+
+    // future завершается, когда завершился последний шаг; упавший шаг обрывает цепочку, как return в run
+    public abstract CompletableFuture<?> runAsync(AsyncLoadClient client, UserPool users);
+
+    private static LoadSession newLoggedInUser(LoadClient client, UserPool users) {
+        UserCredentials creds = users.next();
+        if (!client.createUser(creds)) {
+            return null;
+        }
+        return client.login(creds);
+    }
+
+    private static CompletableFuture<LoadSession> newLoggedInUser(AsyncLoadClient client, UserPool users) {
+        UserCredentials creds = users.next();
+        return client.createUser(creds).thenCompose(created -> created ? client.login(creds)
+                : CompletableFuture.completedFuture(null));
+    }
+}
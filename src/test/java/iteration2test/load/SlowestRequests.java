@@ -0,0 +1,103 @@
+package iteration2test.load;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// n самых медленных запросов с их X-Request-Id — чтобы найти их в логах сервера.
+// пока запрос быстрее текущего n-го, запись стоит одно чтение volatile, без блокировки
+public class SlowestRequests {
+
+    private final int capacity;
+    private final PriorityQueue<Sample> fastestFirst = new PriorityQueue<>(Comparator.comparingLong(Sample::getLatencyMicros));
+    private volatile long floorMicros = -1;
+
+    public SlowestRequests(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void record(Endpoint endpoint, long latencyMicros, String requestId) {
+        if (capacity == 0 || latencyMicros <= floorMicros) {
+            return;
+        }
+        add(new Sample(endpoint, latencyMicros, System.currentTimeMillis() - latencyMicros / 1_000, requestId));
+    }
+
+    public synchronized void add(Sample sample) {
+        if (fastestFirst.size() == capacity) {
+            if (sample.latencyMicros <= fastestFirst.peek().latencyMicros) {
+                return;
+            }
+            fastestFirst.poll();
+        }
+        fastestFirst.add(sample);
+        if (fastestFirst.size() == capacity) {
+            floorMicros = fastestFirst.peek().latencyMicros;
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // от самого медленного
+    public synchronized List<Sample> getSamples() {
+        List<Sample> samples = new ArrayList<>(fastestFirst);
+        samples.sort(Comparator.comparingLong(Sample::getLatencyMicros).reversed());
+        return samples;
+    }
+
+    // формат "мкс:начало_мс:id;..."
+    public String encode() {
+        StringBuilder sb = new StringBuilder();
+        for (Sample sample : getSamples()) {
+            if (!sb.isEmpty()) {
+                sb.append(';');
+            }
+            sb.append(sample.latencyMicros).append(':').append(sample.startEpochMillis).append(':').append(sample.requestId);
+        }
+        return sb.toString();
+    }
+
+    public static SlowestRequests decode(Endpoint endpoint, String encoded, int capacity) {
+        SlowestRequests slowest = new SlowestRequests(capacity);
+        if (encoded != null && !encoded.isBlank()) {
+            for (String item : encoded.split(";")) {
+                String[] parts = item.split(":", 3);
+                slowest.add(new Sample(endpoint, Long.parseLong(parts[0]), Long.parseLong(parts[1]), parts[2]));
+            }
+        }
+        return slowest;
+    }
+
+    public static class Sample {
+        private final Endpoint endpoint;
+        private final long latencyMicros;
+        private final long startEpochMillis;
+        private final String requestId;
+
+        public Sample(Endpoint endpoint, long latencyMicros, long startEpochMillis, String requestId) {
+            this.endpoint = endpoint;
+            this.latencyMicros = latencyMicros;
+            this.startEpochMillis = startEpochMillis;
+            this.requestId = requestId;
+        }
+
+        public Endpoint getEndpoint() {
+            return endpoint;
+        }
+
+        public long getLatencyMicros() {
+            return latencyMicros;
+        }
+
+        public long getStartEpochMillis() {
+            return startEpochMillis;
+        }
+
+        public String getRequestId() {
+            return requestId;
+        }
+    }
+}
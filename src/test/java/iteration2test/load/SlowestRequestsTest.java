@@ -0,0 +1,48 @@
+package iteration2test.load;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SlowestRequestsTest {
+
+    @Test
+    public void keepsSlowestAcrossThreads() {
+        SlowestRequests slowest = new SlowestRequests(5);
+
+        IntStream.rangeClosed(1, 10_000).parallel()
+                .forEach(i -> slowest.record(Endpoint.DEPOSIT, i, "req-" + i));
+
+        List<SlowestRequests.Sample> samples = slowest.getSamples();
+        assertEquals(List.of("req-10000", "req-9999", "req-9998", "req-9997", "req-9996"),
+                samples.stream().map(SlowestRequests.Sample::getRequestId).toList());
+    }
+
+    @Test
+    public void survivesSaveLoadAndMerge(@TempDir Path dir) {
+        // 1. два воркера, у каждого свои медленные запросы
+        RunRecorder first = new RunRecorder("w0", System.nanoTime(), 1_000);
+        RunRecorder second = new RunRecorder("w1", System.nanoTime(), 1_000);
+        first.get(Endpoint.DEPOSIT).recordResponse(System.nanoTime(), 900_000_000L, "a-1");
+        second.get(Endpoint.TRANSFER).recordResponse(System.nanoTime(), 700_000_000L, "b-1");
+        second.get(Endpoint.TRANSFER).recordResponse(System.nanoTime(), 1_000L, "b-2");
+
+        // 2. через файлы, как в распределённом прогоне
+        first.save(dir.resolve("w0.properties"));
+        second.save(dir.resolve("w1.properties"));
+        RunRecorder merged = RunRecorder.merge("all", List.of(
+                RunRecorder.load(dir.resolve("w0.properties")), RunRecorder.load(dir.resolve("w1.properties"))));
+
+        // 3. общий список, от самого медленного
+        List<SlowestRequests.Sample> slowest = merged.getSlowest();
+        assertEquals("a-1", slowest.get(0).getRequestId());
+        assertEquals(Endpoint.DEPOSIT, slowest.get(0).getEndpoint());
+        assertEquals("b-1", slowest.get(1).getRequestId());
+        assertEquals(900_000, slowest.get(0).getLatencyMicros());
+    }
+}
@@ -0,0 +1,33 @@
+package iteration2test.load;
+
+import iteration2test.TestDataFactory;
+import iteration2test.UserCredentials;
+
+// откуда нагрузка берёт новых юзеров; у каждой JVM-воркера свой непересекающийся пул
+public class UserPool {
+
+    public static final UserPool ALL = new UserPool(0, 1);
+
+    private final int index;
+    private final int count;
+
+    public UserPool(int index, int count) {
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException("Пул " + index + " вне диапазона 0.." + (count - 1));
+        }
+        this.index = index;
+        this.count = count;
+    }
+
+    public UserCredentials next() {
+        return count == 1 ? TestDataFactory.generateUser() : TestDataFactory.generateUser(index, count);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
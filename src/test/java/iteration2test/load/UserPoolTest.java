@@ -0,0 +1,22 @@
+package iteration2test.load;
+
+import iteration2test.TestDataFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UserPoolTest {
+
+    @Test
+    public void poolsNeverShareUsernames() {
+        for (int index = 0; index < 3; index++) {
+            UserPool pool = new UserPool(index, 3);
+            for (int i = 0; i < 1_000; i++) {
+                String username = pool.next().getUsername();
+                assertTrue(username.matches("user_[0-9a-f]{8}"), username);
+                assertEquals(index, TestDataFactory.poolOf(username, 3));
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package iteration2test.property;
+
+import java.math.BigDecimal;
+
+// сумма в запросе: JSON-литерал как есть (может быть "5E3") и её точное значение
+public class Amount {
+
+    private final String literal;
+    private final BigDecimal value;
+
+    private Amount(String literal, BigDecimal value) {
+        this.literal = literal;
+        this.value = value;
+    }
+
+    public static Amount of(BigDecimal value) {
+        return new Amount(value.toPlainString(), value);
+    }
+
+    // literal — число в формате JSON, в том числе с экспонентой
+    public static Amount literal(String literal) {
+        return new Amount(literal, new BigDecimal(literal));
+    }
+
+    public String getLiteral() {
+        return literal;
+    }
+
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    public boolean isScientific() {
+        return literal.indexOf('e') >= 0 || literal.indexOf('E') >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return literal;
+    }
+}
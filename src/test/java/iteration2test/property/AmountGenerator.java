@@ -0,0 +1,53 @@
+package iteration2test.property;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+// суммы для свойств депозита и перевода: целые у границ (0, 5000, 10000), копейки, доли копейки,
+// огромные числа и экспоненциальная запись
+public final class AmountGenerator {
+
+    private static final long[] BOUNDARIES = {0, 1, 5_000, 10_000};
+
+    private AmountGenerator() {
+    }
+
+    public static Amount next(SplittableRandom random) {
+        return switch (random.nextInt(6)) {
+            case 0 -> Amount.of(BigDecimal.valueOf(boundary(random) + random.nextInt(-3, 4)));
+            case 1 -> Amount.of(BigDecimal.valueOf(random.nextLong(-100, 12_001)));
+            // рубли с копейками
+            case 2 -> Amount.of(BigDecimal.valueOf(random.nextLong(-100_00, 10_500_01), 2));
+            // доли копейки у границы: 4999.999, 5000.0001, 0.001
+            case 3 -> Amount.of(BigDecimal.valueOf(boundary(random))
+                    .add(BigDecimal.valueOf(random.nextLong(-1_000, 1_001), 3 + random.nextInt(4))));
+            case 4 -> huge(random);
+            default -> scientific(random);
+        };
+    }
+
+    private static long boundary(SplittableRandom random) {
+        return BOUNDARIES[random.nextInt(BOUNDARIES.length)];
+    }
+
+    private static Amount huge(SplittableRandom random) {
+        if (random.nextBoolean()) {
+            return Amount.literal((1 + random.nextInt(9)) + "e" + (6 + random.nextInt(400)));
+        }
+        StringBuilder digits = new StringBuilder().append(1 + random.nextInt(9));
+        int length = 15 + random.nextInt(30);
+        for (int i = 1; i < length; i++) {
+            digits.append(random.nextInt(10));
+        }
+        return Amount.literal(random.nextBoolean() ? digits.toString() : "-" + digits);
+    }
+
+    // 5E3, 4.9999e3, 1e-2, 2.5E+1
+    private static Amount scientific(SplittableRandom random) {
+        String mantissa = random.nextInt(1, 10) + (random.nextBoolean() ? "" : "." + random.nextInt(1, 10_000));
+        int exponent = random.nextInt(-4, 6);
+        String e = random.nextBoolean() ? "e" : "E";
+        String sign = exponent >= 0 && random.nextBoolean() ? "+" : "";
+        return Amount.literal(mantissa + e + sign + exponent);
+    }
+}
@@ -0,0 +1,69 @@
+package iteration2test.property;
+
+import java.math.BigDecimal;
+
+// инвариант, который должен держаться для любой суммы.
+// check возвращает null, если держится, иначе — что именно не так
+public enum AmountProperty {
+
+    // депозит проходит ровно при 0 < сумма <= 5000 и меняет баланс ровно на сумму; 5xx на числе не бывает
+    DEPOSIT {
+        @Override
+        public String check(MoneyFixture fixture, Amount amount) {
+            BigDecimal value = amount.getValue();
+            boolean shouldAccept = value.signum() > 0 && value.compareTo(MAX_DEPOSIT) <= 0;
+            int status = MoneyApi.deposit(fixture, fixture.getFirstAccountId(), amount.getLiteral());
+            BigDecimal expected = status == 200 ? fixture.getFirstBalance().add(value) : fixture.getFirstBalance();
+            return verify(fixture, status, shouldAccept, expected, fixture.getSecondBalance());
+        }
+    },
+
+    // перевод проходит ровно при 0 < сумма <= 10000 и сумма <= балансу отправителя;
+    // деньги не появляются и не пропадают: сумма балансов двух счетов не меняется
+    TRANSFER {
+        @Override
+        public String check(MoneyFixture fixture, Amount amount) {
+            BigDecimal value = amount.getValue();
+            topUp(fixture, value);
+            boolean shouldAccept = value.signum() > 0 && value.compareTo(MAX_TRANSFER) <= 0
+                    && value.compareTo(fixture.getFirstBalance()) <= 0;
+            int status = MoneyApi.transfer(fixture, fixture.getFirstAccountId(), fixture.getSecondAccountId(),
+                    amount.getLiteral());
+            return status == 200
+                    ? verify(fixture, status, shouldAccept,
+                    fixture.getFirstBalance().subtract(value), fixture.getSecondBalance().add(value))
+                    : verify(fixture, status, shouldAccept, fixture.getFirstBalance(), fixture.getSecondBalance());
+        }
+
+        // одно пополнение на 5000 перед переводом: часть сумм уложится в баланс, часть — нет
+        private void topUp(MoneyFixture fixture, BigDecimal value) {
+            if (value.compareTo(fixture.getFirstBalance()) > 0 && value.compareTo(MAX_TRANSFER) <= 0) {
+                if (MoneyApi.deposit(fixture, fixture.getFirstAccountId(), MAX_DEPOSIT.toPlainString()) == 200) {
+                    fixture.setBalances(fixture.getFirstBalance().add(MAX_DEPOSIT), fixture.getSecondBalance());
+                }
+            }
+        }
+    };
+
+    private static final BigDecimal MAX_DEPOSIT = BigDecimal.valueOf(5_000);
+    private static final BigDecimal MAX_TRANSFER = BigDecimal.valueOf(10_000);
+
+    public abstract String check(MoneyFixture fixture, Amount amount);
+
+    // сверяет статус и балансы; фикстура после этого знает настоящие балансы, даже если свойство упало
+    private static String verify(MoneyFixture fixture, int status, boolean shouldAccept,
+                                 BigDecimal expectedFirst, BigDecimal expectedSecond) {
+        BigDecimal[] actual = MoneyApi.balances(fixture);
+        fixture.setBalances(actual[0], actual[1]);
+        if (status >= 500) {
+            return "сервер ответил " + status + " на числовую сумму";
+        }
+        if ((status == 200) != shouldAccept) {
+            return "ожидали " + (shouldAccept ? 200 : 400) + ", получили " + status;
+        }
+        if (actual[0].compareTo(expectedFirst) != 0 || actual[1].compareTo(expectedSecond) != 0) {
+            return "балансы %s / %s, ожидали %s / %s".formatted(actual[0], actual[1], expectedFirst, expectedSecond);
+        }
+        return null;
+    }
+}
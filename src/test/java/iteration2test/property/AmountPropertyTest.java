@@ -0,0 +1,48 @@
+package iteration2test.property;
+
+import iteration2test.seed.FixtureCatalog;
+import iteration2test.support.ApiTargets;
+import iteration2test.support.TeardownExtension;
+import iteration2test.support.TestConfig;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// запуск: mvn test -Pperf -Dtest=AmountPropertyTest [-Dnbank.property.cases=20000 -Dnbank.property.seed=7]
+// тысячи сгенерированных сумм через депозит и перевод на пуле фикстур; упавшие суммы в отчёте уже сжаты.
+// с -Dnbank.catalog.enabled=true фикстуры берутся из каталога готовых юзеров и возвращаются туда же
+@Tag("perf")
+@ExtendWith(TeardownExtension.class)
+public class AmountPropertyTest {
+
+    @ParameterizedTest
+    @EnumSource(AmountProperty.class)
+    public void propertyHoldsForGeneratedAmounts(AmountProperty property) throws InterruptedException, IOException {
+        PropertyRunner runner = new PropertyRunner(ApiTargets.ring(),
+                TestConfig.getInt("nbank.property.workers", 8),
+                TestConfig.getLong("nbank.property.seed", 1),
+                TestConfig.getInt("nbank.property.shrinkChecks", 200),
+                FixtureCatalog.fromConfig());
+
+        long cases = TestConfig.getLong("nbank.property.cases", 2_000);
+        PropertyRunner.Result result = runner.run(property, cases);
+
+        String report = result.describe();
+        System.out.println(report);
+        Path file = Path.of("target", "perf", "amount-properties.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        assertEquals(cases, result.getCases(), "проверены не все случаи:\n" + report);
+        assertTrue(result.getFailures().isEmpty(), "свойство " + property + " нарушено:\n" + report);
+    }
+}
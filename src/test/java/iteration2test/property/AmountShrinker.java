@@ -0,0 +1,74 @@
+package iteration2test.property;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+// сводит упавшую сумму к самой простой, на которой свойство всё ещё падает:
+// обычная запись вместо экспоненты, меньше знаков после запятой, ближе к нулю, без минуса.
+// к нулю идём как QuickCheck: v - v/2, v - v/4, ..., v - шаг — первая падающая ближе всех к нулю
+public final class AmountShrinker {
+
+    // проще = меньше по модулю, потом меньше знаков после запятой, без минуса, без экспоненты, короче
+    static final Comparator<Amount> SIMPLER_FIRST = Comparator
+            .comparing((Amount a) -> a.getValue().abs())
+            .thenComparingInt(a -> Math.max(0, a.getValue().scale()))
+            .thenComparingInt(a -> a.getValue().signum() < 0 ? 1 : 0)
+            .thenComparingInt(a -> a.isScientific() ? 1 : 0)
+            .thenComparingInt(a -> a.getLiteral().length());
+
+    private AmountShrinker() {
+    }
+
+    public static Amount shrink(Amount failing, Predicate<Amount> stillFails, int maxChecks) {
+        Amount current = failing;
+        int checks = 0;
+        boolean improved = true;
+        while (improved && checks < maxChecks) {
+            improved = false;
+            for (Amount candidate : candidates(current)) {
+                if (checks++ >= maxChecks) {
+                    break;
+                }
+                if (stillFails.test(candidate)) {
+                    current = candidate;
+                    improved = true;
+                    break;
+                }
+            }
+        }
+        return current;
+    }
+
+    static List<Amount> candidates(Amount amount) {
+        BigDecimal value = amount.getValue();
+        List<Amount> candidates = new ArrayList<>();
+        if (value.signum() != 0) {
+            candidates.add(Amount.of(BigDecimal.ZERO));
+        }
+        if (amount.isScientific() || value.scale() < 0) {
+            candidates.add(Amount.of(value.scale() < 0 ? value.setScale(0) : value));
+        }
+        if (value.scale() > 0) {
+            candidates.add(Amount.of(value.setScale(0, RoundingMode.DOWN)));
+            candidates.add(Amount.of(value.setScale(value.scale() - 1, RoundingMode.DOWN)));
+        }
+        if (value.signum() < 0) {
+            candidates.add(Amount.of(value.negate()));
+        }
+        int scale = Math.max(0, value.scale());
+        BigDecimal step = BigDecimal.ONE.movePointLeft(scale);
+        BigDecimal distance = value.abs().divide(BigDecimal.valueOf(2), scale, RoundingMode.DOWN);
+        while (distance.compareTo(step) >= 0) {
+            candidates.add(Amount.of(value.subtract(distance.multiply(BigDecimal.valueOf(value.signum())))));
+            distance = distance.divide(BigDecimal.valueOf(2), scale, RoundingMode.DOWN);
+        }
+        candidates.add(Amount.of(value.subtract(step.multiply(BigDecimal.valueOf(value.signum())))));
+        return candidates.stream()
+                .filter(candidate -> SIMPLER_FIRST.compare(candidate, amount) < 0)
+                .toList();
+    }
+}
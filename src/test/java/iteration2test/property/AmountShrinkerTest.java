@@ -0,0 +1,89 @@
+package iteration2test.property;
+
+import iteration2test.standin.StandInCluster;
+import iteration2test.support.ApiTargets;
+import iteration2test.support.ConsistentHashRing;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AmountShrinkerTest {
+
+    private static final BigDecimal LIMIT = BigDecimal.valueOf(5_000);
+
+    @Test
+    public void shrinksToSimplestFailingAmount() {
+        Predicate<Amount> overLimit = amount -> amount.getValue().compareTo(LIMIT) > 0;
+
+        // 1. копейки и лишнее расстояние уходят — остаётся первая сумма за лимитом
+        assertEquals("5001", AmountShrinker.shrink(Amount.literal("7342.17"), overLimit, 1_000).getLiteral());
+
+        // 2. экспонента становится обычной записью
+        assertEquals("5001", AmountShrinker.shrink(Amount.literal("9.5E3"), overLimit, 1_000).getLiteral());
+
+        // 3. падение на любой отрицательной сумме сводится к -1
+        Predicate<Amount> negative = amount -> amount.getValue().signum() < 0;
+        assertEquals("-1", AmountShrinker.shrink(Amount.literal("-8431.5"), negative, 1_000).getLiteral());
+
+        // 4. бюджет проверок соблюдается
+        int[] checks = {0};
+        AmountShrinker.shrink(Amount.literal("1e400"), amount -> ++checks[0] > 0, 25);
+        assertTrue(checks[0] <= 25, "проверок: " + checks[0]);
+    }
+
+    @Test
+    public void generatorIsDeterministicAndCoversAllShapes() {
+        // 1. один и тот же seed — одна и та же сумма
+        assertEquals(AmountGenerator.next(new SplittableRandom(7)).getLiteral(),
+                AmountGenerator.next(new SplittableRandom(7)).getLiteral());
+
+        // 2. среди тысячи сумм есть дроби, экспонента, отрицательные и огромные
+        List<Amount> amounts = new SplittableRandom(1).longs(1_000)
+                .mapToObj(seed -> AmountGenerator.next(new SplittableRandom(seed)))
+                .toList();
+        assertTrue(amounts.stream().anyMatch(a -> a.getValue().scale() > 2));
+        assertTrue(amounts.stream().anyMatch(Amount::isScientific));
+        assertTrue(amounts.stream().anyMatch(a -> a.getValue().signum() < 0));
+        assertTrue(amounts.stream().anyMatch(a -> a.getValue().compareTo(BigDecimal.TEN.pow(15)) > 0));
+    }
+
+    @Test
+    @Tag("standin")
+    public void propertiesHoldAgainstStandIn() throws InterruptedException {
+        try (StandInCluster cluster = StandInCluster.start(1, Duration.ZERO)) {
+            PropertyRunner runner = new PropertyRunner(
+                    new ConsistentHashRing(List.of(ApiTargets.apiUrlOf(cluster.baseUrls().get(0)))), 4, 1, 200);
+
+            for (AmountProperty property : AmountProperty.values()) {
+                PropertyRunner.Result result = runner.run(property, 100);
+
+                assertEquals(100, result.getCases(), property.name());
+                assertTrue(result.getFailures().isEmpty(), result.describe());
+            }
+        }
+    }
+
+    @Test
+    public void crashingChecksAreFailuresNotLostCases() throws InterruptedException {
+        // узел недоступен: каждая проверка бросает исключение из RestAssured
+        PropertyRunner runner = new PropertyRunner(new ConsistentHashRing(List.of("http://127.0.0.1:1/api/v1")), 2, 1, 5);
+        List<MoneyFixture> fixtures = List.of(
+                new MoneyFixture("http://127.0.0.1:1/api/v1", "Basic eDp4", 1, 2),
+                new MoneyFixture("http://127.0.0.1:1/api/v1", "Basic eDp4", 3, 4));
+
+        PropertyRunner.Result result = runner.run(AmountProperty.DEPOSIT, 6, fixtures);
+
+        assertEquals(6, result.getCases());
+        assertFalse(result.getFailures().isEmpty());
+        assertTrue(result.describe().contains("исключение"), result.describe());
+    }
+}
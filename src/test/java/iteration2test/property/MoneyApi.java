@@ -0,0 +1,70 @@
+package iteration2test.property;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import io.restassured.path.json.config.JsonPathConfig;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import iteration2test.support.EndpointTimeouts;
+import iteration2test.support.RequestIds;
+
+import java.math.BigDecimal;
+
+import static io.restassured.RestAssured.given;
+
+// запросы свойств: нужен сам статус ответа, а не «прошло/не прошло», как в LoadClient
+final class MoneyApi {
+
+    private static final JsonPathConfig EXACT_NUMBERS = new JsonPathConfig(JsonPathConfig.NumberReturnType.BIG_DECIMAL);
+
+    private MoneyApi() {
+    }
+
+    static int deposit(MoneyFixture fixture, int accountId, String amount) {
+        return request(fixture, "/accounts/deposit")
+                .body("""
+                        {
+                          "id": %d,
+                          "balance": %s
+                        }
+                        """.formatted(accountId, amount))
+                .post(fixture.getApiUrl() + "/accounts/deposit")
+                .statusCode();
+    }
+
+    static int transfer(MoneyFixture fixture, int senderAccountId, int receiverAccountId, String amount) {
+        return request(fixture, "/accounts/transfer")
+                .body("""
+                        {
+                          "senderAccountId": %d,
+                          "receiverAccountId": %d,
+                          "amount": %s
+                        }
+                        """.formatted(senderAccountId, receiverAccountId, amount))
+                .post(fixture.getApiUrl() + "/accounts/transfer")
+                .statusCode();
+    }
+
+    // балансы обоих счетов фикстуры: [первый, второй]
+    static BigDecimal[] balances(MoneyFixture fixture) {
+        Response response = request(fixture, "/customer/accounts").get(fixture.getApiUrl() + "/customer/accounts");
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /customer/accounts вернул " + response.statusCode());
+        }
+        JsonPath json = response.jsonPath(EXACT_NUMBERS);
+        return new BigDecimal[]{
+                json.getObject("find { it.id == %d }.balance".formatted(fixture.getFirstAccountId()), BigDecimal.class),
+                json.getObject("find { it.id == %d }.balance".formatted(fixture.getSecondAccountId()), BigDecimal.class)};
+    }
+
+    private static RequestSpecification request(MoneyFixture fixture, String path) {
+        return given()
+                .noFilters()
+                .config(EndpointTimeouts.forPath(path).applyTo(RestAssured.config()))
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .header("Authorization", fixture.getAuthHeader())
+                .header(RequestIds.HEADER, RequestIds.next());
+    }
+}
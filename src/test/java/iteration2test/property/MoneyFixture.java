@@ -0,0 +1,51 @@
+package iteration2test.property;
+
+import java.math.BigDecimal;
+
+// юзер с двумя счетами из пула свойств и балансы, которые мы ожидаем на них увидеть.
+// фикстурой пользуется только один поток
+public class MoneyFixture {
+
+    private final String apiUrl;
+    private final String authHeader;
+    private final int firstAccountId;
+    private final int secondAccountId;
+    private BigDecimal firstBalance = BigDecimal.ZERO;
+    private BigDecimal secondBalance = BigDecimal.ZERO;
+
+    public MoneyFixture(String apiUrl, String authHeader, int firstAccountId, int secondAccountId) {
+        this.apiUrl = apiUrl;
+        this.authHeader = authHeader;
+        this.firstAccountId = firstAccountId;
+        this.secondAccountId = secondAccountId;
+    }
+
+    public String getApiUrl() {
+        return apiUrl;
+    }
+
+    public String getAuthHeader() {
+        return authHeader;
+    }
+
+    public int getFirstAccountId() {
+        return firstAccountId;
+    }
+
+    public int getSecondAccountId() {
+        return secondAccountId;
+    }
+
+    public BigDecimal getFirstBalance() {
+        return firstBalance;
+    }
+
+    public BigDecimal getSecondBalance() {
+        return secondBalance;
+    }
+
+    public void setBalances(BigDecimal first, BigDecimal second) {
+        this.firstBalance = first;
+        this.secondBalance = second;
+    }
+}
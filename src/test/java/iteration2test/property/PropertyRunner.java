@@ -0,0 +1,236 @@
+package iteration2test.property;
+
+import iteration2test.TestDataFactory;
+import iteration2test.UserCredentials;
+import iteration2test.load.LoadClient;
+import iteration2test.load.LoadSession;
+import iteration2test.load.RunRecorder;
+import iteration2test.seed.FixtureCatalog;
+import iteration2test.seed.LeasedUser;
+import iteration2test.seed.SeededUser;
+import iteration2test.support.ConsistentHashRing;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// гоняет свойство на cases сгенерированных суммах параллельно: у каждого потока своя фикстура из пула,
+// юзеры создаются один раз на прогон, а не на случай. упавшие суммы сразу сжимаются на той же фикстуре.
+// с каталогом юзеры сначала берутся в аренду из него, а созданные заново после прогона туда добавляются
+public class PropertyRunner {
+
+    private static final int MAX_FAILURES = 5;
+
+    private final ConsistentHashRing targets;
+    private final int workers;
+    private final long seed;
+    private final int maxShrinkChecks;
+    private final FixtureCatalog catalog;
+
+    public PropertyRunner(ConsistentHashRing targets, int workers, long seed, int maxShrinkChecks) {
+        this(targets, workers, seed, maxShrinkChecks, null);
+    }
+
+    // catalog — null, если юзеров каждый раз создаём заново
+    public PropertyRunner(ConsistentHashRing targets, int workers, long seed, int maxShrinkChecks, FixtureCatalog catalog) {
+        this.targets = targets;
+        this.workers = workers;
+        this.seed = seed;
+        this.maxShrinkChecks = maxShrinkChecks;
+        this.catalog = catalog;
+    }
+
+    public Result run(AmountProperty property, long cases) throws InterruptedException {
+        List<Pooled> pool = new ArrayList<>();
+        try {
+            preparePool(pool);
+            return run(property, cases, pool.stream().map(pooled -> pooled.fixture).toList());
+        } finally {
+            returnPool(pool);
+        }
+    }
+
+    Result run(AmountProperty property, long cases, List<MoneyFixture> fixtures) throws InterruptedException {
+        List<Failure> failures = new ArrayList<>();
+        AtomicLong next = new AtomicLong();
+        AtomicLong checked = new AtomicLong();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (MoneyFixture fixture : fixtures) {
+                executor.submit(() -> {
+                    for (long i = next.getAndIncrement(); i < cases; i = next.getAndIncrement()) {
+                        Amount amount = AmountGenerator.next(new SplittableRandom(seed * 31 + i));
+                        String problem = check(property, fixture, amount);
+                        checked.incrementAndGet();
+                        if (problem != null && reserveFailureSlot(failures)) {
+                            Failure failure = shrink(property, fixture, amount, problem);
+                            synchronized (failures) {
+                                failures.set(failures.indexOf(null), failure);
+                            }
+                        }
+                    }
+                });
+            }
+        }
+        return new Result(property, checked.get(), System.nanoTime() - start, failures);
+    }
+
+    private void preparePool(List<Pooled> pool) {
+        LoadClient client = new LoadClient(targets, new RunRecorder("property-setup", System.nanoTime(), 1_000));
+        if (catalog != null) {
+            // созданные здесь юзеры уходят в каталог для следующих прогонов
+            client.keepUsers();
+        }
+        // один проход по каталогу: юзер, которого сейчас не проверить (узел лежит, 5xx), возвращается в него
+        // и выдаётся снова — без предела цикл не кончился бы
+        for (int attempts = catalog == null ? 0 : catalog.size(); attempts > 0 && pool.size() < workers; attempts--) {
+            LeasedUser leased = catalog.lease(2);
+            if (leased == null) {
+                break;
+            }
+            LoadSession session = leased.session(client);
+            if (session != null) {
+                List<Integer> accounts = leased.getUser().getAccountIds();
+                MoneyFixture fixture = new MoneyFixture(session.getApiUrl(), session.getAuthHeader(), accounts.get(0), accounts.get(1));
+                fixture.setBalances(leased.getBalances().get(0), leased.getBalances().get(1));
+                pool.add(new Pooled(fixture, leased, null));
+            }
+        }
+        while (pool.size() < workers) {
+            UserCredentials creds = TestDataFactory.generateUser();
+            LoadSession session = client.createUser(creds) ? client.login(creds) : null;
+            Integer first = session == null ? null : client.createAccount(session);
+            Integer second = first == null ? null : client.createAccount(session);
+            if (second == null) {
+                throw new IllegalStateException("Не удалось подготовить фикстуру для свойств");
+            }
+            pool.add(new Pooled(new MoneyFixture(session.getApiUrl(), session.getAuthHeader(), first, second),
+                    null, new SeededUser(creds, List.of(first, second))));
+        }
+    }
+
+    // арендованных возвращаем с итоговыми балансами, созданных в этом прогоне — добавляем в каталог
+    private void returnPool(List<Pooled> pool) {
+        for (Pooled pooled : pool) {
+            List<BigDecimal> balances = List.of(pooled.fixture.getFirstBalance(), pooled.fixture.getSecondBalance());
+            if (pooled.leased != null) {
+                pooled.leased.release(balances);
+            } else if (catalog != null) {
+                catalog.add(pooled.created, balances);
+            }
+        }
+    }
+
+    private static class Pooled {
+        private final MoneyFixture fixture;
+        private final LeasedUser leased;
+        private final SeededUser created;
+
+        private Pooled(MoneyFixture fixture, LeasedUser leased, SeededUser created) {
+            this.fixture = fixture;
+            this.leased = leased;
+            this.created = created;
+        }
+    }
+
+    // место под падение занимаем заранее (null), чтобы сжимать не больше MAX_FAILURES сумм
+    private static boolean reserveFailureSlot(List<Failure> failures) {
+        synchronized (failures) {
+            if (failures.size() >= MAX_FAILURES) {
+                return false;
+            }
+            failures.add(null);
+            return true;
+        }
+    }
+
+    // исключение (сервер не ответил, баланс не прочитался) — тоже нарушение, а не тихо умерший воркер
+    private static String check(AmountProperty property, MoneyFixture fixture, Amount amount) {
+        try {
+            return property.check(fixture, amount);
+        } catch (Exception e) {
+            // RestAssured пробрасывает и checked-исключения: ConnectException, SocketTimeoutException
+            return "исключение: " + e;
+        }
+    }
+
+    private Failure shrink(AmountProperty property, MoneyFixture fixture, Amount original, String problem) {
+        String[] lastProblem = {problem};
+        Amount minimal = AmountShrinker.shrink(original, candidate -> {
+            String candidateProblem = check(property, fixture, candidate);
+            if (candidateProblem != null) {
+                lastProblem[0] = candidateProblem;
+            }
+            return candidateProblem != null;
+        }, maxShrinkChecks);
+        return new Failure(original, minimal, lastProblem[0]);
+    }
+
+    public static class Failure {
+        private final Amount original;
+        private final Amount minimal;
+        private final String problem;
+
+        Failure(Amount original, Amount minimal, String problem) {
+            this.original = original;
+            this.minimal = minimal;
+            this.problem = problem;
+        }
+
+        public Amount getOriginal() {
+            return original;
+        }
+
+        public Amount getMinimal() {
+            return minimal;
+        }
+
+        public String getProblem() {
+            return problem;
+        }
+    }
+
+    public static class Result {
+        private final AmountProperty property;
+        private final long cases;
+        private final long elapsedNanos;
+        private final List<Failure> failures;
+
+        Result(AmountProperty property, long cases, long elapsedNanos, List<Failure> failures) {
+            this.property = property;
+            this.cases = cases;
+            this.elapsedNanos = elapsedNanos;
+            this.failures = failures;
+        }
+
+        public long getCases() {
+            return cases;
+        }
+
+        public List<Failure> getFailures() {
+            return failures;
+        }
+
+        public double getCasesPerMinute() {
+            return cases * 60e9 / Math.max(1, elapsedNanos);
+        }
+
+        public String describe() {
+            StringBuilder sb = new StringBuilder(String.format("%s: %d случаев за %.1f с (%.0f в минуту), падений: %d%n",
+                    property, cases, elapsedNanos / 1e9, getCasesPerMinute(), failures.size()));
+            for (Failure failure : failures) {
+                sb.append(String.format("  сумма %s (сжата из %s): %s%n",
+                        failure.minimal, abbreviate(failure.original.getLiteral()), failure.problem));
+            }
+            return sb.toString();
+        }
+
+        private static String abbreviate(String literal) {
+            return literal.length() > 40 ? literal.substring(0, 40) + "…" : literal;
+        }
+    }
+}
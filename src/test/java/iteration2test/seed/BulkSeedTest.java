@@ -0,0 +1,35 @@
+package iteration2test.seed;
+
+import iteration2test.support.ApiTargets;
+import iteration2test.support.TestConfig;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// запуск: mvn test -Pperf -Dtest=BulkSeedTest [-Dnbank.seed.users=1000000 -Dnbank.seed.concurrency=64]
+// наполняет сервер юзерами со счетами; упавший засев перезапускается той же командой и продолжает с файла.
+// файл nbank.seed.file потом можно отдавать другим прогонам как готовых юзеров
+@Tag("perf")
+public class BulkSeedTest {
+
+    @Test
+    public void seedUsersWithAccounts() throws InterruptedException {
+        BulkSeeder seeder = new BulkSeeder(ApiTargets.ring(),
+                TestConfig.getInt("nbank.seed.concurrency", 64),
+                TestConfig.getInt("nbank.seed.accountsPerUser", 2),
+                TestConfig.getInt("nbank.seed.maxAttempts", 5),
+                TestConfig.getMillis("nbank.seed.backoffMillis", 100));
+        long total = TestConfig.getLong("nbank.seed.users", 1_000_000);
+
+        try (SeedCheckpoint checkpoint = new SeedCheckpoint(Path.of(TestConfig.getString("nbank.seed.file", "target/seed/seeded-users.csv")))) {
+            BulkSeeder.Result result = seeder.run(checkpoint, total, TestConfig.getLong("nbank.seed.maxFailures", 1_000));
+
+            System.out.println(result.describe());
+            assertEquals(total, result.getAlready() + result.getSeeded(),
+                    "засев остановился, перезапустите с тем же nbank.seed.file:\n" + result.describe());
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package iteration2test.seed;
+
+import iteration2test.TestDataFactory;
+import iteration2test.UserCredentials;
+import iteration2test.load.Endpoint;
+import iteration2test.load.LoadClient;
+import iteration2test.load.LoadSession;
+import iteration2test.load.RunRecorder;
+import iteration2test.support.ConsistentHashRing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// засевает сервер юзерами со счетами через обычный API, но параллельно:
+// не больше concurrency юзеров в работе одновременно — следующий ждёт свободного места (backpressure),
+// упавший шаг повторяется с растущей паузой, так что при сбоях сервера засев сам замедляется.
+// готовые юзеры дописываются в SeedCheckpoint, и повторный запуск досеивает только недостающих
+public class BulkSeeder {
+
+    private final ConsistentHashRing targets;
+    private final int concurrency;
+    private final int accountsPerUser;
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    public BulkSeeder(ConsistentHashRing targets, int concurrency, int accountsPerUser, int maxAttempts, Duration backoff) {
+        this.targets = targets;
+        this.concurrency = concurrency;
+        this.accountsPerUser = accountsPerUser;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+    }
+
+    // досеивает до totalUsers юзеров в файле; maxFailures неудачных юзеров — и засев останавливается,
+    // продолжить можно тем же вызовом
+    public Result run(SeedCheckpoint checkpoint, long totalUsers, long maxFailures) throws InterruptedException {
+        long already = checkpoint.read().size();
+        long start = System.nanoTime();
+        RunRecorder recorder = new RunRecorder("seed", start, 1_000);
+        // засеянные юзеры нужны следующим прогонам, Teardown их не трогает
+        LoadClient client = new LoadClient(targets, recorder).keepUsers();
+
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicLong seeded = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = already; i < totalUsers && failed.get() < maxFailures; i++) {
+                inFlight.acquire();
+                executor.submit(() -> {
+                    try {
+                        SeededUser user = seedOne(client);
+                        if (user == null) {
+                            failed.incrementAndGet();
+                        } else {
+                            checkpoint.append(user);
+                            seeded.incrementAndGet();
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return new Result(already, seeded.get(), failed.get(), System.nanoTime() - start, recorder);
+    }
+
+    private SeededUser seedOne(LoadClient client) {
+        // 1 юзер; на занятом username (8 hex-символов на миллионе юзеров совпадают) — новые креды
+        UserCredentials[] creds = new UserCredentials[1];
+        Boolean created = retry(() -> {
+            creds[0] = TestDataFactory.generateUser();
+            return client.createUser(creds[0]) ? Boolean.TRUE : null;
+        });
+        if (created == null) {
+            return null;
+        }
+
+        // 2 логин и счета
+        LoadSession session = retry(() -> client.login(creds[0]));
+        if (session == null) {
+            return null;
+        }
+        List<Integer> accountIds = new ArrayList<>();
+        for (int i = 0; i < accountsPerUser; i++) {
+            Integer accountId = retry(() -> client.createAccount(session));
+            if (accountId == null) {
+                return null;
+            }
+            accountIds.add(accountId);
+        }
+        return new SeededUser(creds[0], accountIds);
+    }
+
+    // null — все попытки не прошли; пауза между попытками удваивается
+    private <T> T retry(Supplier<T> step) {
+        long pauseMillis = backoff.toMillis();
+        for (int attempt = 1; ; attempt++) {
+            T value = step.get();
+            if (value != null || attempt >= maxAttempts) {
+                return value;
+            }
+            try {
+                Thread.sleep(pauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            pauseMillis *= 2;
+        }
+    }
+
+    public static class Result {
+        private final long already;
+        private final long seeded;
+        private final long failed;
+        private final long elapsedNanos;
+        private final RunRecorder recorder;
+
+        Result(long already, long seeded, long failed, long elapsedNanos, RunRecorder recorder) {
+            this.already = already;
+            this.seeded = seeded;
+            this.failed = failed;
+            this.elapsedNanos = elapsedNanos;
+            this.recorder = recorder;
+        }
+
+        public long getAlready() {
+            return already;
+        }
+
+        public long getSeeded() {
+            return seeded;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public double getUsersPerSecond() {
+            return seeded * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        public String describe() {
+            return String.format("засеяно %d юзеров за %.1f с (%.1f в секунду), уже было %d, не удалось %d, ошибок создания юзера %d%n",
+                    seeded, elapsedNanos / 1e9, getUsersPerSecond(), already, failed,
+                    recorder.get(Endpoint.ADMIN_CREATE_USER).getErrors()) + recorder.describe();
+        }
+    }
+}
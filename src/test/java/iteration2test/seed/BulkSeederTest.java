@@ -0,0 +1,81 @@
+package iteration2test.seed;
+
+import iteration2test.load.LoadClient;
+import iteration2test.load.RunRecorder;
+import iteration2test.standin.StandInCluster;
+import iteration2test.support.ApiTargets;
+import iteration2test.support.ConsistentHashRing;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class BulkSeederTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @Tag("standin")
+    public void crashedSeedResumesFromCheckpoint() throws InterruptedException, IOException {
+        try (StandInCluster cluster = StandInCluster.start(1, Duration.ZERO)) {
+            ConsistentHashRing ring = new ConsistentHashRing(List.of(ApiTargets.apiUrlOf(cluster.baseUrls().get(0))));
+            BulkSeeder seeder = new BulkSeeder(ring, 4, 2, 3, Duration.ofMillis(10));
+            Path file = dir.resolve("seeded-users.csv");
+
+            // 1. первый засев, потом «падение» посреди записи строки
+            try (SeedCheckpoint checkpoint = new SeedCheckpoint(file)) {
+                BulkSeeder.Result first = seeder.run(checkpoint, 12, 10);
+                assertEquals(12, first.getSeeded(), first.describe());
+            }
+            Files.writeString(file, "user_deadbeef,Pass!12", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+            // 2. повторный запуск досеивает только недостающих, оборванная строка не мешает
+            try (SeedCheckpoint checkpoint = new SeedCheckpoint(file)) {
+                BulkSeeder.Result second = seeder.run(checkpoint, 20, 10);
+                assertEquals(12, second.getAlready());
+                assertEquals(8, second.getSeeded(), second.describe());
+            }
+
+            // 3. в файле 20 разных юзеров по два счёта, и ими можно залогиниться
+            List<SeededUser> users = new SeedCheckpoint(file).read();
+            assertEquals(20, users.size());
+            assertEquals(20, new HashSet<>(users.stream().map(user -> user.getCredentials().getUsername()).toList()).size());
+            users.forEach(user -> assertEquals(2, user.getAccountIds().size()));
+            LoadClient client = new LoadClient(ring, new RunRecorder("check", System.nanoTime(), 1_000));
+            assertNotNull(client.login(users.get(19).getCredentials()));
+        }
+    }
+
+    @Test
+    public void tornTailIsSkipped() throws IOException {
+        Path file = dir.resolve("torn.csv");
+
+        // 1. последняя строка оборвана на середине списка счетов — по ней самой этого не видно
+        Files.writeString(file, "user_00000001,Pass!123456,3;4\nuser_00000002,Pass!654321,5;6\nuser_00000003,Pass!111111,7",
+                StandardCharsets.UTF_8);
+        assertEquals(2, new SeedCheckpoint(file).read().size());
+
+        // 2. обрывок отрезается, следующая запись ложится с новой строки
+        try (SeedCheckpoint checkpoint = new SeedCheckpoint(file)) {
+            checkpoint.append(SeededUser.decode("user_00000004,Pass!222222,8;9"));
+        }
+        List<SeededUser> users = new SeedCheckpoint(file).read();
+        assertEquals(List.of("user_00000001", "user_00000002", "user_00000004"),
+                users.stream().map(user -> user.getCredentials().getUsername()).toList());
+        assertEquals(List.of(8, 9), users.get(2).getAccountIds());
+        assertNull(SeededUser.decode("user_00000005,Pass!333333,10;"));
+    }
+}
@@ -0,0 +1,330 @@
+package iteration2test.seed;
+
+import iteration2test.support.TestConfig;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// каталог готовых юзеров на диске, общий для прогонов и параллельных форков:
+//   users.csv   — юзеры со счетами (формат SeedCheckpoint), только дописывается;
+//   updates.csv — известные балансы и «мёртвые» юзеры, только дописывается, поздняя строка главнее;
+//   leases.csv  — кто сейчас держит юзера и до какого времени, переписывается целиком.
+// всё меняется под файловой блокировкой catalog.lock, так что два форка не получат одного юзера.
+// аренда протухает через leaseTime — юзер упавшего форка вернётся в оборот сам; живой форк продлевает
+// свои аренды в фоне каждую треть leaseTime, так что долгий прогон юзера не теряет
+public class FixtureCatalog {
+
+    // FileLock не защищает от потоков той же JVM — их разводим обычной блокировкой
+    private static final Object JVM_LOCK = new Object();
+    private static final String DEAD = "dead";
+
+    private final Path usersFile;
+    private final Path updatesFile;
+    private final Path leasesFile;
+    private final Path lockFile;
+    private final Duration leaseTime;
+    private final String owner = ProcessHandle.current().pid() + "-" + Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+    private final List<SeededUser> users = new ArrayList<>();
+    private final Map<String, List<BigDecimal>> knownBalances = new HashMap<>();
+    private final Set<String> dead = new HashSet<>();
+    private final Set<LeasedUser> held = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService heartbeat;
+    private long usersOffset;
+    private long updatesOffset;
+    private int cursor = -1;
+
+    public FixtureCatalog(Path dir, Duration leaseTime) {
+        this.usersFile = dir.resolve("users.csv");
+        this.updatesFile = dir.resolve("updates.csv");
+        this.leasesFile = dir.resolve("leases.csv");
+        this.lockFile = dir.resolve("catalog.lock");
+        this.leaseTime = leaseTime;
+    }
+
+    // null — каталог выключен (по умолчанию), тогда прогоны создают юзеров сами.
+    // юзеры из файла засева (BulkSeedTest), если он есть, попадают в каталог автоматически
+    public static FixtureCatalog fromConfig() {
+        if (!TestConfig.getBoolean("nbank.catalog.enabled", false)) {
+            return null;
+        }
+        FixtureCatalog catalog = new FixtureCatalog(Path.of(TestConfig.getString("nbank.catalog.dir", "target/catalog")),
+                Duration.ofMinutes(TestConfig.getLong("nbank.catalog.leaseMinutes", 30)));
+        Path seeded = Path.of(TestConfig.getString("nbank.seed.file", "target/seed/seeded-users.csv"));
+        if (Files.exists(seeded)) {
+            catalog.importFrom(new SeedCheckpoint(seeded));
+        }
+        return catalog;
+    }
+
+    public void add(SeededUser user, List<BigDecimal> balances) {
+        locked(() -> {
+            append(usersFile, user.encode());
+            append(updatesFile, update(user.getCredentials().getUsername(), balances, false));
+            refresh();
+            return null;
+        });
+    }
+
+    // переносит в каталог юзеров из файла засева, которых там ещё нет; возвращает, сколько добавлено
+    public int importFrom(SeedCheckpoint checkpoint) {
+        List<SeededUser> seeded = checkpoint.read();
+        return locked(() -> {
+            refresh();
+            Set<String> present = new HashSet<>();
+            users.forEach(user -> present.add(user.getCredentials().getUsername()));
+            StringBuilder lines = new StringBuilder();
+            int added = 0;
+            for (SeededUser user : seeded) {
+                if (present.add(user.getCredentials().getUsername())) {
+                    lines.append(user.encode()).append('\n');
+                    added++;
+                }
+            }
+            if (added > 0) {
+                Files.createDirectories(usersFile.getParent());
+                Files.writeString(usersFile, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                refresh();
+            }
+            return added;
+        });
+    }
+
+    // свободный живой юзер хотя бы с minAccounts счетами; null — таких не осталось.
+    // юзера не проверяем: это сделает LeasedUser при первом использовании
+    public LeasedUser lease(int minAccounts) {
+        return locked(() -> {
+            refresh();
+            Map<String, String[]> leases = readLeases();
+            if (users.isEmpty()) {
+                return null;
+            }
+            // каждый форк начинает с своего места, чтобы не толкаться на первых строках
+            if (cursor < 0) {
+                cursor = ThreadLocalRandom.current().nextInt(users.size());
+            }
+            for (int i = 0; i < users.size(); i++) {
+                SeededUser user = users.get((cursor + i) % users.size());
+                String username = user.getCredentials().getUsername();
+                if (user.getAccountIds().size() >= minAccounts && !dead.contains(username) && !leases.containsKey(username)) {
+                    cursor = (cursor + i + 1) % users.size();
+                    leases.put(username, new String[]{username, owner,
+                            String.valueOf(System.currentTimeMillis() + leaseTime.toMillis())});
+                    writeLeases(leases);
+                    LeasedUser leased = new LeasedUser(this, user, balancesOf(user));
+                    held.add(leased);
+                    startHeartbeat();
+                    return leased;
+                }
+            }
+            return null;
+        });
+    }
+
+    // false — аренда уже не наша (протухла, юзера мог взять другой форк); юзер помечен потерянным
+    boolean renew(LeasedUser leased) {
+        return renew(List.of(leased));
+    }
+
+    private boolean renew(Collection<LeasedUser> leasedUsers) {
+        return locked(() -> {
+            Map<String, String[]> leases = readLeases();
+            String expiresAt = String.valueOf(System.currentTimeMillis() + leaseTime.toMillis());
+            boolean all = true;
+            for (LeasedUser leased : leasedUsers) {
+                String username = leased.getUser().getCredentials().getUsername();
+                String[] lease = leases.get(username);
+                if (leased.isReleased()) {
+                    continue;
+                }
+                if (lease == null || !lease[1].equals(owner)) {
+                    all = false;
+                    held.remove(leased);
+                    leased.markLost();
+                    System.err.println("Аренда юзера " + username + " потеряна: прогон держал его дольше " + leaseTime);
+                } else {
+                    lease[2] = expiresAt;
+                }
+            }
+            writeLeases(leases);
+            return all;
+        });
+    }
+
+    // нулевая аренда — это «упавший форк» из тестов, его не продлеваем
+    private synchronized void startHeartbeat() {
+        if (heartbeat != null || leaseTime.isZero()) {
+            return;
+        }
+        heartbeat = Executors.newSingleThreadScheduledExecutor(
+                task -> Thread.ofPlatform().name("nbank-catalog-leases").daemon().unstarted(task));
+        long period = Math.max(1, leaseTime.toMillis() / 3);
+        heartbeat.scheduleAtFixedRate(() -> {
+            try {
+                if (!held.isEmpty()) {
+                    renew(List.copyOf(held));
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Не удалось продлить аренды каталога: " + e);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public int size() {
+        return locked(() -> {
+            refresh();
+            return users.size();
+        });
+    }
+
+    // balances — что на счетах сейчас (null — не знаем, оставить прежние)
+    void release(LeasedUser leased, List<BigDecimal> balances, boolean isDead) {
+        String username = leased.getUser().getCredentials().getUsername();
+        held.remove(leased);
+        locked(() -> {
+            // потерянную аренду уже мог взять другой форк — его балансы не перетираем
+            if (!leased.isLost() && (isDead || balances != null)) {
+                append(updatesFile, update(username, balances == null ? List.of() : balances, isDead));
+            }
+            Map<String, String[]> leases = readLeases();
+            String[] lease = leases.get(username);
+            if (lease != null && lease[1].equals(owner)) {
+                leases.remove(username);
+                writeLeases(leases);
+            }
+            refresh();
+            return null;
+        });
+    }
+
+    private List<BigDecimal> balancesOf(SeededUser user) {
+        List<BigDecimal> balances = knownBalances.get(user.getCredentials().getUsername());
+        if (balances == null || balances.size() != user.getAccountIds().size()) {
+            return Collections.nCopies(user.getAccountIds().size(), BigDecimal.ZERO);
+        }
+        return balances;
+    }
+
+    // дочитывает только новые целые строки обоих журналов
+    private void refresh() throws IOException {
+        usersOffset = readFrom(usersFile, usersOffset, line -> {
+            SeededUser user = SeededUser.decode(line);
+            if (user != null) {
+                users.add(user);
+            }
+        });
+        updatesOffset = readFrom(updatesFile, updatesOffset, line -> {
+            String[] parts = line.split(",", -1);
+            if (parts.length == 3) {
+                if (DEAD.equals(parts[2])) {
+                    dead.add(parts[0]);
+                } else if (!parts[1].isEmpty()) {
+                    knownBalances.put(parts[0], Arrays.stream(parts[1].split(";")).map(BigDecimal::new).toList());
+                }
+            }
+        });
+    }
+
+    private static long readFrom(Path file, long offset, Consumer<String> lines) throws IOException {
+        if (!Files.exists(file) || Files.size(file) <= offset) {
+            return offset;
+        }
+        byte[] tail;
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            tail = new byte[(int) (raf.length() - offset)];
+            raf.seek(offset);
+            raf.readFully(tail);
+        }
+        int start = 0;
+        for (int i = 0; i < tail.length; i++) {
+            if (tail[i] == '\n') {
+                lines.accept(new String(tail, start, i - start, StandardCharsets.UTF_8).strip());
+                start = i + 1;
+            }
+        }
+        // строку без перевода в конце не берём: её ещё дописывают или она оборвана
+        return offset + start;
+    }
+
+    private static String update(String username, List<BigDecimal> balances, boolean isDead) {
+        StringBuilder sb = new StringBuilder(username).append(',');
+        for (int i = 0; i < balances.size(); i++) {
+            sb.append(i == 0 ? "" : ";").append(balances.get(i).toPlainString());
+        }
+        return sb.append(',').append(isDead ? DEAD : "ok").toString();
+    }
+
+    private static void append(Path file, String line) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, line + "\n", StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    // протухшие аренды отбрасываются при чтении
+    private Map<String, String[]> readLeases() throws IOException {
+        Map<String, String[]> leases = new LinkedHashMap<>();
+        if (!Files.exists(leasesFile)) {
+            return leases;
+        }
+        long now = System.currentTimeMillis();
+        for (String line : Files.readAllLines(leasesFile, StandardCharsets.UTF_8)) {
+            String[] parts = line.split(",");
+            if (parts.length == 3 && Long.parseLong(parts[2]) > now) {
+                leases.put(parts[0], parts);
+            }
+        }
+        return leases;
+    }
+
+    // через временный файл и атомарную замену: упавший посреди записи форк не испортит список аренд
+    private void writeLeases(Map<String, String[]> leases) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        leases.values().forEach(lease -> sb.append(String.join(",", lease)).append('\n'));
+        Path tmp = leasesFile.resolveSibling("leases.csv." + owner + ".tmp");
+        Files.writeString(tmp, sb, StandardCharsets.UTF_8);
+        Files.move(tmp, leasesFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private <T> T locked(LockedAction<T> action) {
+        synchronized (JVM_LOCK) {
+            try {
+                Files.createDirectories(lockFile.getParent());
+                // блокировка снимается вместе с закрытием канала
+                try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                    channel.lock();
+                    return action.run();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Каталог юзеров недоступен: " + lockFile.getParent(), e);
+            }
+        }
+    }
+
+    private interface LockedAction<T> {
+        T run() throws IOException;
+    }
+}
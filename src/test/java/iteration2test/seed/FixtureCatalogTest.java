@@ -0,0 +1,162 @@
+package iteration2test.seed;
+
+import iteration2test.TestDataFactory;
+import iteration2test.UserCredentials;
+import iteration2test.load.LoadClient;
+import iteration2test.load.LoadSession;
+import iteration2test.load.RunRecorder;
+import iteration2test.property.AmountProperty;
+import iteration2test.property.PropertyRunner;
+import iteration2test.standin.StandInCluster;
+import iteration2test.support.ApiTargets;
+import iteration2test.support.ConsistentHashRing;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FixtureCatalogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void forksNeverShareLeasedUser() {
+        // два экземпляра на одной папке — как два форка
+        FixtureCatalog first = new FixtureCatalog(dir, Duration.ofMinutes(5));
+        FixtureCatalog second = new FixtureCatalog(dir, Duration.ofMinutes(5));
+        for (int i = 0; i < 3; i++) {
+            first.add(user(i, 2), List.of(BigDecimal.ZERO, BigDecimal.ZERO));
+        }
+        first.add(user(3, 1), List.of(BigDecimal.ZERO));
+
+        // 1. три юзера с двумя счетами раздаются по одному, четвёртый не подходит по счетам
+        Set<String> leased = new HashSet<>();
+        leased.add(first.lease(2).getUser().getCredentials().getUsername());
+        leased.add(second.lease(2).getUser().getCredentials().getUsername());
+        LeasedUser third = first.lease(2);
+        leased.add(third.getUser().getCredentials().getUsername());
+        assertEquals(3, leased.size());
+        assertNull(second.lease(2));
+
+        // 2. возвращённый юзер снова доступен другому форку — с известными балансами
+        third.release(List.of(new BigDecimal("12.50"), BigDecimal.ONE));
+        LeasedUser again = second.lease(2);
+        assertEquals(third.getUser().getCredentials().getUsername(), again.getUser().getCredentials().getUsername());
+        assertEquals(List.of(new BigDecimal("12.50"), BigDecimal.ONE), again.getBalances());
+    }
+
+    @Test
+    public void expiredLeaseReturnsToPool() {
+        FixtureCatalog crashed = new FixtureCatalog(dir, Duration.ZERO);
+        crashed.add(user(0, 1), List.of(BigDecimal.ZERO));
+
+        // форк взял юзера и упал, не вернув: аренда нулевой длины уже протухла
+        assertNotNull(crashed.lease(1));
+        assertNotNull(new FixtureCatalog(dir, Duration.ofMinutes(5)).lease(1));
+    }
+
+    @Test
+    public void heldLeaseIsRenewedUntilReleased() throws InterruptedException {
+        FixtureCatalog first = new FixtureCatalog(dir, Duration.ofMillis(600));
+        FixtureCatalog second = new FixtureCatalog(dir, Duration.ofMillis(600));
+        first.add(user(0, 1), List.of(BigDecimal.ZERO));
+
+        // 1. юзера держат втрое дольше аренды — каталог продлевает её, другой форк юзера не получает
+        LeasedUser held = first.lease(1);
+        Thread.sleep(1_800);
+        assertNull(second.lease(1));
+        assertTrue(held.renew());
+        assertFalse(held.isLost());
+
+        // 2. после возврата юзер снова доступен
+        held.release(null);
+        assertNotNull(second.lease(1));
+    }
+
+    @Test
+    public void unreachableNodeDoesNotKillUser() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("http://127.0.0.1:1/api/v1"));
+        LoadClient client = new LoadClient(ring, new RunRecorder("catalog", System.nanoTime(), 1_000));
+        FixtureCatalog catalog = new FixtureCatalog(dir, Duration.ofMinutes(5));
+        catalog.add(user(0, 1), List.of(BigDecimal.ZERO));
+
+        // узел недоступен: юзера не проверить, но он возвращается в каталог живым
+        assertNull(catalog.lease(1).session(client));
+        assertNotNull(catalog.lease(1));
+    }
+
+    @Test
+    public void propertyRunnerGivesUpOnCatalogItCannotCheck() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("http://127.0.0.1:1/api/v1"));
+        FixtureCatalog catalog = new FixtureCatalog(dir, Duration.ofMinutes(5));
+        for (int i = 0; i < 3; i++) {
+            catalog.add(user(i, 2), List.of(BigDecimal.ZERO, BigDecimal.ZERO));
+        }
+
+        // 1. узел недоступен: каталог проходится один раз, потом прогон падает на создании юзеров, а не виснет
+        PropertyRunner runner = new PropertyRunner(ring, 2, 1, 5, catalog);
+        assertTimeoutPreemptively(Duration.ofSeconds(30),
+                () -> assertThrows(IllegalStateException.class, () -> runner.run(AmountProperty.DEPOSIT, 10)));
+
+        // 2. непроверенные юзеры остались в каталоге живыми
+        assertEquals(3, catalog.size());
+        assertNotNull(catalog.lease(2));
+    }
+
+    @Test
+    @Tag("standin")
+    public void userIsValidatedOnFirstUseAndCatalogIsReused() throws InterruptedException {
+        try (StandInCluster cluster = StandInCluster.start(1, Duration.ZERO)) {
+            ConsistentHashRing ring = new ConsistentHashRing(List.of(ApiTargets.apiUrlOf(cluster.baseUrls().get(0))));
+            LoadClient client = new LoadClient(ring, new RunRecorder("catalog", System.nanoTime(), 1_000));
+            FixtureCatalog catalog = new FixtureCatalog(dir, Duration.ofMinutes(5));
+
+            // 1. юзер, которого на сервере нет (сервер перезалили), при первом использовании помечается мёртвым
+            catalog.add(user(0, 2), List.of(BigDecimal.ZERO, BigDecimal.ZERO));
+            LeasedUser missing = catalog.lease(2);
+            assertNull(missing.session(client));
+            assertNull(catalog.lease(2));
+
+            // 2. живой юзер получает настоящие балансы с сервера
+            UserCredentials creds = TestDataFactory.generateUser();
+            client.createUser(creds);
+            LoadSession session = client.login(creds);
+            int accountId = client.createAccount(session);
+            client.deposit(session, accountId, "300");
+            catalog.add(new SeededUser(creds, List.of(accountId, client.createAccount(session))),
+                    List.of(BigDecimal.ZERO, BigDecimal.ZERO));
+            LeasedUser alive = catalog.lease(2);
+            assertNotNull(alive.session(client));
+            assertEquals(0, new BigDecimal("300").compareTo(alive.getBalances().get(0)));
+            alive.release(alive.getBalances());
+
+            // 3. свойства на каталоге: первый прогон добавляет недостающих юзеров, второй обходится ими
+            PropertyRunner runner = new PropertyRunner(ring, 3, 1, 50, catalog);
+            assertTrue(runner.run(AmountProperty.TRANSFER, 20).getFailures().isEmpty());
+            assertEquals(4, catalog.size());
+            assertTrue(runner.run(AmountProperty.DEPOSIT, 20).getFailures().isEmpty());
+            assertEquals(4, catalog.size());
+        }
+    }
+
+    private static SeededUser user(int index, int accounts) {
+        List<Integer> accountIds = IntStream.range(0, accounts).map(i -> 1_000 + index * 10 + i).boxed().toList();
+        return new SeededUser(new UserCredentials("user_%08x".formatted(index), "Pass!000000"), accountIds);
+    }
+}
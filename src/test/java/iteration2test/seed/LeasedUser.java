@@ -0,0 +1,139 @@
+package iteration2test.seed;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.config.JsonPathConfig;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import iteration2test.load.LoadClient;
+import iteration2test.load.LoadSession;
+import iteration2test.support.EndpointTimeouts;
+import iteration2test.support.RequestIds;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+
+// юзер, взятый из каталога в аренду. проверяется лениво — при первом session():
+// логинимся и читаем балансы его счетов. мёртвым юзер помечается, только если сервер его не знает
+// (401 на логин или счёта нет) — сервер могли перезалить. таймаут, 5xx или недоступный узел — не повод
+// выбрасывать юзера из каталога: он просто возвращается. пока аренда не отдана, каталог её продлевает.
+// арендой пользуется один поток
+public class LeasedUser {
+
+    private static final JsonPathConfig EXACT_NUMBERS = new JsonPathConfig(JsonPathConfig.NumberReturnType.BIG_DECIMAL);
+
+    private final FixtureCatalog catalog;
+    private final SeededUser user;
+    private List<BigDecimal> balances;
+    private LoadSession session;
+    private volatile boolean released;
+    private volatile boolean lost;
+
+    LeasedUser(FixtureCatalog catalog, SeededUser user, List<BigDecimal> balances) {
+        this.catalog = catalog;
+        this.user = user;
+        this.balances = balances;
+    }
+
+    public SeededUser getUser() {
+        return user;
+    }
+
+    // балансы по счетам в порядке getAccountIds(): известные каталогу, после session() — настоящие
+    public List<BigDecimal> getBalances() {
+        return balances;
+    }
+
+    // аренда протухла (форк стоял дольше leaseTime) — юзера мог взять другой форк
+    public boolean isLost() {
+        return lost;
+    }
+
+    boolean isReleased() {
+        return released;
+    }
+
+    void markLost() {
+        lost = true;
+    }
+
+    // продлевает аренду сейчас, не дожидаясь фонового продления; false — аренда уже потеряна
+    public boolean renew() {
+        return !released && catalog.renew(this);
+    }
+
+    // null — юзер сейчас не годится; он уже возвращён в каталог (мёртвым — только если сервер его не знает)
+    public LoadSession session(LoadClient client) {
+        if (session != null) {
+            return session;
+        }
+        String apiUrl = client.nodeFor(user.getCredentials().getUsername());
+        Verdict verdict = verify(apiUrl);
+        if (verdict != Verdict.ALIVE) {
+            released = true;
+            catalog.release(this, null, verdict == Verdict.DEAD);
+            return null;
+        }
+        return session;
+    }
+
+    private enum Verdict {
+        ALIVE, DEAD, UNKNOWN
+    }
+
+    private Verdict verify(String apiUrl) {
+        try {
+            // 1 логин: 401 — юзера на сервере нет
+            Response login = request("/auth/login")
+                    .contentType(ContentType.JSON)
+                    .body("{\"username\": \"%s\", \"password\": \"%s\"}"
+                            .formatted(user.getCredentials().getUsername(), user.getCredentials().getPassword()))
+                    .post(apiUrl + "/auth/login");
+            if (login.statusCode() != 200) {
+                return login.statusCode() == 401 ? Verdict.DEAD : Verdict.UNKNOWN;
+            }
+            String authHeader = login.header("Authorization");
+
+            // 2 счета: любого из них нет — юзер не тот, что в каталоге
+            Response accounts = request("/customer/accounts")
+                    .header("Authorization", authHeader)
+                    .get(apiUrl + "/customer/accounts");
+            if (accounts.statusCode() != 200) {
+                return accounts.statusCode() == 401 ? Verdict.DEAD : Verdict.UNKNOWN;
+            }
+            List<BigDecimal> actual = new ArrayList<>();
+            for (int accountId : user.getAccountIds()) {
+                Object balance = accounts.jsonPath(EXACT_NUMBERS).get("find { it.id == %d }.balance".formatted(accountId));
+                if (balance == null) {
+                    return Verdict.DEAD;
+                }
+                actual.add(new BigDecimal(balance.toString()));
+            }
+            balances = actual;
+            session = new LoadSession(user.getCredentials().getUsername(), apiUrl, authHeader);
+            return Verdict.ALIVE;
+        } catch (Exception e) {
+            // RestAssured пробрасывает и checked-исключения: ConnectException, SocketTimeoutException
+            return Verdict.UNKNOWN;
+        }
+    }
+
+    private static RequestSpecification request(String path) {
+        return given()
+                .noFilters()
+                .config(EndpointTimeouts.forPath(path).applyTo(RestAssured.config()))
+                .accept(ContentType.JSON)
+                .header(RequestIds.HEADER, RequestIds.next());
+    }
+
+    // возвращает юзера в каталог; balances — что осталось на счетах (null — не знаем)
+    public void release(List<BigDecimal> finalBalances) {
+        if (!released) {
+            released = true;
+            catalog.release(this, finalBalances, false);
+        }
+    }
+}
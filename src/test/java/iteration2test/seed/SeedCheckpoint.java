@@ -0,0 +1,103 @@
+package iteration2test.seed;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// файл засева: строка дописывается, только когда юзер и все его счета созданы, и сразу сбрасывается на диск.
+// упавший засев продолжается с того же файла, а более поздние прогоны берут из него готовых юзеров
+public class SeedCheckpoint implements AutoCloseable {
+
+    private final Path file;
+    private BufferedWriter writer;
+
+    public SeedCheckpoint(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    // строка без перевода в конце файла — оборванная запись, её не берём; прочие битые строки пропускаются
+    public List<SeededUser> read() {
+        List<SeededUser> users = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return users;
+        }
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            if (hasTornTail()) {
+                lines.remove(lines.size() - 1);
+            }
+            lines.stream().map(SeededUser::decode).filter(user -> user != null).forEach(users::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать файл засева " + file, e);
+        }
+        return users;
+    }
+
+    public synchronized void append(SeededUser user) {
+        try {
+            if (writer == null) {
+                writer = open();
+            }
+            writer.write(user.encode());
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось дописать файл засева " + file, e);
+        }
+    }
+
+    // если прошлый засев оборвался посреди строки, обрывок отрезаем: дописанный перевод строки сделал бы его «целым»
+    private BufferedWriter open() throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        if (hasTornTail()) {
+            try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+                long end = raf.length() - 1;
+                while (end >= 0) {
+                    raf.seek(end);
+                    if (raf.read() == '\n') {
+                        break;
+                    }
+                    end--;
+                }
+                raf.setLength(end + 1);
+            }
+        }
+        return Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private boolean hasTornTail() throws IOException {
+        if (!Files.exists(file) || Files.size(file) == 0) {
+            return false;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            raf.seek(raf.length() - 1);
+            return raf.read() != '\n';
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Не удалось закрыть файл засева " + file, e);
+            } finally {
+                writer = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package iteration2test.seed;
+
+import iteration2test.UserCredentials;
+
+import java.util.Arrays;
+import java.util.List;
+
+// засеянный юзер: логин, пароль и его счета. в файле — одна строка "username,password,id;id;..."
+public class SeededUser {
+
+    private final UserCredentials credentials;
+    private final List<Integer> accountIds;
+
+    public SeededUser(UserCredentials credentials, List<Integer> accountIds) {
+        this.credentials = credentials;
+        this.accountIds = List.copyOf(accountIds);
+    }
+
+    public UserCredentials getCredentials() {
+        return credentials;
+    }
+
+    public List<Integer> getAccountIds() {
+        return accountIds;
+    }
+
+    public String encode() {
+        StringBuilder sb = new StringBuilder(credentials.getUsername()).append(',').append(credentials.getPassword()).append(',');
+        for (int i = 0; i < accountIds.size(); i++) {
+            sb.append(i == 0 ? "" : ";").append(accountIds.get(i));
+        }
+        return sb.toString();
+    }
+
+    // null — строка битая (например, оборвана на записи при падении)
+    public static SeededUser decode(String line) {
+        String[] parts = line.split(",", -1);
+        if (parts.length != 3 || parts[0].isEmpty() || parts[1].isEmpty() || parts[2].isEmpty()) {
+            return null;
+        }
+        try {
+            List<Integer> accountIds = Arrays.stream(parts[2].split(";", -1)).map(Integer::parseInt).toList();
+            return new SeededUser(new UserCredentials(parts[0], parts[1]), accountIds);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
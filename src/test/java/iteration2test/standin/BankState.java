@@ -0,0 +1,88 @@
+package iteration2test.standin;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// данные одного узла заглушки; у каждого узла своя копия, изменения доезжают через репликацию
+class BankState {
+
+    static class User {
+        final int id;
+        final String username;
+        final String password;
+        volatile String name;
+
+        User(int id, String username, String password) {
+            this.id = id;
+            this.username = username;
+            this.password = password;
+        }
+    }
+
+    static class Account {
+        final int id;
+        final String owner;
+        volatile BigDecimal balance = BigDecimal.ZERO;
+
+        Account(int id, String owner) {
+            this.id = id;
+            this.owner = owner;
+        }
+    }
+
+    final ConcurrentHashMap<String, User> users = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<Integer, String> usernamesById = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<Integer, Account> accounts = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<String, Set<Integer>> accountsByOwner = new ConcurrentHashMap<>();
+
+    void addUser(int id, String username, String password) {
+        if (users.putIfAbsent(username, new User(id, username, password)) == null) {
+            usernamesById.put(id, username);
+        }
+    }
+
+    // юзер уходит вместе со своими счетами
+    void removeUser(int id) {
+        String username = usernamesById.remove(id);
+        if (username != null) {
+            users.remove(username);
+            Set<Integer> owned = accountsByOwner.remove(username);
+            if (owned != null) {
+                owned.forEach(accounts::remove);
+            }
+        }
+    }
+
+    void addAccount(int id, String owner) {
+        accounts.putIfAbsent(id, new Account(id, owner));
+        accountsByOwner.computeIfAbsent(owner, key -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    void addToBalance(int accountId, BigDecimal amount) {
+        Account account = accounts.get(accountId);
+        if (account != null) {
+            synchronized (account) {
+                account.balance = account.balance.add(amount);
+            }
+        }
+    }
+
+    void setName(String username, String name) {
+        User user = users.get(username);
+        if (user != null) {
+            user.name = name;
+        }
+    }
+
+    List<Account> accountsOf(String username) {
+        return accountsByOwner.getOrDefault(username, Set.of()).stream()
+                .map(accounts::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingInt(account -> account.id))
+                .toList();
+    }
+}
@@ -0,0 +1,81 @@
+package iteration2test.standin;
+
+import iteration2test.support.ApiTargets;
+import iteration2test.support.Teardown;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// локальная заглушка nbank из нескольких узлов на loopback.
+// запись применяется на узле, который её принял, и доезжает до остальных через replicationDelay
+public class StandInCluster implements AutoCloseable {
+
+    private final List<StandInNode> nodes = new ArrayList<>();
+    private final AtomicInteger accountIds = new AtomicInteger();
+    private final AtomicInteger userIds = new AtomicInteger();
+    private final ScheduledExecutorService replication = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stand-in-replication");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long replicationDelayNanos;
+
+    private StandInCluster(Duration replicationDelay) {
+        this.replicationDelayNanos = replicationDelay.toNanos();
+    }
+
+    public static StandInCluster start(int nodeCount, Duration replicationDelay) {
+        StandInCluster cluster = new StandInCluster(replicationDelay);
+        try {
+            for (int i = 0; i < nodeCount; i++) {
+                cluster.nodes.add(new StandInNode(cluster));
+            }
+        } catch (IOException e) {
+            cluster.close();
+            throw new UncheckedIOException("Не удалось поднять заглушку nbank", e);
+        }
+        return cluster;
+    }
+
+    public List<String> baseUrls() {
+        return nodes.stream().map(StandInNode::baseUrl).toList();
+    }
+
+    // изменение уже применено на origin, раскатываем на остальные узлы
+    void replicate(StandInNode origin, Consumer<BankState> change) {
+        for (StandInNode node : nodes) {
+            if (node == origin) {
+                continue;
+            }
+            if (replicationDelayNanos == 0) {
+                change.accept(node.state());
+            } else {
+                replication.schedule(() -> change.accept(node.state()), replicationDelayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    int nextAccountId() {
+        return accountIds.incrementAndGet();
+    }
+
+    int nextUserId() {
+        return userIds.incrementAndGet();
+    }
+
+    @Override
+    public void close() {
+        nodes.forEach(StandInNode::stop);
+        // юзеры стенда умерли вместе с ним — удалять их после теста нечего
+        baseUrls().forEach(baseUrl -> Teardown.suite().forgetNode(ApiTargets.apiUrlOf(baseUrl)));
+        replication.shutdownNow();
+    }
+}
@@ -0,0 +1,33 @@
+package iteration2test.standin;
+
+import iteration2test.load.ReadAfterWriteLagProbe;
+import iteration2test.support.ApiTargets;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("standin")
+public class StandInClusterTest {
+
+    @Test
+    public void lagProbeSeesConfiguredReplicationDelay() throws InterruptedException {
+        try (StandInCluster cluster = StandInCluster.start(2, Duration.ofMillis(100))) {
+            List<String> nodes = cluster.baseUrls().stream().map(ApiTargets::apiUrlOf).toList();
+            ReadAfterWriteLagProbe probe = new ReadAfterWriteLagProbe(nodes.get(0), nodes.get(1),
+                    Duration.ofMillis(1), Duration.ofSeconds(2));
+
+            ReadAfterWriteLagProbe.LagResult result = probe.measure(2, Duration.ofSeconds(1));
+
+            assertTrue(result.getProbes() > 0, result.describe());
+            assertEquals(0, result.getTimeouts());
+            long p50Millis = result.getLag().getValueAtPercentile(50) / 1_000;
+            // границы с запасом на медленную машину: важно, что задержка видна и что она одного порядка с заданной
+            assertTrue(p50Millis >= 50 && p50Millis < 1_500, "лаг p50 " + p50Millis + " мс: " + result.describe());
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package iteration2test.standin;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.path.json.JsonPath;
+import io.restassured.path.json.config.JsonPathConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// один узел заглушки: подмножество API nbank с теми же правилами валидации, что проверяют тесты
+class StandInNode {
+
+    private static final String API_PREFIX = "/api/v1";
+    private static final String ADMIN = "admin:admin";
+    private static final BigDecimal MAX_DEPOSIT = new BigDecimal("5000");
+    private static final BigDecimal MAX_TRANSFER = new BigDecimal("10000");
+    private static final Pattern VALID_NAME = Pattern.compile("[A-Za-z]+ [A-Za-z]+");
+    private static final JsonPathConfig JSON_CONFIG = new JsonPathConfig(JsonPathConfig.NumberReturnType.BIG_DECIMAL);
+    private static final ObjectMapper STRICT_JSON = new ObjectMapper();
+    private static final int MAX_DEPTH = 64;
+
+    private final StandInCluster cluster;
+    private final BankState state = new BankState();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    StandInNode(StandInCluster cluster) throws IOException {
+        this.cluster = cluster;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.createContext(API_PREFIX, this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    BankState state() {
+        return state;
+    }
+
+    void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath().substring(API_PREFIX.length());
+            String route = exchange.getRequestMethod() + " " + path.replaceFirst("^/admin/users/[^/]+$", "/admin/users/{id}");
+            String body = readBody(exchange.getRequestBody());
+            Reply reply;
+            try {
+                reply = switch (route) {
+                    case "POST /admin/users" -> createUser(exchange, body);
+                    case "DELETE /admin/users/{id}" -> deleteUser(exchange, path.substring("/admin/users/".length()));
+                    case "POST /auth/login" -> login(body);
+                    case "POST /accounts" -> createAccount(exchange);
+                    case "POST /accounts/deposit" -> deposit(exchange, body);
+                    case "POST /accounts/transfer" -> transfer(exchange, body);
+                    case "PUT /customer/profile" -> updateProfile(exchange, body);
+                    case "GET /customer/profile" -> getProfile(exchange);
+                    case "GET /customer/accounts" -> getAccounts(exchange);
+                    default -> new Reply(404, "{\"error\": \"Not found\"}");
+                };
+            } catch (NotANumber e) {
+                reply = new Reply(500, "{\"error\": \"Internal Server Error\"}");
+            } catch (RuntimeException e) {
+                reply = new Reply(400, "{\"error\": \"Bad request\"}");
+            }
+            if (reply.authHeader != null) {
+                exchange.getResponseHeaders().set("Authorization", reply.authHeader);
+            }
+            byte[] bytes = reply.body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(reply.status, bytes.length == 0 ? -1 : bytes.length);
+            if (bytes.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            }
+        }
+    }
+
+    private Reply createUser(HttpExchange exchange, String body) {
+        if (!ADMIN.equals(credentials(exchange))) {
+            return new Reply(401, "{\"error\": \"Unauthorized\"}");
+        }
+        JsonPath json = json(body);
+        String username = json.getString("username");
+        String password = json.getString("password");
+        if (username == null || username.isBlank() || password == null || password.isBlank()) {
+            return new Reply(400, "{\"error\": \"Username and password are required\"}");
+        }
+        if (state.users.containsKey(username)) {
+            return new Reply(400, "{\"error\": \"Username already exists\"}");
+        }
+        int id = cluster.nextUserId();
+        state.addUser(id, username, password);
+        cluster.replicate(this, replica -> replica.addUser(id, username, password));
+        return new Reply(201, "{\"id\": %d, \"username\": \"%s\", \"role\": \"USER\", \"accounts\": []}"
+                .formatted(id, escape(username)));
+    }
+
+    private Reply deleteUser(HttpExchange exchange, String idText) {
+        if (!ADMIN.equals(credentials(exchange))) {
+            return new Reply(401, "{\"error\": \"Unauthorized\"}");
+        }
+        int id = Integer.parseInt(idText);
+        if (!state.usernamesById.containsKey(id)) {
+            return new Reply(404, "{\"error\": \"User not found\"}");
+        }
+        state.removeUser(id);
+        cluster.replicate(this, replica -> replica.removeUser(id));
+        return new Reply(200, "{\"message\": \"User with ID %d deleted successfully\"}".formatted(id));
+    }
+
+    private Reply login(String body) {
+        JsonPath json = json(body);
+        String username = json.getString("username");
+        String password = json.getString("password");
+        BankState.User user = username == null ? null : state.users.get(username);
+        if (user == null || !user.password.equals(password)) {
+            return new Reply(401, "{\"error\": \"Invalid credentials\"}");
+        }
+        Reply reply = new Reply(200, "{\"username\": \"%s\", \"role\": \"USER\"}".formatted(escape(username)));
+        reply.authHeader = "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        return reply;
+    }
+
+    private Reply createAccount(HttpExchange exchange) {
+        String username = authorizedUser(exchange);
+        if (username == null) {
+            return new Reply(401, "{\"error\": \"Unauthorized\"}");
+        }
+        int id = cluster.nextAccountId();
+        state.addAccount(id, username);
+        cluster.replicate(this, replica -> replica.addAccount(id, username));
+        return new Reply(201, accountJson(state.accounts.get(id)));
+    }
+
+    private Reply deposit(HttpExchange exchange, String body) {
+        String username = authorizedUser(exchange);
+        if (username == null) {
+            return new Reply(401, "{\"error\": \"Unauthorized\"}");
+        }
+        JsonPath json = json(body);
+        BankState.Account account = state.accounts.get(json.getInt("id"));
+        BigDecimal amount = amount(json.get("balance"));
+        if (account == null || !account.owner.equals(username)) {
+            return new Reply(403, "{\"error\": \"Unauthorized access to account\"}");
+        }
+        if (amount.signum() <= 0 || amount.compareTo(MAX_DEPOSIT) > 0) {
+            return new Reply(400, "{\"error\": \"Invalid deposit amount\"}");
+        }
+        state.addToBalance(account.id, amount);
+        cluster.replicate(this, replica -> replica.addToBalance(account.id, amount));
+        return new Reply(200, accountJson(account));
+    }
+
+    private Reply transfer(HttpExchange exchange, String body) {
+        String username = authorizedUser(exchange);
+        if (username == null) {
+            return new Reply(401, "{\"error\": \"Unauthorized\"}");
+        }
+        JsonPath json = json(body);
+        BankState.Account sender = state.accounts.get(json.getInt("senderAccountId"));
+        BankState.Account receiver = state.accounts.get(json.getInt("receiverAccountId"));
+        BigDecimal amount = amount(json.get("amount"));
+        if (sender == null || !sender.owner.equals(username)) {
+            return new Reply(403, "{\"error\": \"Unauthorized access to account\"}");
+        }
+        if (receiver == null || amount.signum() <= 0 || amount.compareTo(MAX_TRANSFER) > 0) {
+            return new Reply(400, "{\"error\": \"Invalid transfer\"}");
+        }
+        synchronized (sender) {
+            if (sender.balance.compareTo(amount) < 0) {
+                return new Reply(400, "{\"error\": \"Insufficient funds\"}");
+            }
+            state.addToBalance(sender.id, amount.negate());
+        }
+        state.addToBalance(receiver.id, amount);
+        cluster.replicate(this, replica -> {
+            replica.addToBalance(sender.id, amount.negate());
+            replica.addToBalance(receiver.id, amount);
+        });
+        return new Reply(200, "{\"message\": \"Transfer successful\", \"senderAccountId\": %d, \"receiverAccountId\": %d, \"amount\": %s}"
+                .formatted(sender.id, receiver.id, amount.toPlainString()));
+    }
+
+    private Reply updateProfile(HttpExchange exchange, String body) {
+        String username = authorizedUser(exchange);
+        if (username == null) {
+            return new Reply(401, "{\"error\": \"Unauthorized\"}");
+        }
+        String name = json(body).getString("name");
+        if (name == null || !VALID_NAME.matcher(name).matches()) {
+            return new Reply(400, "{\"error\": \"Name must contain two words with letters only\"}");
+        }
+        state.setName(username, name);
+        cluster.replicate(this, replica -> replica.setName(username, name));
+        return new Reply(200, "{\"message\": \"Profile updated successfully\", \"customer\": {\"username\": \"%s\", \"name\": \"%s\"}}"
+                .formatted(escape(username), escape(name)));
+    }
+
+    private Reply getProfile(HttpExchange exchange) {
+        String username = authorizedUser(exchange);
+        if (username == null) {
+            return new Reply(401, "{\"error\": \"Unauthorized\"}");
+        }
+        String name = state.users.get(username).name;
+        return new Reply(200, "{\"username\": \"%s\", \"name\": %s}"
+                .formatted(escape(username), name == null ? "null" : "\"" + escape(name) + "\""));
+    }
+
+    private Reply getAccounts(HttpExchange exchange) {
+        String username = authorizedUser(exchange);
+        if (username == null) {
+            return new Reply(401, "{\"error\": \"Unauthorized\"}");
+        }
+        return new Reply(200, state.accountsOf(username).stream()
+                .map(StandInNode::accountJson)
+                .collect(Collectors.joining(", ", "[", "]")));
+    }
+
+    private String authorizedUser(HttpExchange exchange) {
+        String credentials = credentials(exchange);
+        if (credentials == null) {
+            return null;
+        }
+        int colon = credentials.indexOf(':');
+        if (colon < 0) {
+            return null;
+        }
+        BankState.User user = state.users.get(credentials.substring(0, colon));
+        return user != null && user.password.equals(credentials.substring(colon + 1)) ? user.username : null;
+    }
+
+    private static String credentials(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Basic ")) {
+            return null;
+        }
+        try {
+            return new String(Base64.getDecoder().decode(header.substring(6).trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // JsonSlurper прощает висячие запятые и одинарные кавычки, поэтому синтаксис сначала проверяет Jackson, как на сервере.
+    // глубину вложенности стенд-ин проверяет сам и до разбора: оба парсера рекурсивные и на глубоком теле
+    // падают в StackOverflowError. лимит свой, у настоящего сервера он может быть другим
+    private static JsonPath json(String body) {
+        if (depth(body) > MAX_DEPTH) {
+            throw new IllegalArgumentException("Вложенность JSON глубже " + MAX_DEPTH);
+        }
+        try {
+            STRICT_JSON.readTree(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Некорректный JSON", e);
+        }
+        return new JsonPath(body).using(JSON_CONFIG);
+    }
+
+    // скобки внутри строк не считаются
+    private static int depth(String body) {
+        int depth = 0;
+        int max = 0;
+        boolean inString = false;
+        for (int i = 0; i < body.length(); i++) {
+            char c = body.charAt(i);
+            if (inString) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                max = Math.max(max, ++depth);
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+        }
+        return max;
+    }
+
+    private static BigDecimal amount(Object value) {
+        if (!(value instanceof Number)) {
+            throw new NotANumber();
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    private static String accountJson(BankState.Account account) {
+        return "{\"id\": %d, \"accountNumber\": \"ACC%d\", \"balance\": %s, \"transactions\": []}"
+                .formatted(account.id, account.id, account.balance.toPlainString());
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static String readBody(InputStream in) throws IOException {
+        return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static class Reply {
+        final int status;
+        final String body;
+        String authHeader;
+
+        Reply(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    // сервер nbank отвечает 500 на строку вместо суммы — повторяем это поведение
+    private static class NotANumber extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+}
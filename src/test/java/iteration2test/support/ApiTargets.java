@@ -0,0 +1,49 @@
+package iteration2test.support;
+
+import java.net.URI;
+import java.util.List;
+
+// куда слать запросы: nbank.baseUrls (через запятую) + nbank.apiPrefix.
+// все запросы одного юзера идут на один узел, выбранный по его username
+// в тесте с несколькими юзерами все запросы маршрутизируются по первому: иначе второй юзер
+// и его счёт могут оказаться на узле, куда репликация ещё не дошла
+public final class ApiTargets {
+
+    private static final String API_PREFIX = TestConfig.getString("nbank.apiPrefix", "/api/v1");
+    private static final ConsistentHashRing RING = new ConsistentHashRing(
+            TestConfig.getList("nbank.baseUrls", "http://localhost:4111").stream()
+                    .map(ApiTargets::apiUrlOf)
+                    .toList());
+
+    private ApiTargets() {
+    }
+
+    // базовый URL API (с префиксом) для юзера
+    public static String apiUrl(String username) {
+        return RING.nodeFor(username);
+    }
+
+    public static String url(String username, String path) {
+        return apiUrl(username) + path;
+    }
+
+    public static List<String> allApiUrls() {
+        return RING.getNodes();
+    }
+
+    public static ConsistentHashRing ring() {
+        return RING;
+    }
+
+    // путь эндпоинта без узла и префикса API: http://host:4111/api/v1/accounts/transfer -> /accounts/transfer
+    public static String pathOf(String url) {
+        String path = URI.create(url).getPath();
+        int prefix = path.indexOf(API_PREFIX);
+        return prefix < 0 ? path : path.substring(prefix + API_PREFIX.length());
+    }
+
+    public static String apiUrlOf(String baseUrl) {
+        String base = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        return base.endsWith(API_PREFIX) ? base : base + API_PREFIX;
+    }
+}
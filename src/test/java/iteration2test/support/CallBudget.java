@@ -0,0 +1,18 @@
+package iteration2test.support;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// сколько HTTP-запросов может сделать тест; на классе — для всех его тестов, на методе — переопределяет.
+// perEndpoint — лимиты отдельных эндпоинтов вида "POST /admin/users=1".
+// превышение валит тест или только предупреждает, смотря по nbank.budget.mode
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface CallBudget {
+
+    int total() default Integer.MAX_VALUE;
+
+    String[] perEndpoint() default {};
+}
@@ -0,0 +1,123 @@
+package iteration2test.support;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// считает HTTP-запросы каждого теста по эндпоинтам и сверяет с @CallBudget.
+// счёт ведёт CallBudgetFilter (ставится в RestAssuredSetup), запросы из других потоков теста не считаются.
+// итог по каждому тесту дописывается в nbank.budget.file — видно, как растут преамбулы
+public class CallBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    // запросы текущего теста по эндпоинтам; пишет CallBudgetFilter
+    static final ThreadLocal<Map<String, Integer>> CALLS = new ThreadLocal<>();
+
+    // запись perEndpoint: "POST /admin/users=1"
+    private static final Pattern LIMIT = Pattern.compile("(GET|POST|PUT|PATCH|DELETE) (/[^\\s=]*)\\s*=\\s*(\\d+)");
+    // эндпоинты nbank, которые можно ограничить; запись с опечаткой в пути иначе молча считала бы 0 запросов.
+    // пути с id в счёт попадают каждый отдельно, поэтому ограничить их нельзя. новый эндпоинт — добавить сюда
+    private static final Set<String> KNOWN_ENDPOINTS = Set.of(
+            "POST /admin/users",
+            "POST /auth/login",
+            "POST /accounts",
+            "POST /accounts/deposit",
+            "POST /accounts/transfer",
+            "GET /customer/profile",
+            "PUT /customer/profile",
+            "GET /customer/accounts");
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        CALLS.set(new TreeMap<>());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Map<String, Integer> calls = CALLS.get();
+        CALLS.remove();
+        if (calls == null) {
+            return;
+        }
+        int total = calls.values().stream().mapToInt(Integer::intValue).sum();
+        String testName = context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName();
+        if (!context.getDisplayName().startsWith(context.getRequiredTestMethod().getName() + "(")) {
+            testName += " [" + context.getDisplayName() + "]"; // случай параметризованного теста
+        }
+        context.publishReportEntry("httpCalls", total + " " + calls);
+        appendToReport(testName, total, calls);
+
+        CallBudget budget = context.getRequiredTestMethod().getAnnotation(CallBudget.class);
+        if (budget == null) {
+            budget = context.getRequiredTestClass().getAnnotation(CallBudget.class);
+        }
+        if (budget == null) {
+            return;
+        }
+        List<String> exceeded = new ArrayList<>();
+        if (total > budget.total()) {
+            exceeded.add("всего %d при бюджете %d".formatted(total, budget.total()));
+        }
+        for (String limit : budget.perEndpoint()) {
+            // ошибка в самом бюджете валит тест в любом режиме: иначе лимит просто не действует
+            Matcher matcher = LIMIT.matcher(limit.trim());
+            if (!matcher.matches()) {
+                throw new AssertionFailedError("@CallBudget у " + testName + ": запись \"" + limit
+                        + "\" не вида \"METHOD /path=N\", например \"POST /admin/users=1\"");
+            }
+            String endpoint = matcher.group(1) + " " + matcher.group(2);
+            if (!KNOWN_ENDPOINTS.contains(endpoint)) {
+                throw new AssertionFailedError("@CallBudget у " + testName + ": в записи \"" + limit
+                        + "\" неизвестный эндпоинт; известные: " + new TreeSet<>(KNOWN_ENDPOINTS));
+            }
+            int max = Integer.parseInt(matcher.group(3));
+            int actual = calls.getOrDefault(endpoint, 0);
+            if (actual > max) {
+                exceeded.add("%s: %d при бюджете %d".formatted(endpoint, actual, max));
+            }
+        }
+        if (exceeded.isEmpty()) {
+            return;
+        }
+        String message = testName + " превысил бюджет HTTP-запросов: " + String.join(", ", exceeded) + "; запросы: " + calls;
+        // упавший тест не валим второй раз — только предупреждаем
+        if (context.getExecutionException().isEmpty()
+                && "fail".equalsIgnoreCase(TestConfig.getString("nbank.budget.mode", "fail"))) {
+            throw new AssertionFailedError(message);
+        }
+        System.out.println("ВНИМАНИЕ: " + message);
+    }
+
+    private static synchronized void appendToReport(String testName, int total, Map<String, Integer> calls) {
+        Path file = Path.of(TestConfig.getString("nbank.budget.file", "target/perf/http-calls.csv"));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            StringBuilder sb = new StringBuilder();
+            if (!Files.exists(file)) {
+                sb.append("test,total,endpoint,calls\n");
+            }
+            String quotedName = "\"" + testName.replace("\"", "\"\"") + "\"";
+            calls.forEach((endpoint, count) -> sb.append(quotedName).append(',').append(total).append(',')
+                    .append(endpoint).append(',').append(count).append('\n'));
+            Files.writeString(file, sb, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Не удалось записать число запросов: " + e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package iteration2test.support;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentest4j.AssertionFailedError;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CallBudgetExtensionTest {
+
+    private static HttpServer server;
+    private static String apiUrl;
+
+    private final Map<String, String> previous = new HashMap<>();
+    private final CallBudgetExtension extension = new CallBudgetExtension();
+
+    @TempDir
+    Path dir;
+
+    @BeforeAll
+    public static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/api/v1", exchange -> {
+            try (exchange) {
+                exchange.sendResponseHeaders(200, -1);
+            }
+        });
+        server.start();
+        apiUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v1";
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.stop(0);
+    }
+
+    @AfterEach
+    public void restoreProperties() {
+        previous.forEach((key, value) -> {
+            if (value == null) {
+                System.clearProperty(key);
+            } else {
+                System.setProperty(key, value);
+            }
+        });
+    }
+
+    @Test
+    public void overBudgetFailsOrWarnsByMode() throws IOException {
+        // 1. два депозита при лимите класса в один: в режиме fail тест падает с эндпоинтом в сообщении
+        configure("fail");
+        AssertionFailedError error = assertThrows(AssertionFailedError.class, () -> runTest("classBudget", 2));
+        assertTrue(error.getMessage().contains("POST /accounts/deposit: 2 при бюджете 1"), error.getMessage());
+
+        // 2. в режиме warn то же превышение только предупреждает
+        configure("warn");
+        assertDoesNotThrow(() -> runTest("classBudget", 2));
+
+        // 3. запросы каждого теста попали в отчёт
+        String report = Files.readString(dir.resolve("calls.csv"), StandardCharsets.UTF_8);
+        assertTrue(report.contains("\"Sample.classBudget\",3,POST /accounts/deposit,2"), report);
+    }
+
+    @Test
+    public void methodBudgetOverridesClassBudget() {
+        configure("fail");
+
+        assertDoesNotThrow(() -> runTest("methodBudget", 2));
+        assertThrows(AssertionFailedError.class, () -> runTest("methodBudget", 3));
+    }
+
+    @Test
+    public void badEntriesFailInEveryMode() {
+        for (String mode : new String[]{"fail", "warn"}) {
+            configure(mode);
+
+            // опечатка в пути и запись без лимита — даже без единого запроса
+            AssertionFailedError typo = assertThrows(AssertionFailedError.class, () -> runTest("typo", 0));
+            assertTrue(typo.getMessage().contains("POST /accounts/deposits=1"), typo.getMessage());
+            AssertionFailedError noLimit = assertThrows(AssertionFailedError.class, () -> runTest("noLimit", 0));
+            assertTrue(noLimit.getMessage().contains("\"POST /accounts/deposit\""), noLimit.getMessage());
+        }
+    }
+
+    // как JUnit: beforeEach, запросы теста через фильтр, afterEach
+    private void runTest(String methodName, int deposits) throws Exception {
+        ExtensionContext context = context(Sample.class.getDeclaredMethod(methodName));
+        extension.beforeEach(context);
+        given().noFilters().filter(new CallBudgetFilter()).post(apiUrl + "/auth/login");
+        for (int i = 0; i < deposits; i++) {
+            given().noFilters().filter(new CallBudgetFilter()).post(apiUrl + "/accounts/deposit");
+        }
+        extension.afterEach(context);
+    }
+
+    private void configure(String mode) {
+        set("nbank.budget.mode", mode);
+        set("nbank.budget.file", dir.resolve("calls.csv").toString());
+    }
+
+    private void set(String key, String value) {
+        String old = System.setProperty(key, value);
+        previous.putIfAbsent(key, old);
+    }
+
+    // расширению нужны только класс, метод, имя теста и исход
+    private static ExtensionContext context(Method method) {
+        return (ExtensionContext) Proxy.newProxyInstance(ExtensionContext.class.getClassLoader(),
+                new Class<?>[]{ExtensionContext.class}, (proxy, called, args) -> switch (called.getName()) {
+                    case "getRequiredTestClass" -> method.getDeclaringClass();
+                    case "getRequiredTestMethod" -> method;
+                    case "getDisplayName" -> method.getName() + "()";
+                    case "getExecutionException" -> Optional.empty();
+                    case "publishReportEntry" -> null;
+                    default -> throw new UnsupportedOperationException(called.getName());
+                });
+    }
+
+    @CallBudget(total = 3, perEndpoint = "POST /accounts/deposit=1")
+    static class Sample {
+
+        void classBudget() {
+        }
+
+        @CallBudget(total = 3, perEndpoint = "POST /accounts/deposit=2")
+        void methodBudget() {
+        }
+
+        @CallBudget(perEndpoint = "POST /accounts/deposits=1")
+        void typo() {
+        }
+
+        @CallBudget(perEndpoint = "POST /accounts/deposit")
+        void noLimit() {
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package iteration2test.support;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.Map;
+
+// считает запросы текущего теста для CallBudgetExtension; вне теста ничего не делает
+public class CallBudgetFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Map<String, Integer> calls = CallBudgetExtension.CALLS.get();
+        if (calls != null) {
+            calls.merge(requestSpec.getMethod() + " " + ApiTargets.pathOf(requestSpec.getURI()), 1, Integer::sum);
+        }
+        return ctx.next(requestSpec, responseSpec);
+    }
+}
@@ -0,0 +1,114 @@
+package iteration2test.support;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+// предохранитель на весь прогон: смотрит на последние window запросов и размыкается,
+// если упала доля failureRatio из них (не меньше minCalls) или consecutiveFailures подряд.
+// упавшими считаются только транспортные ошибки (отказ в соединении, таймаут, обрыв) и 502/503/504 —
+// 500 некоторые тесты ожидают сами
+public class CircuitBreaker {
+
+    private static final CircuitBreaker SUITE = new CircuitBreaker(
+            TestConfig.getInt("nbank.breaker.window", 20),
+            TestConfig.getDouble("nbank.breaker.failureRatio", 0.5),
+            TestConfig.getInt("nbank.breaker.minCalls", 10),
+            TestConfig.getInt("nbank.breaker.consecutiveFailures", 5));
+
+    private final int minCalls;
+    private final double failureRatio;
+    private final int consecutiveLimit;
+
+    private final boolean[] failed;
+    private final Instant[] times;
+    private final Instant runStart = Instant.now();
+    private int next;
+    private int size;
+    private int failures;
+    private int consecutive;
+
+    private volatile String openReason;
+
+    public CircuitBreaker(int window, double failureRatio, int minCalls, int consecutiveFailures) {
+        this.failed = new boolean[window];
+        this.times = new Instant[window];
+        this.failureRatio = failureRatio;
+        this.minCalls = minCalls;
+        this.consecutiveLimit = consecutiveFailures;
+    }
+
+    public static CircuitBreaker suite() {
+        return SUITE;
+    }
+
+    public boolean isEnabled() {
+        return TestConfig.getBoolean("nbank.breaker.enabled", true);
+    }
+
+    public boolean isOpen() {
+        return openReason != null;
+    }
+
+    public String getOpenReason() {
+        return openReason;
+    }
+
+    // размыкает сразу, без окна — например, если сервер так и не поднялся
+    public synchronized void trip(String reason) {
+        if (openReason == null) {
+            openReason = "Прогон остановлен предохранителем: " + reason;
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        consecutive = 0;
+        add(false);
+    }
+
+    public synchronized void recordFailure(String cause) {
+        consecutive++;
+        add(true);
+        if (openReason != null) {
+            return;
+        }
+        boolean tooMany = size >= minCalls && failures >= failureRatio * size;
+        if (tooMany || consecutive >= consecutiveLimit) {
+            openReason = describeBreakdown(cause);
+        }
+    }
+
+    private void add(boolean isFailure) {
+        if (size == failed.length) {
+            if (failed[next]) {
+                failures--;
+            }
+        } else {
+            size++;
+        }
+        failed[next] = isFailure;
+        times[next] = Instant.now();
+        if (isFailure) {
+            failures++;
+        }
+        next = (next + 1) % failed.length;
+    }
+
+    // начало поломки — самая ранняя ошибка в окне
+    private String describeBreakdown(String lastCause) {
+        Instant firstFailure = null;
+        for (int i = 0; i < size; i++) {
+            int index = (next - size + i + failed.length) % failed.length;
+            if (failed[index]) {
+                firstFailure = times[index];
+                break;
+            }
+        }
+        long sinceStart = Duration.between(runStart, firstFailure).toSeconds();
+        return "Прогон остановлен предохранителем: сервер сбоит с %s (%d с от начала прогона), %d из %d последних запросов упали, последняя ошибка: %s"
+                .formatted(LocalTime.ofInstant(firstFailure, ZoneId.systemDefault()).truncatedTo(ChronoUnit.SECONDS),
+                        sinceStart, failures, size, lastCause);
+    }
+}
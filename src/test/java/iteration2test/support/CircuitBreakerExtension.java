@@ -0,0 +1,18 @@
+package iteration2test.support;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+// тесты после срабатывания предохранителя даже не начинаются
+public class CircuitBreakerExtension implements ExecutionCondition {
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        CircuitBreaker breaker = CircuitBreaker.suite();
+        if (breaker.isEnabled() && breaker.isOpen()) {
+            return ConditionEvaluationResult.disabled(breaker.getOpenReason());
+        }
+        return ConditionEvaluationResult.enabled("предохранитель замкнут");
+    }
+}
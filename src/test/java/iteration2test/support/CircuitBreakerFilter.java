@@ -0,0 +1,57 @@
+package iteration2test.support;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.opentest4j.TestAbortedException;
+
+import java.io.IOException;
+
+// сообщает предохранителю об исходе каждого запроса; когда он разомкнут — запрос не отправляется,
+// а тест прерывается (в отчёте — пропущен с причиной)
+public class CircuitBreakerFilter implements Filter {
+
+    private final CircuitBreaker breaker;
+
+    public CircuitBreakerFilter(CircuitBreaker breaker) {
+        this.breaker = breaker;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (breaker.isOpen()) {
+            throw new TestAbortedException(breaker.getOpenReason());
+        }
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (Exception e) {
+            // RestAssured пробрасывает ConnectException и таймауты как есть, хоть они и checked
+            Throwable transport = transportCause(e);
+            if (transport != null) {
+                breaker.recordFailure(requestSpec.getMethod() + " " + requestSpec.getURI() + ": " + transport);
+            }
+            throw e;
+        }
+        int status = response.statusCode();
+        if (status == 502 || status == 503 || status == 504) {
+            breaker.recordFailure(requestSpec.getMethod() + " " + requestSpec.getURI() + ": HTTP " + status);
+        } else {
+            breaker.recordSuccess();
+        }
+        return response;
+    }
+
+    private static Throwable transportCause(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof IOException) {
+                return t;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,62 @@
+package iteration2test.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CircuitBreakerTest {
+
+    @Test
+    public void opensOnFailureRatioOnlyAfterMinCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(10, 0.5, 9, 100);
+
+        // 1. четыре падения через одно — ещё мало запросов
+        for (int i = 0; i < 4; i++) {
+            breaker.recordFailure("ConnectException");
+            breaker.recordSuccess();
+        }
+        assertFalse(breaker.isOpen());
+
+        // 2. ещё одно падение — 5 из 9, больше половины
+        breaker.recordFailure("SocketTimeoutException");
+        assertTrue(breaker.isOpen());
+        assertTrue(breaker.getOpenReason().contains("5 из 9"), breaker.getOpenReason());
+        assertTrue(breaker.getOpenReason().contains("SocketTimeoutException"), breaker.getOpenReason());
+    }
+
+    @Test
+    public void opensOnConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker(100, 0.9, 50, 3);
+        for (int i = 0; i < 20; i++) {
+            breaker.recordSuccess();
+        }
+        breaker.recordFailure("HTTP 503");
+        breaker.recordFailure("HTTP 503");
+        assertFalse(breaker.isOpen());
+        breaker.recordFailure("HTTP 503");
+        assertTrue(breaker.isOpen());
+    }
+
+    @Test
+    public void oldFailuresLeaveTheWindow() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 0.75, 4, 100);
+
+        // 1. два падения в начале прогона
+        breaker.recordFailure("ConnectException");
+        breaker.recordFailure("ConnectException");
+
+        // 2. окно уехало — они больше не считаются
+        for (int i = 0; i < 4; i++) {
+            breaker.recordSuccess();
+        }
+        breaker.recordFailure("ConnectException");
+        breaker.recordFailure("ConnectException");
+        assertFalse(breaker.isOpen());
+
+        // 3. третье подряд в окне из четырёх — 3 из 4
+        breaker.recordFailure("ConnectException");
+        assertTrue(breaker.isOpen());
+        assertTrue(breaker.getOpenReason().contains("3 из 4"), breaker.getOpenReason());
+    }
+}
@@ -0,0 +1,74 @@
+package iteration2test.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+// кольцо консистентного хеширования: каждый узел представлен replicas точками на кольце,
+// ключ уходит на ближайшую точку по часовой стрелке.
+// при добавлении узла переезжает только ~1/N ключей
+public class ConsistentHashRing {
+
+    private static final int DEFAULT_REPLICAS = 128;
+
+    private final List<String> nodes;
+    private final long[] points;
+    private final int[] owners;
+
+    public ConsistentHashRing(List<String> nodes) {
+        this(nodes, DEFAULT_REPLICAS);
+    }
+
+    public ConsistentHashRing(List<String> nodes, int replicas) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("Нужен хотя бы один узел");
+        }
+        this.nodes = List.copyOf(nodes);
+
+        long[] keys = new long[nodes.size() * replicas];
+        int next = 0;
+        for (int node = 0; node < nodes.size(); node++) {
+            for (int replica = 0; replica < replicas; replica++) {
+                // в младших битах — номер узла, чтобы после сортировки знать владельца точки
+                keys[next++] = (hash(nodes.get(node) + "#" + replica) & ~0xFFFFL) | node;
+            }
+        }
+        Arrays.sort(keys);
+        this.points = new long[keys.length];
+        this.owners = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            points[i] = keys[i];
+            owners[i] = (int) (keys[i] & 0xFFFFL);
+        }
+    }
+
+    public String nodeFor(String key) {
+        if (nodes.size() == 1) {
+            return nodes.get(0);
+        }
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return nodes.get(owners[index == points.length ? 0 : index]);
+    }
+
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    // FNV-1a + финальное перемешивание из MurmurHash3
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
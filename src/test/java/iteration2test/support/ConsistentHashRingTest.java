@@ -0,0 +1,50 @@
+package iteration2test.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConsistentHashRingTest {
+
+    private static final List<String> NODES = List.of("http://a:4111", "http://b:4111", "http://c:4111");
+
+    @Test
+    public void sameUserAlwaysGoesToSameNode() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES);
+
+        assertEquals(ring.nodeFor("user_12345678"), new ConsistentHashRing(NODES).nodeFor("user_12345678"));
+    }
+
+    @Test
+    public void usersAreSpreadEvenly() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES);
+        Map<String, Integer> perNode = new HashMap<>();
+        for (int i = 0; i < 30_000; i++) {
+            perNode.merge(ring.nodeFor("user_" + i), 1, Integer::sum);
+        }
+
+        assertEquals(3, perNode.size());
+        perNode.values().forEach(count -> assertTrue(count > 7_000 && count < 13_000, "перекос: " + perNode));
+    }
+
+    @Test
+    public void addingNodeMovesOnlyItsShare() {
+        ConsistentHashRing before = new ConsistentHashRing(NODES);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("http://a:4111", "http://b:4111", "http://c:4111", "http://d:4111"));
+
+        int moved = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String node = after.nodeFor("user_" + i);
+            if (!node.equals(before.nodeFor("user_" + i))) {
+                assertEquals("http://d:4111", node);
+                moved++;
+            }
+        }
+        assertTrue(moved > 1_500 && moved < 3_500, "переехало " + moved);
+    }
+}
@@ -0,0 +1,71 @@
+package iteration2test.support;
+
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// таймауты одного эндпоинта: nbank.timeout.connectMillis/readMillis/totalMillis и nbank.slow.thresholdMillis,
+// переопределяются для пути, например nbank.timeout.accounts.transfer.readMillis для /accounts/transfer
+public class EndpointTimeouts {
+
+    private static final Map<String, EndpointTimeouts> BY_PATH = new ConcurrentHashMap<>();
+
+    private final Duration connect;
+    private final Duration read;
+    private final Duration total;
+    private final Duration slowThreshold;
+
+    public EndpointTimeouts(Duration connect, Duration read, Duration total, Duration slowThreshold) {
+        this.connect = connect;
+        this.read = read;
+        this.total = total;
+        this.slowThreshold = slowThreshold;
+    }
+
+    // path — без префикса API, например /accounts/transfer
+    public static EndpointTimeouts forPath(String path) {
+        return BY_PATH.computeIfAbsent(path, EndpointTimeouts::fromConfig);
+    }
+
+    private static EndpointTimeouts fromConfig(String path) {
+        String key = path.replaceAll("^/+|/+$", "").replace('/', '.');
+        return new EndpointTimeouts(
+                setting("nbank.timeout", key, "connectMillis", 2_000),
+                setting("nbank.timeout", key, "readMillis", 10_000),
+                setting("nbank.timeout", key, "totalMillis", 15_000),
+                setting("nbank.slow", key, "thresholdMillis", 1_000));
+    }
+
+    private static Duration setting(String group, String key, String name, long defaultMillis) {
+        long common = TestConfig.getMillis(group + "." + name, defaultMillis).toMillis();
+        return TestConfig.getMillis(group + "." + key + "." + name, common);
+    }
+
+    // чтение сокета не может ждать дольше общего таймаута; пул соединений ждём не дольше connect
+    public RestAssuredConfig applyTo(RestAssuredConfig config) {
+        HttpClientConfig httpClient = config.getHttpClientConfig()
+                .setParam("http.connection.timeout", (int) connect.toMillis())
+                .setParam("http.socket.timeout", (int) Math.min(read.toMillis(), total.toMillis()))
+                .setParam("http.conn-manager.timeout", connect.toMillis());
+        return config.httpClient(httpClient);
+    }
+
+    public Duration getConnect() {
+        return connect;
+    }
+
+    public Duration getRead() {
+        return read;
+    }
+
+    public Duration getTotal() {
+        return total;
+    }
+
+    public Duration getSlowThreshold() {
+        return slowThreshold;
+    }
+}
@@ -0,0 +1,21 @@
+package iteration2test.support;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+// ставит X-Request-Id, если тест не задал свой
+public class RequestIdFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!requestSpec.getHeaders().hasHeaderWithName(RequestIds.HEADER)) {
+            requestSpec.header(RequestIds.HEADER, RequestIds.next());
+        }
+        return ctx.next(requestSpec, responseSpec);
+    }
+}
@@ -0,0 +1,22 @@
+package iteration2test.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// X-Request-Id для сопоставления запроса с логом сервера: префикс JVM + счётчик.
+// без UUID.randomUUID — тот ходит в SecureRandom и под нагрузкой упирается в его блокировку.
+// префикс случайный на каждую JVM, так что id из разных воркеров не пересекаются
+public final class RequestIds {
+
+    public static final String HEADER = "X-Request-Id";
+
+    private static final String PREFIX = "%012x".formatted(ConsistentHashRing.hash(
+            ProcessHandle.current().pid() + ":" + System.nanoTime() + ":" + System.currentTimeMillis()) >>> 16);
+    private static final AtomicLong COUNTER = new AtomicLong();
+
+    private RequestIds() {
+    }
+
+    public static String next() {
+        return PREFIX + "-" + Long.toString(COUNTER.incrementAndGet(), 36);
+    }
+}
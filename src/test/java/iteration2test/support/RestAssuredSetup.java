@@ -0,0 +1,64 @@
+package iteration2test.support;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.filter.log.RequestLoggingFilter;
+import io.restassured.filter.log.ResponseLoggingFilter;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// общая подготовка для всех тестовых классов, один раз за JVM:
+// фильтры RestAssured (RestAssured.filters() добавляет к глобальному списку) и ожидание старта сервера
+public final class RestAssuredSetup {
+
+    private static boolean configured;
+
+    private RestAssuredSetup() {
+    }
+
+    public static synchronized void configure() {
+        if (configured) {
+            return;
+        }
+        List<Filter> filters = new ArrayList<>();
+        if (CircuitBreaker.suite().isEnabled()) {
+            filters.add(new CircuitBreakerFilter(CircuitBreaker.suite()));
+        }
+        filters.add(new CallBudgetFilter());
+        if (Teardown.isEnabled()) {
+            filters.add(new TeardownFilter(Teardown.suite()));
+        }
+        filters.add(new RequestIdFilter());
+        if (Tracer.isEnabled()) {
+            filters.add(new TracingFilter(Tracer.suite()));
+        }
+        filters.add(TimeoutFilter.fromConfig());
+        filters.add(new RequestLoggingFilter());
+        filters.add(new ResponseLoggingFilter());
+        RestAssured.filters(filters);
+        RestAssured.config = RestAssured.config().httpClient(
+                RestAssured.config().getHttpClientConfig().httpClientFactory(TimeoutFilter.TIMED_CLIENT));
+        configured = true;
+        if (TestConfig.getBoolean("nbank.readiness.enabled", true)) {
+            awaitServers();
+        }
+    }
+
+    private static void awaitServers() {
+        ServerReadiness readiness = ServerReadiness.fromConfig();
+        List<ServerReadiness.Result> results = new ArrayList<>();
+        for (String apiUrl : ApiTargets.allApiUrls()) {
+            ServerReadiness.Result result = readiness.await(apiUrl);
+            System.out.println(result.describe());
+            results.add(result);
+        }
+        ServerReadiness.appendToTrend(Path.of(TestConfig.getString("nbank.readiness.trendFile",
+                "target/perf/server-startup.csv")), results);
+        results.stream()
+                .filter(result -> !result.isReady())
+                .findFirst()
+                .ifPresent(result -> CircuitBreaker.suite().trip(result.describe()));
+    }
+}
@@ -0,0 +1,145 @@
+package iteration2test.support;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+// ждёт, пока сервер начнёт отвечать, прежде чем пускать тесты.
+// опрашивает GET /customer/accounts без авторизации: любой ответ, кроме 502/503/504, значит «поднялся» (обычно 401).
+// паузы между попытками растут вдвое от initialDelay до maxDelay, но не дальше deadline
+public class ServerReadiness {
+
+    private final Duration initialDelay;
+    private final Duration maxDelay;
+    private final Duration deadline;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    public ServerReadiness(Duration initialDelay, Duration maxDelay, Duration deadline) {
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.deadline = deadline;
+    }
+
+    public static ServerReadiness fromConfig() {
+        return new ServerReadiness(
+                TestConfig.getMillis("nbank.readiness.initialDelayMillis", 50),
+                TestConfig.getMillis("nbank.readiness.maxDelayMillis", 2000),
+                TestConfig.getSeconds("nbank.readiness.deadlineSeconds", 60));
+    }
+
+    public Result await(String apiUrl) {
+        long start = System.nanoTime();
+        long deadlineNanos = start + deadline.toNanos();
+        long delayNanos = initialDelay.toNanos();
+        int attempts = 0;
+        String lastProblem = null;
+        while (true) {
+            attempts++;
+            lastProblem = probe(apiUrl);
+            long now = System.nanoTime();
+            if (lastProblem == null || now >= deadlineNanos) {
+                return new Result(apiUrl, lastProblem == null, Duration.ofNanos(now - start), attempts, lastProblem);
+            }
+            try {
+                Thread.sleep(Duration.ofNanos(Math.min(delayNanos, deadlineNanos - now)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new Result(apiUrl, false, Duration.ofNanos(System.nanoTime() - start), attempts, "прервано");
+            }
+            delayNanos = Math.min(delayNanos * 2, maxDelay.toNanos());
+        }
+    }
+
+    // null — сервер ответил, иначе что пошло не так
+    private String probe(String apiUrl) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(apiUrl + "/customer/accounts"))
+                .timeout(Duration.ofSeconds(2))
+                .GET()
+                .build();
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status == 502 || status == 503 || status == 504 ? "HTTP " + status : null;
+        } catch (IOException e) {
+            return e.toString();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "прервано";
+        }
+    }
+
+    // дописывает строку в CSV, чтобы видеть, как меняется время старта сервера от прогона к прогону
+    public static void appendToTrend(Path file, List<Result> results) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            StringBuilder sb = new StringBuilder();
+            if (!Files.exists(file)) {
+                sb.append("time,apiUrl,ready,millis,attempts\n");
+            }
+            Instant now = Instant.now();
+            for (Result result : results) {
+                sb.append(now).append(',').append(result.getApiUrl()).append(',').append(result.isReady())
+                        .append(',').append(result.getTimeToReady().toMillis()).append(',').append(result.getAttempts())
+                        .append('\n');
+            }
+            Files.writeString(file, sb, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Не удалось записать время старта сервера: " + e);
+        }
+    }
+
+    public static class Result {
+        private final String apiUrl;
+        private final boolean ready;
+        private final Duration timeToReady;
+        private final int attempts;
+        private final String lastProblem;
+
+        Result(String apiUrl, boolean ready, Duration timeToReady, int attempts, String lastProblem) {
+            this.apiUrl = apiUrl;
+            this.ready = ready;
+            this.timeToReady = timeToReady;
+            this.attempts = attempts;
+            this.lastProblem = lastProblem;
+        }
+
+        public String getApiUrl() {
+            return apiUrl;
+        }
+
+        public boolean isReady() {
+            return ready;
+        }
+
+        public Duration getTimeToReady() {
+            return timeToReady;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+
+        public String getLastProblem() {
+            return lastProblem;
+        }
+
+        public String describe() {
+            return ready
+                    ? "%s готов через %d мс (%d попыток)".formatted(apiUrl, timeToReady.toMillis(), attempts)
+                    : "%s не ответил за %d мс (%d попыток), последняя ошибка: %s"
+                    .formatted(apiUrl, timeToReady.toMillis(), attempts, lastProblem);
+        }
+    }
+}
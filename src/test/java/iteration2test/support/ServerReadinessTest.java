@@ -0,0 +1,59 @@
+package iteration2test.support;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ServerReadinessTest {
+
+    @Test
+    public void waitsUntilServerStopsAnsweringUnavailable() throws Exception {
+        // 1. сервер, который первые три раза отвечает 503, потом 401 как настоящий без авторизации
+        AtomicInteger calls = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(calls.incrementAndGet() <= 3 ? 503 : 401, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            String apiUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v1";
+
+            // 2. ждём
+            ServerReadiness.Result result = new ServerReadiness(Duration.ofMillis(10), Duration.ofMillis(40),
+                    Duration.ofSeconds(10)).await(apiUrl);
+
+            // 3. готов с четвёртой попытки
+            assertTrue(result.isReady(), result.describe());
+            assertEquals(4, result.getAttempts());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void givesUpAtDeadline() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = socket.getLocalPort();
+        }
+
+        long start = System.nanoTime();
+        ServerReadiness.Result result = new ServerReadiness(Duration.ofMillis(10), Duration.ofMillis(100),
+                Duration.ofMillis(500)).await("http://127.0.0.1:" + port + "/api/v1");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertFalse(result.isReady());
+        assertTrue(result.getAttempts() > 1, result.describe());
+        assertTrue(elapsedMillis < 3_000, "дедлайн не соблюдён: " + elapsedMillis + " мс");
+    }
+}
@@ -0,0 +1,315 @@
+package iteration2test.support;
+
+import io.restassured.RestAssured;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.restassured.RestAssured.given;
+
+// удаляет юзеров, созданных тестами (счета уходят вместе с владельцем), в фоне и пачками:
+// тест только запоминает id, после тестового класса release() переносит их в очередь (юзер класса может
+// жить между его тестами), а отдельный поток раз в batchDelay забирает до batchSize id
+// и удаляет их не чаще ratePerSecond в секунду, чтобы не мешать замерам.
+// в конце прогона close() дочищает очередь до flushTimeout; что не удалось — пишется в leftoversFile
+// и подхватывается следующим прогоном.
+// 404/405 на первое удаление юзера этого прогона значит, что маршрута DELETE /admin/users/{id} на сервере нет:
+// очистка отключается с сообщением в stderr, а id уходят в leftoversFile, а не в «удалённые»
+public class Teardown {
+
+    private static final String ADMIN_AUTH = "Basic YWRtaW46YWRtaW4="; // admin:admin
+
+    private static final Teardown SUITE = new Teardown(
+            TestConfig.getInt("nbank.teardown.batchSize", 50),
+            TestConfig.getDouble("nbank.teardown.ratePerSecond", 20),
+            TestConfig.getMillis("nbank.teardown.batchDelayMillis", 1000),
+            TestConfig.getInt("nbank.teardown.maxAttempts", 3),
+            Path.of(TestConfig.getString("nbank.teardown.leftoversFile", "target/teardown-leftovers.csv")));
+
+    private final int batchSize;
+    private final long pauseNanos;
+    private final Duration batchDelay;
+    private final int maxAttempts;
+    private final Path leftoversFile;
+
+    private final ConcurrentLinkedQueue<Pending> held = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final List<Pending> failed = new ArrayList<>();
+    private final AtomicLong tracked = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicLong alreadyGone = new AtomicLong();
+    private volatile boolean routeConfirmed;
+    private volatile String disabledReason;
+    private Thread worker;
+    private volatile boolean closing;
+    private long nextSlotNanos;
+
+    public Teardown(int batchSize, double ratePerSecond, Duration batchDelay, int maxAttempts, Path leftoversFile) {
+        this.batchSize = batchSize;
+        this.pauseNanos = (long) (1e9 / ratePerSecond);
+        this.batchDelay = batchDelay;
+        this.maxAttempts = maxAttempts;
+        this.leftoversFile = leftoversFile;
+    }
+
+    public static Teardown suite() {
+        return SUITE;
+    }
+
+    public static boolean isEnabled() {
+        return TestConfig.getBoolean("nbank.teardown.enabled", true);
+    }
+
+    // apiUrl — узел с префиксом API, на котором юзер создан; удалять его начнут только после release()
+    public void track(String apiUrl, long userId) {
+        tracked.incrementAndGet();
+        held.add(new Pending(apiUrl, userId));
+    }
+
+    // юзер создан в обход фильтров RestAssured (нагрузка, раннеры на LoadClient)
+    public static void trackCreated(String apiUrl, long userId) {
+        if (isEnabled()) {
+            SUITE.track(apiUrl, userId);
+        }
+    }
+
+    // узел закрылся вместе с данными (стенд из теста) — его юзеров удалять некому и незачем
+    public void forgetNode(String apiUrl) {
+        held.removeIf(pending -> pending.apiUrl.equals(apiUrl));
+        queue.removeIf(pending -> pending.apiUrl.equals(apiUrl));
+    }
+
+    // тесты, создавшие юзеров, закончились — отдаём их фоновому потоку
+    public void release() {
+        boolean any = false;
+        for (Pending pending = held.poll(); pending != null; pending = held.poll()) {
+            queue.add(pending);
+            any = true;
+        }
+        if (any) {
+            ensureStarted();
+        }
+    }
+
+    public long getTracked() {
+        return tracked.get();
+    }
+
+    public long getDeleted() {
+        return deleted.get();
+    }
+
+    // 404 на юзера, которого уже кто-то удалил (после того как маршрут себя показал)
+    public long getAlreadyGone() {
+        return alreadyGone.get();
+    }
+
+    // null — очистка работает
+    public String getDisabledReason() {
+        return disabledReason;
+    }
+
+    public int getPending() {
+        return held.size() + queue.size();
+    }
+
+    // поток поднимается при первом юзере и сразу забирает хвост прошлого прогона
+    private synchronized void ensureStarted() {
+        if (worker != null) {
+            return;
+        }
+        readLeftovers().forEach(pending -> {
+            pending.fromLeftovers = true;
+            queue.add(pending);
+        });
+        worker = Thread.ofPlatform().name("nbank-teardown").daemon().start(this::drain);
+    }
+
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            if (queue.isEmpty()) {
+                if (closing) {
+                    return;
+                }
+                sleep(batchDelay.toNanos());
+                continue;
+            }
+            for (int i = 0; i < batchSize && !Thread.currentThread().isInterrupted(); i++) {
+                Pending pending = queue.poll();
+                if (pending == null) {
+                    break;
+                }
+                delete(pending);
+            }
+            // между пачками серверу даём передышку; при закрытии — уже нет
+            if (!closing) {
+                sleep(batchDelay.toNanos());
+            }
+        }
+    }
+
+    private void delete(Pending pending) {
+        if (disabledReason != null) {
+            fail(pending);
+            return;
+        }
+        pace();
+        int status;
+        try {
+            String url = pending.apiUrl + "/admin/users/" + pending.userId;
+            status = given()
+                    .noFilters()
+                    .config(EndpointTimeouts.forPath("/admin/users").applyTo(RestAssured.config()))
+                    .header("Authorization", ADMIN_AUTH)
+                    .header(RequestIds.HEADER, RequestIds.next())
+                    .delete(url)
+                    .statusCode();
+        } catch (Exception e) {
+            // RestAssured пробрасывает и checked-исключения: ConnectException, SocketTimeoutException
+            status = -1;
+        }
+        if (status >= 200 && status < 300) {
+            routeConfirmed = true;
+            deleted.incrementAndGet();
+        } else if (status == 405 || status == 404 && !routeConfirmed && !pending.fromLeftovers) {
+            // юзер создан в этом прогоне и ещё точно есть — 404 тут означает «нет маршрута», а не «нет юзера»
+            disable("DELETE " + pending.apiUrl + "/admin/users/" + pending.userId + " ответил " + status
+                    + " — похоже, на сервере нет удаления юзеров");
+            fail(pending);
+        } else if (status == 404) {
+            alreadyGone.incrementAndGet();
+        } else if (++pending.attempts < maxAttempts) {
+            queue.add(pending);
+        } else {
+            fail(pending);
+        }
+    }
+
+    private synchronized void disable(String reason) {
+        if (disabledReason == null) {
+            disabledReason = reason;
+            System.err.println("Teardown ОТКЛЮЧЁН: " + reason + ". Созданные тестами юзеры остаются на сервере, id пишутся в " + leftoversFile);
+        }
+    }
+
+    private void fail(Pending pending) {
+        synchronized (failed) {
+            failed.add(pending);
+        }
+    }
+
+    // не чаще одного удаления в pauseNanos
+    private void pace() {
+        long now = System.nanoTime();
+        if (nextSlotNanos > now) {
+            sleep(nextSlotNanos - now);
+            now = System.nanoTime();
+        }
+        nextSlotNanos = Math.max(nextSlotNanos, now) + pauseNanos;
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // дочищает очередь не дольше flushTimeout, остаток сохраняет для следующего прогона
+    public void close(Duration flushTimeout) {
+        release();
+        Thread running;
+        synchronized (this) {
+            running = worker;
+            closing = true;
+        }
+        // поток не запускался — тесты никого не создали, хвост прошлого прогона не трогаем
+        if (running == null) {
+            return;
+        }
+        try {
+            running.join(flushTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        running.interrupt();
+        try {
+            running.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Pending> leftovers = new ArrayList<>(queue);
+        synchronized (failed) {
+            leftovers.addAll(failed);
+        }
+        writeLeftovers(leftovers);
+    }
+
+    public String describe() {
+        int left;
+        synchronized (failed) {
+            left = failed.size() + queue.size();
+        }
+        String summary = "Teardown: создано тестами %d юзеров, удалено %d, уже не было (404) %d, осталось %d%s".formatted(
+                tracked.get(), deleted.get(), alreadyGone.get(), left, left == 0 ? "" : " (записаны в " + leftoversFile + ")");
+        return disabledReason == null ? summary : summary + System.lineSeparator() + "ОЧИСТКА ОТКЛЮЧЕНА: " + disabledReason;
+    }
+
+    private List<Pending> readLeftovers() {
+        List<Pending> leftovers = new ArrayList<>();
+        if (!Files.exists(leftoversFile)) {
+            return leftovers;
+        }
+        try {
+            for (String line : Files.readAllLines(leftoversFile, StandardCharsets.UTF_8)) {
+                int comma = line.lastIndexOf(',');
+                if (comma > 0) {
+                    leftovers.add(new Pending(line.substring(0, comma), Long.parseLong(line.substring(comma + 1).strip())));
+                }
+            }
+            Files.delete(leftoversFile);
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Не удалось прочитать хвост прошлой очистки " + leftoversFile + ": " + e);
+        }
+        return leftovers;
+    }
+
+    private void writeLeftovers(List<Pending> leftovers) {
+        try {
+            if (leftovers.isEmpty()) {
+                Files.deleteIfExists(leftoversFile);
+                return;
+            }
+            StringBuilder sb = new StringBuilder();
+            leftovers.forEach(pending -> sb.append(pending.apiUrl).append(',').append(pending.userId).append('\n'));
+            if (leftoversFile.getParent() != null) {
+                Files.createDirectories(leftoversFile.getParent());
+            }
+            Files.writeString(leftoversFile, sb, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось сохранить хвост очистки " + leftoversFile, e);
+        }
+    }
+
+    private static class Pending {
+        private final String apiUrl;
+        private final long userId;
+        private int attempts;
+        private boolean fromLeftovers;
+
+        private Pending(String apiUrl, long userId) {
+            this.apiUrl = apiUrl;
+            this.userId = userId;
+        }
+    }
+}
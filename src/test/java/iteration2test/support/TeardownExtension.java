@@ -0,0 +1,33 @@
+package iteration2test.support;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+// после каждого тестового класса отдаёт его юзеров на удаление (классы идут по очереди, не параллельно),
+// а один раз на весь прогон вешает закрытие Teardown на корневой контекст JUnit:
+// после последнего класса очередь дочищается и печатается итог
+public class TeardownExtension implements BeforeAllCallback, AfterAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(TeardownExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (!Teardown.isEnabled()) {
+            return;
+        }
+        ExtensionContext.Store.CloseableResource flush = () -> {
+            Teardown.suite().close(TestConfig.getSeconds("nbank.teardown.flushSeconds", 30));
+            System.out.println(Teardown.suite().describe());
+        };
+        context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(Teardown.class, key -> flush, ExtensionContext.Store.CloseableResource.class);
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        if (Teardown.isEnabled()) {
+            Teardown.suite().release();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package iteration2test.support;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+// замечает успешное создание юзера (POST /admin/users -> 201) и отдаёт его id в Teardown
+public class TeardownFilter implements Filter {
+
+    private static final String CREATE_USER = "/admin/users";
+
+    private final Teardown teardown;
+
+    public TeardownFilter(Teardown teardown) {
+        this.teardown = teardown;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        if ("POST".equals(requestSpec.getMethod()) && response.statusCode() == 201) {
+            String uri = requestSpec.getURI();
+            if (CREATE_USER.equals(ApiTargets.pathOf(uri))) {
+                Object id = response.jsonPath().get("id");
+                if (id instanceof Number number) {
+                    teardown.track(uri.substring(0, uri.lastIndexOf(CREATE_USER)), number.longValue());
+                }
+            }
+        }
+        return response;
+    }
+}
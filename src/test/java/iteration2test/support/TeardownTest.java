@@ -0,0 +1,171 @@
+package iteration2test.support;
+
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.http.ContentType;
+import iteration2test.TestDataFactory;
+import iteration2test.UserCredentials;
+import iteration2test.load.LoadClient;
+import iteration2test.load.RunRecorder;
+import iteration2test.standin.StandInCluster;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TeardownTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @Tag("standin")
+    public void createdUsersAreDeletedInBackgroundAtLimitedRate() throws InterruptedException {
+        try (StandInCluster cluster = StandInCluster.start(1, Duration.ZERO)) {
+            String apiUrl = ApiTargets.apiUrlOf(cluster.baseUrls().get(0));
+            Teardown teardown = new Teardown(4, 20, Duration.ofMillis(50), 3, dir.resolve("leftovers.csv"));
+
+            // 1. фильтр замечает созданных юзеров, тест их не ждёт
+            List<UserCredentials> users = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                users.add(createUser(apiUrl, new TeardownFilter(teardown)));
+            }
+            assertEquals(10, teardown.getTracked());
+            assertEquals(10, teardown.getPending());
+
+            // 2. пока тесты не закончились, никто не удалён — за 300 мс при лимите 20 в секунду успели бы несколько
+            Thread.sleep(300);
+            assertEquals(0, teardown.getDeleted(), teardown.describe());
+            assertEquals(10, teardown.getPending());
+            long start = System.nanoTime();
+            teardown.release();
+
+            // 3. после закрытия все удалены, но не быстрее 20 в секунду: 10 удалений — это 9 пауз по 50 мс
+            teardown.close(Duration.ofSeconds(10));
+            assertEquals(10, teardown.getDeleted(), teardown.describe());
+            assertTrue(System.nanoTime() - start >= 450_000_000L, "удаления шли быстрее лимита");
+            LoadClient client = new LoadClient(new ConsistentHashRing(List.of(apiUrl)), new RunRecorder("check", System.nanoTime(), 1_000));
+            users.forEach(creds -> assertNull(client.login(creds), creds.getUsername()));
+            assertFalse(Files.exists(dir.resolve("leftovers.csv")));
+        }
+    }
+
+    @Test
+    @Tag("standin")
+    public void leftoversAreRetriedByNextRun() throws IOException {
+        Path leftovers = dir.resolve("leftovers.csv");
+
+        // 1. сервер недоступен: удалить не вышло, id сохранены
+        Teardown down = new Teardown(10, 1_000, Duration.ofMillis(10), 2, leftovers);
+        down.track("http://127.0.0.1:1/api/v1", 41);
+        down.close(Duration.ofSeconds(10));
+        assertEquals(List.of("http://127.0.0.1:1/api/v1,41"), Files.readAllLines(leftovers, StandardCharsets.UTF_8));
+
+        // 2. следующий прогон дочищает и хвост прошлого, и своих
+        try (StandInCluster cluster = StandInCluster.start(1, Duration.ZERO)) {
+            String apiUrl = ApiTargets.apiUrlOf(cluster.baseUrls().get(0));
+            long leftoverId = given()
+                    .noFilters()
+                    .contentType(ContentType.JSON)
+                    .header("Authorization", "Basic YWRtaW46YWRtaW4=")
+                    .body("{\"username\": \"%s\", \"password\": \"Pass!000000\", \"role\": \"USER\"}"
+                            .formatted(TestDataFactory.generateUser().getUsername()))
+                    .post(apiUrl + "/admin/users")
+                    .jsonPath()
+                    .getLong("id");
+            Files.writeString(leftovers, apiUrl + "," + leftoverId + "\n", StandardCharsets.UTF_8);
+
+            Teardown next = new Teardown(10, 1_000, Duration.ofMillis(10), 2, leftovers);
+            createUser(apiUrl, new TeardownFilter(next));
+            next.close(Duration.ofSeconds(10));
+            assertEquals(2, next.getDeleted(), next.describe());
+            assertFalse(Files.exists(leftovers));
+        }
+    }
+
+    @Test
+    public void missingDeleteRouteDisablesTeardown() throws IOException {
+        // 1. сервер без DELETE /admin/users/{id}: на всё отвечает 404
+        AtomicInteger deletes = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            deletes.incrementAndGet();
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        Path leftovers = dir.resolve("leftovers.csv");
+        try {
+            String apiUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v1";
+            Teardown teardown = new Teardown(10, 1_000, Duration.ofMillis(10), 3, leftovers);
+            for (int id = 1; id <= 3; id++) {
+                teardown.track(apiUrl, id);
+            }
+
+            teardown.close(Duration.ofSeconds(10));
+
+            // 2. первый же 404 отключает очистку: никто не считается удалённым, id сохранены
+            assertEquals(1, deletes.get());
+            assertEquals(0, teardown.getDeleted());
+            assertNotNull(teardown.getDisabledReason());
+            assertTrue(teardown.describe().contains("ОЧИСТКА ОТКЛЮЧЕНА"), teardown.describe());
+            assertEquals(3, Files.readAllLines(leftovers, StandardCharsets.UTF_8).size());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @Tag("standin")
+    public void loadClientUsersAreTrackedUnlessKept() {
+        int before = Teardown.suite().getPending();
+        try (StandInCluster cluster = StandInCluster.start(1, Duration.ZERO)) {
+            ConsistentHashRing ring = new ConsistentHashRing(List.of(ApiTargets.apiUrlOf(cluster.baseUrls().get(0))));
+            RunRecorder recorder = new RunRecorder("check", System.nanoTime(), 1_000);
+
+            // 1. юзер нагрузки попадает в очистку, юзер для засева — нет
+            assertTrue(new LoadClient(ring, recorder).createUser(TestDataFactory.generateUser()));
+            assertTrue(new LoadClient(ring, recorder).keepUsers().createUser(TestDataFactory.generateUser()));
+            assertEquals(before + 1, Teardown.suite().getPending());
+        }
+
+        // 2. стенд закрылся вместе с юзерами — удалять нечего
+        assertEquals(before, Teardown.suite().getPending());
+    }
+
+    private static UserCredentials createUser(String apiUrl, TeardownFilter filter) {
+        UserCredentials creds = TestDataFactory.generateUser();
+        given()
+                .noFilters()
+                .filter(filter)
+                .contentType(ContentType.JSON)
+                .header("Authorization", "Basic YWRtaW46YWRtaW4=")
+                .body("""
+                        {
+                          "username": "%s",
+                          "password": "%s",
+                          "role": "USER"
+                        }
+                        """.formatted(creds.getUsername(), creds.getPassword()))
+                .post(apiUrl + "/admin/users")
+                .then()
+                .statusCode(201);
+        return creds;
+    }
+}
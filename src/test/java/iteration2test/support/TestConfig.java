@@ -0,0 +1,78 @@
+package iteration2test.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+// настройки прогона: nbank.properties из classpath, поверх — системные свойства (-Dключ=значение)
+public final class TestConfig {
+
+    private static final Properties DEFAULTS = loadDefaults();
+
+    private TestConfig() {
+    }
+
+    public static String getString(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.isBlank()) {
+            value = DEFAULTS.getProperty(key);
+        }
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
+    public static double getDouble(String key, double defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    public static Duration getMillis(String key, long defaultMillis) {
+        return Duration.ofMillis(getLong(key, defaultMillis));
+    }
+
+    public static Duration getSeconds(String key, long defaultSeconds) {
+        return Duration.ofSeconds(getLong(key, defaultSeconds));
+    }
+
+    // значение через запятую, пустые элементы отбрасываются
+    public static List<String> getList(String key, String defaultValue) {
+        String value = getString(key, defaultValue);
+        if (value == null) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+
+    private static Properties loadDefaults() {
+        Properties props = new Properties();
+        try (InputStream in = TestConfig.class.getClassLoader().getResourceAsStream("nbank.properties")) {
+            if (in != null) {
+                props.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать nbank.properties", e);
+        }
+        return props;
+    }
+}
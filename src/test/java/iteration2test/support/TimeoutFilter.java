@@ -0,0 +1,208 @@
+package iteration2test.support;
+
+import io.restassured.config.HttpClientConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.http.HttpConnection;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.protocol.HttpCoreContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ставит таймауты эндпоинта на каждый запрос и держит общий таймаут: к сроку соединение запроса обрывается,
+// даже если ответ ещё идёт по байту — таймаут чтения такое не ловит.
+// запрос дольше порога nbank.slow.thresholdMillis (или упавший по таймауту) целиком пишется в nbank.slow.dir:
+// заголовки, тела и разбивка времени — соединение, ожидание ответа сервера, чтение тела
+public class TimeoutFilter implements Filter {
+
+    // отметки времени текущего запроса; HttpClient вызывает перехватчики в потоке теста.
+    // клиент RestAssured создаёт до фильтров, поэтому фабрика ставится глобально (RestAssuredSetup)
+    private static final ThreadLocal<long[]> PHASES = ThreadLocal.withInitial(() -> new long[2]);
+    private static final int CONNECTED = 0;
+    private static final int HEADERS_RECEIVED = 1;
+
+    // срок текущего запроса; перехватчик отдаёт ему соединение, чтобы сторож мог его оборвать
+    private static final ThreadLocal<Deadline> DEADLINE = new ThreadLocal<>();
+    private static final ScheduledExecutorService WATCHDOG = Executors.newSingleThreadScheduledExecutor(
+            task -> Thread.ofPlatform().name("nbank-total-timeout").daemon().unstarted(task));
+
+    // DefaultHttpClient устарел, но RestAssured сам строится на нём: таймауты из HttpClientConfig он кладёт
+    // в getParams() клиента, а клиент из HttpClientBuilder на getParams() бросает UnsupportedOperationException
+    @SuppressWarnings("deprecation")
+    public static final HttpClientConfig.HttpClientFactory TIMED_CLIENT = () -> {
+        DefaultHttpClient client = new DefaultHttpClient();
+        client.addRequestInterceptor((request, context) -> {
+            PHASES.get()[CONNECTED] = System.nanoTime();
+            Deadline deadline = DEADLINE.get();
+            if (deadline != null) {
+                deadline.attach(HttpCoreContext.adapt(context).getConnection());
+            }
+        });
+        client.addResponseInterceptor((response, context) -> PHASES.get()[HEADERS_RECEIVED] = System.nanoTime());
+        return client;
+    };
+
+    private final Path dir;
+    private final AtomicLong captured = new AtomicLong();
+
+    public TimeoutFilter(Path dir) {
+        this.dir = dir;
+    }
+
+    public static TimeoutFilter fromConfig() {
+        return new TimeoutFilter(Path.of(TestConfig.getString("nbank.slow.dir", "target/slow-requests")));
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        EndpointTimeouts timeouts = EndpointTimeouts.forPath(ApiTargets.pathOf(requestSpec.getURI()));
+        requestSpec.config(timeouts.applyTo(requestSpec.getConfig()));
+
+        long[] phases = PHASES.get();
+        phases[CONNECTED] = 0;
+        phases[HEADERS_RECEIVED] = 0;
+        Deadline deadline = new Deadline();
+        Deadline outer = DEADLINE.get();
+        DEADLINE.set(deadline);
+        ScheduledFuture<?> watchdog = WATCHDOG.schedule(deadline::expire, timeouts.getTotal().toMillis(), TimeUnit.MILLISECONDS);
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+            // RestAssured читает тело лениво, уже после фильтров; читаем здесь, пока сторож ещё следит за сроком
+            response.asByteArray();
+        } catch (Exception e) {
+            long end = System.nanoTime();
+            // оборванное сторожем соединение падает чем придётся (сокет закрыт, тело обрезано) — это общий таймаут
+            if (deadline.isExpired()) {
+                UncheckedIOException timeout = totalTimeout(requestSpec, timeouts, start, end, e);
+                capture(requestSpec, null, timeout, timeouts, start, phases[CONNECTED], phases[HEADERS_RECEIVED], end);
+                throw timeout;
+            }
+            if (isTimeout(e) || millis(start, end) >= timeouts.getSlowThreshold().toMillis()) {
+                capture(requestSpec, null, e, timeouts, start, phases[CONNECTED], phases[HEADERS_RECEIVED], end);
+            }
+            throw e;
+        } finally {
+            watchdog.cancel(false);
+            DEADLINE.set(outer);
+        }
+        long end = System.nanoTime();
+        long totalMillis = millis(start, end);
+        if (totalMillis >= timeouts.getSlowThreshold().toMillis()) {
+            capture(requestSpec, response, null, timeouts, start, phases[CONNECTED], phases[HEADERS_RECEIVED], end);
+        }
+        // ответ успел прийти, пока сторож срабатывал, или клиент без перехватчика TIMED_CLIENT
+        if (totalMillis > timeouts.getTotal().toMillis()) {
+            throw totalTimeout(requestSpec, timeouts, start, end, null);
+        }
+        return response;
+    }
+
+    private static UncheckedIOException totalTimeout(FilterableRequestSpecification requestSpec, EndpointTimeouts timeouts,
+                                                     long start, long end, Exception cause) {
+        SocketTimeoutException timeout = new SocketTimeoutException("%s %s: общий таймаут %d мс превышен (%d мс)"
+                .formatted(requestSpec.getMethod(), requestSpec.getURI(), timeouts.getTotal().toMillis(), millis(start, end)));
+        if (cause != null) {
+            timeout.initCause(cause);
+        }
+        return new UncheckedIOException(timeout);
+    }
+
+    private static boolean isTimeout(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SocketTimeoutException || t.getClass().getSimpleName().contains("Timeout")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void capture(FilterableRequestSpecification request, Response response, Exception failure,
+                         EndpointTimeouts timeouts, long start, long connected, long headersReceived, long end) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(request.getMethod()).append(' ').append(request.getURI()).append('\n');
+        sb.append("итого: ").append(millis(start, end)).append(" мс, порог ")
+                .append(timeouts.getSlowThreshold().toMillis()).append(" мс, таймауты connect/read/total ")
+                .append(timeouts.getConnect().toMillis()).append('/').append(timeouts.getRead().toMillis()).append('/')
+                .append(timeouts.getTotal().toMillis()).append(" мс\n");
+        sb.append("соединение: ").append(connected == 0 ? "не установлено" : millis(start, connected) + " мс");
+        if (connected != 0) {
+            sb.append(", ожидание ответа: ")
+                    .append(headersReceived == 0 ? "нет ответа" : millis(connected, headersReceived) + " мс");
+        }
+        if (headersReceived != 0) {
+            sb.append(", чтение тела: ").append(millis(headersReceived, end)).append(" мс");
+        }
+        sb.append("\n\n--- запрос ---\n").append(request.getHeaders()).append('\n');
+        if (request.getBody() != null) {
+            sb.append('\n').append(request.<Object>getBody()).append('\n');
+        }
+        if (response != null) {
+            sb.append("\n--- ответ ").append(response.getStatusLine()).append(" ---\n")
+                    .append(response.getHeaders()).append("\n\n").append(response.asString()).append('\n');
+        } else {
+            sb.append("\n--- ответа нет ---\n").append(failure).append('\n');
+        }
+
+        String name = "%d-%s%s-%d.txt".formatted(System.currentTimeMillis(), request.getMethod(),
+                ApiTargets.pathOf(request.getURI()).replace('/', '_'), captured.incrementAndGet());
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve(name), sb, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Не удалось сохранить медленный запрос: " + e);
+        }
+    }
+
+    private static long millis(long fromNanos, long toNanos) {
+        return (toNanos - fromNanos) / 1_000_000;
+    }
+
+    // срок может выйти и до того, как соединение известно (ждём пул или connect) — тогда обрываем его сразу
+    private static class Deadline {
+        private HttpConnection connection;
+        private boolean expired;
+
+        synchronized void attach(HttpConnection connection) {
+            this.connection = connection;
+            if (expired && connection != null) {
+                shutdown();
+            }
+        }
+
+        synchronized void expire() {
+            expired = true;
+            if (connection != null) {
+                shutdown();
+            }
+        }
+
+        synchronized boolean isExpired() {
+            return expired;
+        }
+
+        private void shutdown() {
+            try {
+                connection.shutdown();
+            } catch (IOException e) {
+                // сокет уже закрыт — запрос и так оборван
+            }
+        }
+    }
+}
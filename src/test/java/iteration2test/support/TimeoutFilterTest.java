@@ -0,0 +1,169 @@
+package iteration2test.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimeoutFilterTest {
+
+    private static final Map<String, String> PROPERTIES = Map.of(
+            "nbank.slow.timeouttest.slow.thresholdMillis", "100",
+            // быстрый запрос не должен попасть в медленные, даже если холодный RestAssured задумается
+            "nbank.slow.timeouttest.fast.thresholdMillis", "10000",
+            "nbank.timeout.timeouttest.hung.readMillis", "300",
+            // каждый байт тела приходит быстрее таймаута чтения, а всё тело — дольше общего
+            "nbank.timeout.timeouttest.trickle.readMillis", "1000",
+            "nbank.timeout.timeouttest.trickle.totalMillis", "800");
+    private static final Map<String, String> previous = new HashMap<>();
+
+    private static HttpServer server;
+    private static String apiUrl;
+
+    @TempDir
+    Path dir;
+
+    // свойства и глобальный RestAssured не трогаем насовсем: фильтры и конфиг RestAssuredSetup
+    // нужны функциональным тестам в той же JVM
+    @BeforeAll
+    public static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/api/v1/timeouttest/slow", exchange -> reply(exchange, 300));
+        server.createContext("/api/v1/timeouttest/fast", exchange -> reply(exchange, 0));
+        server.createContext("/api/v1/timeouttest/hung", exchange -> reply(exchange, 5_000));
+        server.createContext("/api/v1/timeouttest/warmup", exchange -> reply(exchange, 0));
+        server.createContext("/api/v1/timeouttest/trickle", TimeoutFilterTest::trickle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        apiUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v1";
+        PROPERTIES.forEach((key, value) -> previous.put(key, System.setProperty(key, value)));
+
+        // прогрев: первый запрос в холодной JVM сам по себе идёт секунды
+        request().get(apiUrl + "/timeouttest/warmup");
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.stop(0);
+        previous.forEach((key, value) -> {
+            if (value == null) {
+                System.clearProperty(key);
+            } else {
+                System.setProperty(key, value);
+            }
+        });
+    }
+
+    @Test
+    public void slowRequestIsCapturedWithTimingBreakdown() throws IOException {
+        // 1. быстрый запрос ничего не пишет
+        request().filter(new TimeoutFilter(dir)).body("{\"amount\": 1}").post(apiUrl + "/timeouttest/fast");
+        assertTrue(captures().isEmpty());
+
+        // 2. медленный — пишет запрос, ответ и разбивку по фазам
+        request().filter(new TimeoutFilter(dir)).body("{\"amount\": 2}").post(apiUrl + "/timeouttest/slow");
+
+        List<Path> files = captures();
+        assertEquals(1, files.size());
+        String capture = Files.readString(files.get(0), StandardCharsets.UTF_8);
+        assertTrue(capture.contains("{\"amount\": 2}"), capture);
+        assertTrue(capture.contains("\"ok\""), capture);
+        assertTrue(capture.contains("ожидание ответа: "), capture);
+    }
+
+    @Test
+    public void hungRequestTimesOutAndIsCaptured() throws IOException {
+        long start = System.nanoTime();
+        assertThrows(SocketTimeoutException.class,
+                () -> request().filter(new TimeoutFilter(dir)).get(apiUrl + "/timeouttest/hung"));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 2_000, "таймаут чтения не сработал: " + elapsedMillis + " мс");
+        assertEquals(1, captures().size());
+        assertTrue(Files.readString(captures().get(0), StandardCharsets.UTF_8).contains("ответа нет"));
+    }
+
+    @Test
+    public void trickledBodyIsCutAtTotalTimeout() throws IOException {
+        long start = System.nanoTime();
+        UncheckedIOException e = assertThrows(UncheckedIOException.class,
+                () -> request().filter(new TimeoutFilter(dir)).get(apiUrl + "/timeouttest/trickle"));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // тело шло бы 5 секунд; запрос оборван около общего таймаута 800 мс, а не после ответа
+        assertTrue(e.getCause() instanceof SocketTimeoutException, e.toString());
+        assertTrue(elapsedMillis < 2_000, "общий таймаут не оборвал запрос: " + elapsedMillis + " мс");
+        assertEquals(1, captures().size());
+        assertTrue(Files.readString(captures().get(0), StandardCharsets.UTF_8).contains("общий таймаут"));
+    }
+
+    // без глобальных фильтров (предохранитель и бюджет вызовов не для этого сервера), с клиентом, который замеряет фазы
+    private static RequestSpecification request() {
+        return given()
+                .noFilters()
+                .config(RestAssured.config().httpClient(
+                        RestAssured.config().getHttpClientConfig().httpClientFactory(TimeoutFilter.TIMED_CLIENT)));
+    }
+
+    private List<Path> captures() throws IOException {
+        try (var files = Files.list(dir)) {
+            return files.toList();
+        }
+    }
+
+    // заголовки сразу, потом по байту раз в 100 мс — 5 секунд
+    private static void trickle(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write('"');
+            for (int i = 0; i < 50; i++) {
+                Thread.sleep(100);
+                out.write('a');
+                out.flush();
+            }
+            out.write('"');
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // клиент оборвал соединение — этого и ждём
+        }
+    }
+
+    private static void reply(HttpExchange exchange, long delayMillis) throws IOException {
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = "{\"status\": \"ok\"}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package iteration2test.support;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+// спаны прогона: класс -> тест -> HTTP-запрос. вложенность по стеку текущего потока.
+// выгружаются в формате Chrome trace (открыть в chrome://tracing или ui.perfetto.dev)
+public class Tracer {
+
+    private static final Tracer SUITE = new Tracer();
+
+    private final long baseNanos = System.nanoTime();
+    private final long baseMicros = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+    private final AtomicLong ids = new AtomicLong();
+    private final Queue<Span> finished = new ConcurrentLinkedQueue<>();
+    private final Map<Long, String> threadNames = new ConcurrentHashMap<>();
+    private final ThreadLocal<Deque<Span>> open = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public static Tracer suite() {
+        return SUITE;
+    }
+
+    public static boolean isEnabled() {
+        return TestConfig.getBoolean("nbank.trace.enabled", true);
+    }
+
+    // category: test, http, ...; спан становится родителем всех, открытых после него в этом потоке
+    public Span start(String name, String category) {
+        Deque<Span> stack = open.get();
+        Span parent = stack.peek();
+        Thread thread = Thread.currentThread();
+        threadNames.putIfAbsent(thread.threadId(), thread.getName());
+        Span span = new Span(ids.incrementAndGet(), parent == null ? 0 : parent.id, name, category,
+                thread.threadId(), System.nanoTime());
+        stack.push(span);
+        return span;
+    }
+
+    public List<Span> getFinished() {
+        return new ArrayList<>(finished);
+    }
+
+    public void export(Path file) {
+        StringBuilder sb = new StringBuilder("{\"displayTimeUnit\": \"ms\", \"traceEvents\": [\n");
+        threadNames.forEach((tid, name) -> sb.append("{\"name\": \"thread_name\", \"ph\": \"M\", \"pid\": 1, \"tid\": ")
+                .append(tid).append(", \"args\": {\"name\": ").append(quote(name)).append("}},\n"));
+        for (Span span : finished) {
+            sb.append("{\"name\": ").append(quote(span.name))
+                    .append(", \"cat\": ").append(quote(span.category))
+                    .append(", \"ph\": \"X\", \"pid\": 1, \"tid\": ").append(span.threadId)
+                    .append(", \"ts\": ").append(baseMicros + (span.startNanos - baseNanos) / 1_000)
+                    .append(", \"dur\": ").append(span.getDurationMicros())
+                    .append(", \"args\": {\"id\": ").append(span.id).append(", \"parent\": ").append(span.parentId);
+            span.attributes.forEach((key, value) -> sb.append(", ").append(quote(key)).append(": ").append(quote(value)));
+            sb.append("}},\n");
+        }
+        if (sb.charAt(sb.length() - 2) == ',') {
+            sb.setLength(sb.length() - 2);
+        }
+        sb.append("\n]}\n");
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(tmp, sb, StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Не удалось сохранить трассу: " + e);
+        }
+    }
+
+    private static String quote(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    public class Span {
+        private final long id;
+        private final long parentId;
+        private final String name;
+        private final String category;
+        private final long threadId;
+        private final long startNanos;
+        private final Map<String, String> attributes = new LinkedHashMap<>();
+        private long endNanos;
+
+        private Span(long id, long parentId, String name, String category, long threadId, long startNanos) {
+            this.id = id;
+            this.parentId = parentId;
+            this.name = name;
+            this.category = category;
+            this.threadId = threadId;
+            this.startNanos = startNanos;
+        }
+
+        public Span attribute(String key, Object value) {
+            attributes.put(key, String.valueOf(value));
+            return this;
+        }
+
+        // закрывать в том же потоке, где открыт
+        public void end() {
+            endNanos = System.nanoTime();
+            open.get().remove(this);
+            finished.add(this);
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public long getParentId() {
+            return parentId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public long getDurationMicros() {
+            return (endNanos - startNanos) / 1_000;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package iteration2test.support;
+
+import io.restassured.path.json.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TracerTest {
+
+    @Test
+    public void nestedSpansAreExportedAsChromeTrace(@TempDir Path dir) throws InterruptedException {
+        Tracer tracer = new Tracer();
+
+        // 1. тест с двумя запросами внутри
+        Tracer.Span test = tracer.start("transferBetweenOwnAccounts", "test");
+        Tracer.Span login = tracer.start("POST /auth/login", "http").attribute("status", 200);
+        Thread.sleep(5);
+        login.end();
+        Tracer.Span transfer = tracer.start("POST /accounts/transfer", "http").attribute("note", "\"кавычки\"");
+        Thread.sleep(5);
+        transfer.end();
+        test.end();
+
+        // 2. родители проставлены по вложенности
+        assertEquals(test.getId(), login.getParentId());
+        assertEquals(test.getId(), transfer.getParentId());
+        assertEquals(0, test.getParentId());
+
+        // 3. файл читается как JSON, тест целиком покрывает свои запросы
+        Path file = dir.resolve("trace.json");
+        tracer.export(file);
+        JsonPath trace = JsonPath.from(file.toFile());
+        List<Map<String, Object>> spans = trace.getList("traceEvents.findAll { it.ph == 'X' }");
+        assertEquals(3, spans.size());
+
+        long testStart = trace.getLong("traceEvents.find { it.name == 'transferBetweenOwnAccounts' }.ts");
+        long testEnd = testStart + trace.getLong("traceEvents.find { it.name == 'transferBetweenOwnAccounts' }.dur");
+        long transferStart = trace.getLong("traceEvents.find { it.name == 'POST /accounts/transfer' }.ts");
+        long transferEnd = transferStart + trace.getLong("traceEvents.find { it.name == 'POST /accounts/transfer' }.dur");
+        assertTrue(testStart <= transferStart && transferEnd <= testEnd + 1);
+        assertTrue(transferEnd - transferStart >= 5_000);
+        assertEquals("\"кавычки\"", trace.getString("traceEvents.find { it.name == 'POST /accounts/transfer' }.args.note"));
+    }
+}
@@ -0,0 +1,52 @@
+package iteration2test.support;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Path;
+
+// спаны для тестового класса и каждого теста; после каждого класса трасса перезаписывается в nbank.trace.file
+public class TracingExtension implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(TracingExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        startSpan(context, context.getRequiredTestClass().getSimpleName());
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        startSpan(context, context.getRequiredTestMethod().getName());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        endSpan(context);
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        endSpan(context);
+        if (Tracer.isEnabled()) {
+            Tracer.suite().export(Path.of(TestConfig.getString("nbank.trace.file", "target/trace/nbank-trace.json")));
+        }
+    }
+
+    private static void startSpan(ExtensionContext context, String name) {
+        if (Tracer.isEnabled()) {
+            context.getStore(NAMESPACE).put(context.getUniqueId(), Tracer.suite().start(name, "test"));
+        }
+    }
+
+    private static void endSpan(ExtensionContext context) {
+        Tracer.Span span = context.getStore(NAMESPACE).remove(context.getUniqueId(), Tracer.Span.class);
+        if (span != null) {
+            span.attribute("result", context.getExecutionException().map(e -> "failed: " + e).orElse("ok"));
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package iteration2test.support;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+// каждый HTTP-запрос — спан внутри спана текущего теста, имя вида "POST /accounts/transfer"
+public class TracingFilter implements Filter {
+
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Tracer.Span span = tracer.start(requestSpec.getMethod() + " " + ApiTargets.pathOf(requestSpec.getURI()), "http")
+                .attribute("url", requestSpec.getURI())
+                .attribute("requestId", requestSpec.getHeaders().getValue(RequestIds.HEADER));
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            span.attribute("status", response.statusCode());
+            return response;
+        } catch (Exception e) {
+            span.attribute("error", e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}